@@ -0,0 +1,59 @@
+package mastermind;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks once for each thread count from 1 up to the number of processors (doubling each time),
+ * with the GC profiler to show allocation. Each run writes its results to results-[threads]-threads.json
+ * so they can be compared from release to release.
+ * Usage: java -jar benchmarks.jar [benchmark regex] [max threads]
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class BenchmarkRunner
+{
+
+	public static void main(String[] args) throws RunnerException
+	{
+		String include = args.length > 0 ? args[0] : ".*Benchmark.*";
+		int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		
+		for (int threads : getThreadCounts(maxThreads))
+		{
+			Options options = new OptionsBuilder()
+					.include(include)
+					.threads(threads)
+					.addProfiler(GCProfiler.class)
+					.resultFormat(ResultFormatType.JSON)
+					.result("results-" + threads + "-threads.json")
+					.build();
+			
+			new Runner(options).run();
+		}
+	}
+	
+	/**
+	 * Gets the thread counts to run with: 1, 2, 4, ... and finally the maximum itself
+	 * @param maxThreads the largest thread count
+	 * @return the list of thread counts
+	 */
+	private static List<Integer> getThreadCounts(int maxThreads)
+	{
+		List<Integer> counts = new ArrayList<Integer>();
+		for (int threads = 1; threads < maxThreads; threads *= 2)
+		{
+			counts.add(threads);
+		}
+		counts.add(maxThreads);
+		
+		return counts;
+	}
+}
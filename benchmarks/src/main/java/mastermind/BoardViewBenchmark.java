@@ -0,0 +1,104 @@
+package mastermind;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares a board of AttemptRow panels with a BoardCanvas: laying the board out, painting all of it, and resetting it,
+ * for the classic board and for a big one of 6 pegs and 25 attempts
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BoardViewBenchmark
+{
+	@Param({"false", "true"})
+	public boolean canvas;
+
+	@Param({"4,6,10", "6,10,25"})
+	public String board;
+
+	private GameBoard game;
+	private BufferedImage screen;
+	private Graphics2D g2;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		String[] sizes = board.split(",");
+		Rules rules = Rules.find(Integer.parseInt(sizes[0]), Integer.parseInt(sizes[1]), Integer.parseInt(sizes[2]), true);
+		game = new GameBoard(rules, canvas);
+		Dimension size = game.getPreferredSize();
+		game.setSize(size);
+		layOut(game);
+		screen = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_RGB);
+		g2 = screen.createGraphics();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		g2.dispose();
+	}
+
+	/**
+	 * Lays out a component and everything in it, the way a frame does when it's shown or resized
+	 * @param component the component
+	 */
+	private static void layOut(Component component)
+	{
+		component.doLayout();
+		if (component instanceof Container)
+		{
+			for (Component child : ((Container) component).getComponents())
+			{
+				layOut(child);
+			}
+		}
+	}
+
+	@Benchmark
+	public GameBoard layout()
+	{
+		game.invalidate();
+		layOut(game);
+		return game;
+	}
+
+	@Benchmark
+	public BufferedImage paint()
+	{
+		game.paint(g2);
+		return screen;
+	}
+
+	@Benchmark
+	public GameBoard reset()
+	{
+		game.reset();
+		return game;
+	}
+}
@@ -0,0 +1,60 @@
+package mastermind;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures generating a new answer code and resetting the board for a new game
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class GameBoardBenchmark
+{
+	private GameBoard board;
+	private AttemptRow row;
+	
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		board = new GameBoard();
+		row = new AttemptRow(1);
+	}
+	
+	@Benchmark
+	public GameBoard setCode()
+	{
+		board.setCode();
+		return board;
+	}
+	
+	@Benchmark
+	public GameBoard boardReset()
+	{
+		board.reset();
+		return board;
+	}
+	
+	@Benchmark
+	public AttemptRow attemptRowReset()
+	{
+		row.reset();
+		return row;
+	}
+}
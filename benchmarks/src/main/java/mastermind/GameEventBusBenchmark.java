@@ -0,0 +1,78 @@
+package mastermind;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures publishing events on a GameEventBus with some subscribers which do nothing, so the time is the bus's own.
+ * Events are published as fast as they can be, so once the ring fills this includes waiting for the subscribers.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameEventBusBenchmark
+{
+	@Param({"0", "1", "4"})
+	public int subscribers;
+
+	private GameEventBus bus;
+	private GameEventBus.Subscription[] subscriptions;
+	private GameSession session;
+
+	/**
+	 * A subscriber which ignores every event
+	 */
+	private static class Ignore implements GameEventListener
+	{
+		public void gameEvent(GameEvent event)
+		{
+			//nothing to do
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		bus = new GameEventBus();
+		subscriptions = new GameEventBus.Subscription[subscribers];
+		for (int i = 0; i < subscribers; i++)
+		{
+			subscriptions[i] = bus.subscribe(new Ignore(), "ignore " + i);
+		}
+		session = new GameSession(Rules.CLASSIC, Rules.CLASSIC.createEngine(), 0);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		for (GameEventBus.Subscription subscription : subscriptions)
+		{
+			subscription.close();
+		}
+	}
+
+	@Benchmark
+	public GameEventBus publish()
+	{
+		bus.publish(GameEvent.hintComputed(session, 0, 7, 3, 100));
+		return bus;
+	}
+}
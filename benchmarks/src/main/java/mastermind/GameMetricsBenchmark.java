@@ -0,0 +1,46 @@
+package mastermind;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures what the GameMetrics cost on every guess and every change of state, with every thread recording at once
+ * into the shared metrics, which is the worst case for contention
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class GameMetricsBenchmark
+{
+	@Benchmark
+	public GameMetrics guessScored()
+	{
+		GameMetrics metrics = GameMetrics.getInstance();
+		long start = System.nanoTime();
+		metrics.guessScored(System.nanoTime() - start);
+		return metrics;
+	}
+
+	@Benchmark
+	public GameMetrics stateChange()
+	{
+		GameMetrics metrics = GameMetrics.getInstance();
+		metrics.boardState(GameState.IN_PROGRESS, GameState.WON);
+		metrics.gameEnded(GameState.WON);
+		metrics.boardState(GameState.WON, GameState.IN_PROGRESS);
+		return metrics;
+	}
+}
@@ -0,0 +1,146 @@
+package mastermind;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts a GameServer and connects many players to it at once, each playing games with the simple strategy and
+ * waiting a while between guesses like a person would. Prints the games played per second and the server's metrics.
+ * Usage: java -cp benchmarks.jar mastermind.GameServerLoad [players] [games per player] [think milliseconds]
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class GameServerLoad
+{
+	private static final AtomicLong games = new AtomicLong();
+	private static final AtomicLong failures = new AtomicLong();
+
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		int players = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int gamesEach = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		int think = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		final GameServer server = new GameServer(0, null, 30);
+		class ServerRunner implements Runnable
+		{
+			public void run()
+			{
+				try
+				{
+					server.run();
+				}
+				catch (IOException ex)
+				{
+					ex.printStackTrace();
+				}
+			}
+		}
+		Thread serverThread = new Thread(new ServerRunner(), "GameServer");
+		serverThread.setDaemon(true);
+		serverThread.start();
+
+		System.out.println("Server using " + (server.usesVirtualThreads() ? "virtual threads" : "a thread pool")
+				+ ", " + players + " players");
+
+		long start = System.nanoTime();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < players; i++)
+		{
+			Thread thread = new Thread(new Player(server.getPort(), gamesEach, think), "Player " + i);
+			thread.setDaemon(true);
+			thread.start();
+			threads.add(thread);
+		}
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("%d games in %.2f seconds (%.0f games/second), %d failures%n", games.get(), seconds,
+				games.get() / seconds, failures.get());
+		System.out.println(server.getMetrics());
+		server.stop();
+	}
+
+	/**
+	 * One player, which plays games over its own connection
+	 */
+	private static class Player implements Runnable
+	{
+		private final int port;
+		private final int count;
+		private final int think;
+
+		/**
+		 * Constructs a Player
+		 * @param inPort the server's port
+		 * @param inCount how many games to play
+		 * @param inThink how long to wait before each guess, in milliseconds
+		 */
+		public Player(int inPort, int inCount, int inThink)
+		{
+			port = inPort;
+			count = inCount;
+			think = inThink;
+		}
+
+		public void run()
+		{
+			Rules rules = Rules.CLASSIC;
+			ScoringEngine engine = rules.createEngine();
+			Strategy strategy = new SimpleStrategy(rules);
+			int[] guesses = new int[rules.getAttempts()];
+			int[] hints = new int[rules.getAttempts()];
+
+			try
+			{
+				Socket socket = new Socket("localhost", port);
+				try
+				{
+					BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+					PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+					for (int game = 0; game < count; game++)
+					{
+						out.println("NEW classic");
+						String id = in.readLine().split(" ")[1];
+
+						String state = "IN_PROGRESS";
+						for (int attempt = 0; state.equals("IN_PROGRESS"); attempt++)
+						{
+							Thread.sleep(think);
+							guesses[attempt] = strategy.nextGuess(guesses, hints, attempt);
+							out.println("GUESS " + id + " " + rules.format(guesses[attempt]));
+							String[] reply = in.readLine().split(" ");
+							if (!reply[0].equals("OK"))
+							{
+								throw new IOException("Server replied " + String.join(" ", reply));
+							}
+							hints[attempt] = engine.hint(Integer.parseInt(reply[1]), Integer.parseInt(reply[2]));
+							state = reply[3];
+						}
+						games.incrementAndGet();
+					}
+					out.println("QUIT");
+				}
+				finally
+				{
+					socket.close();
+				}
+			}
+			catch (Exception ex)
+			{
+				failures.incrementAndGet();
+				System.err.println(Thread.currentThread().getName() + ": " + ex);
+			}
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package mastermind;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures saving and restoring a classic game half way through
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameSnapshotBenchmark
+{
+	private GameSession game;
+	private ByteBuffer buffer;
+	
+	@Setup
+	public void setUp()
+	{
+		Random rand = new Random(0);
+		game = new GameSession(Rules.CLASSIC, Rules.CLASSIC.createEngine(), 1000);
+		for (int i = 0; i < 5; i++)
+		{
+			game.guess(rand.nextInt(999));
+		}
+		buffer = ByteBuffer.allocate(256);
+	}
+	
+	@Benchmark
+	public ByteBuffer write()
+	{
+		buffer.clear();
+		GameSnapshot.write(game, buffer);
+		return buffer;
+	}
+	
+	@Benchmark
+	public GameSession writeAndRead() throws InvalidFileException
+	{
+		buffer.clear();
+		GameSnapshot.write(game, buffer);
+		buffer.flip();
+		return GameSnapshot.read(buffer);
+	}
+}
@@ -0,0 +1,53 @@
+package mastermind;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long the KnuthSolver takes to choose a guess
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KnuthSolverBenchmark
+{
+	private ScoringEngine engine;
+	private int[] guesses;
+	private int[] hints;
+	
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		engine = FeedbackTable.getInstance(4, 6);
+		guesses = new int[] {7, 0};
+		hints = new int[] {engine.hint(0, 1), 0}; //leaves the most codes after the first guess
+	}
+	
+	@Benchmark
+	public int firstGuess()
+	{
+		return new KnuthSolver(Rules.CLASSIC, engine).nextGuess(guesses, hints, 0); //a new solver so the first guess isn't remembered
+	}
+	
+	@Benchmark
+	public int secondGuess()
+	{
+		return new KnuthSolver(Rules.CLASSIC, engine).nextGuess(guesses, hints, 1);
+	}
+}
@@ -0,0 +1,83 @@
+package mastermind;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures looking up a guess in the opening book for the classic game, against working it out with the KnuthSolver.
+ * The book is built in a temporary file first, and the history is the longest one in the book.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OpeningBookBenchmark
+{
+	private File file;
+	private OpeningBook book;
+	private KnuthSolver solver;
+	private int[] guesses;
+	private int[] hints;
+	private int count;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		file = File.createTempFile("classic", ".book");
+		solver = new KnuthSolver(Rules.CLASSIC);
+		OpeningBook.build(Rules.CLASSIC, solver, 0, file);
+		book = new OpeningBook(file, null);
+
+		//finds a code which takes the most guesses, and keeps every guess but the last
+		guesses = new int[SimulationStats.MAX_GUESSES];
+		hints = new int[SimulationStats.MAX_GUESSES];
+		int[] playedGuesses = new int[SimulationStats.MAX_GUESSES];
+		int[] playedHints = new int[SimulationStats.MAX_GUESSES];
+		for (int secret = Rules.CLASSIC.firstCode(); secret >= 0; secret = Rules.CLASSIC.nextCode(secret))
+		{
+			int played = solver.play(secret, playedGuesses, playedHints);
+			if (played - 1 > count)
+			{
+				count = played - 1;
+				System.arraycopy(playedGuesses, 0, guesses, 0, played);
+				System.arraycopy(playedHints, 0, hints, 0, played);
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		file.delete();
+	}
+
+	@Benchmark
+	public int bookLookup()
+	{
+		return book.lookup(guesses, hints, count);
+	}
+
+	@Benchmark
+	public int solverGuess()
+	{
+		return solver.nextGuess(guesses, hints, count);
+	}
+}
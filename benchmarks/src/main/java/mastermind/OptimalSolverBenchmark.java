@@ -0,0 +1,39 @@
+package mastermind;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures working out the optimal strategy for a whole game from an empty cache, on every core of the common pool.
+ * Each solve takes seconds for the classic game, so each is timed on its own.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OptimalSolverBenchmark
+{
+	@Param({"classic-no-repeats", "classic"})
+	public String rulesName;
+
+	@Benchmark
+	public int solve()
+	{
+		return new OptimalSolver(Rules.forName(rulesName)).solve(ForkJoinPool.commonPool());
+	}
+}
@@ -0,0 +1,89 @@
+package mastermind;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures painting every peg of a classic board, 40 code pegs and 40 hint pegs, with shapes and from the cached images
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class PegPaintBenchmark
+{
+	private static final int PEGS = 80;
+	private static final int WIDTH = 30;
+	private static final int BORDER = 4;
+	private static final Color[] COLORS = {Color.BLUE, Color.PINK, Color.GREEN, Color.MAGENTA, Color.CYAN, Color.ORANGE,
+			Color.BLACK, Color.WHITE, Color.GRAY};
+
+	@Param({"1.0", "2.0"})
+	public double scale;
+
+	private BufferedImage screen;
+	private Graphics2D g2;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		int size = (int) Math.ceil((WIDTH + BORDER + 1) * scale);
+		screen = new BufferedImage(size * 10, size * 8, BufferedImage.TYPE_INT_RGB);
+		g2 = screen.createGraphics();
+		g2.scale(scale, scale);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		g2.dispose();
+	}
+
+	@Benchmark
+	public BufferedImage shapes()
+	{
+		for (int i = 0; i < PEGS; i++)
+		{
+			int x = (i % 10) * (WIDTH + BORDER + 1);
+			int y = (i / 10) * (WIDTH + BORDER + 1);
+			g2.translate(x, y);
+			PegSprites.draw(g2, WIDTH, BORDER, COLORS[i % COLORS.length]);
+			g2.translate(-x, -y);
+		}
+		return screen;
+	}
+
+	@Benchmark
+	public BufferedImage sprites()
+	{
+		for (int i = 0; i < PEGS; i++)
+		{
+			int x = (i % 10) * (WIDTH + BORDER + 1);
+			int y = (i / 10) * (WIDTH + BORDER + 1);
+			g2.translate(x, y);
+			PegSprites.paint(g2, WIDTH, BORDER, COLORS[i % COLORS.length]);
+			g2.translate(-x, -y);
+		}
+		return screen;
+	}
+}
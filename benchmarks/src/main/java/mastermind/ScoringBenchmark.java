@@ -0,0 +1,120 @@
+package mastermind;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to score a guess with the ScoringEngine, with the FeedbackTable and through GameBoard.testGuess
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ScoringBenchmark
+{
+	/**
+	 * Random guess and answer pairs for a ScoringEngine
+	 */
+	@State(Scope.Thread)
+	public static class EngineState
+	{
+		private final int PAIRS = 1024; //must be a power of two
+		
+		@Param({"4"})
+		public int pegs;
+		
+		@Param({"6"})
+		public int colors;
+		
+		@Param({"direct", "table"})
+		public String backend;
+		
+		ScoringEngine engine;
+		int[] guesses;
+		int[] secrets;
+		int next;
+		
+		@Setup(Level.Trial)
+		public void setUp()
+		{
+			if (backend.equals("table"))
+			{
+				engine = FeedbackTable.getInstance(pegs, colors);
+			}
+			else
+			{
+				engine = new ScoringEngine(pegs, colors);
+			}
+			guesses = new int[PAIRS];
+			secrets = new int[PAIRS];
+			Random rand = new Random(42);
+			
+			for (int i = 0; i < PAIRS; i++)
+			{
+				guesses[i] = rand.nextInt(engine.getCodeCount());
+				secrets[i] = rand.nextInt(engine.getCodeCount());
+			}
+		}
+	}
+	
+	/**
+	 * A GameBoard with a complete, wrong guess waiting to be tested
+	 */
+	@State(Scope.Thread)
+	public static class BoardState
+	{
+		GameBoard board;
+		ScoringEngine engine;
+		
+		@Setup(Level.Trial)
+		public void setUp()
+		{
+			board = new GameBoard();
+			engine = new ScoringEngine(4, 6);
+		}
+		
+		//testGuess moves the board on to the next row, so every call needs a fresh board
+		@Setup(Level.Invocation)
+		public void prepareGuess()
+		{
+			board.reset();
+			
+			int guess = (board.getSecret() + 1) % engine.getCodeCount(); //never wins, so no dialogs or file updates
+			AttemptView row = board.getCurrentAttempt();
+			for (int i = 0; i < engine.getPegs(); i++)
+			{
+				row.setGuessValue(i, engine.getValue(guess, i) + 1);
+			}
+		}
+	}
+	
+	@Benchmark
+	public int engineScore(EngineState state)
+	{
+		int i = state.next++ & (state.guesses.length - 1);
+		return state.engine.score(state.guesses[i], state.secrets[i]);
+	}
+	
+	@Benchmark
+	public GameBoard boardTestGuess(BoardState state)
+	{
+		state.board.testGuess();
+		return state.board;
+	}
+}
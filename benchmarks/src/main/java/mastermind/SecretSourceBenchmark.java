@@ -0,0 +1,94 @@
+package mastermind;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many answer codes a second each SecretSource makes, against a new Random for every game, which is what
+ * GameBoard used to do. Every thread has its own split of the source, so run it with more threads to see it scale.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class SecretSourceBenchmark
+{
+	/**
+	 * The rules and source shared by the threads, which each split off their own
+	 */
+	@State(Scope.Benchmark)
+	public static class Shared
+	{
+		@Param({"classic", "classic no repeats", "grand"})
+		public String rules;
+
+		@Param({"random", "shuffle"})
+		public String secrets;
+
+		Rules found;
+		SecretSource source;
+
+		@Setup(Level.Trial)
+		public void setUp()
+		{
+			found = Rules.forName(rules);
+			source = SecretSources.create(secrets, found, 42);
+		}
+
+		/**
+		 * Splits off a source for a thread
+		 * @return the source
+		 */
+		synchronized SecretSource split()
+		{
+			return source.split();
+		}
+	}
+
+	/**
+	 * One thread's source
+	 */
+	@State(Scope.Thread)
+	public static class Local
+	{
+		SecretSource source;
+		Rules rules;
+
+		@Setup(Level.Trial)
+		public void setUp(Shared shared)
+		{
+			source = shared.split();
+			rules = shared.found;
+		}
+	}
+
+	@Benchmark
+	public int source(Local local)
+	{
+		return local.source.nextSecret();
+	}
+
+	@Benchmark
+	public int newRandom(Local local)
+	{
+		return local.rules.randomCode(new Random());
+	}
+}
@@ -0,0 +1,64 @@
+package mastermind;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures starting, playing and ending a game in a SessionStore which already holds many other games,
+ * with every benchmark thread sharing the store
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class SessionStoreBenchmark
+{
+	@State(Scope.Benchmark)
+	public static class StoreState
+	{
+		@Param({"1000000"})
+		public int sessions;
+
+		public SessionStore store;
+
+		@Setup
+		public void setUp()
+		{
+			store = new SessionStore(Rules.CLASSIC, Rules.CLASSIC.createEngine());
+			Random rand = new Random(0);
+			for (int i = 0; i < sessions; i++)
+			{
+				store.create(rand);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class PlayerState
+	{
+		public Random rand = new Random();
+	}
+
+	@Benchmark
+	public GameRecord playGame(StoreState state, PlayerState player)
+	{
+		long id = state.store.create(player.rand);
+		state.store.guess(id, 7);
+		return state.store.remove(id);
+	}
+}
@@ -0,0 +1,77 @@
+package mastermind;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many updates per second many threads can make to one shared StatsCounter,
+ * and checks afterwards that every single update made it into the file.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class StatsContentionBenchmark
+{
+	private File file;
+	private StatsCounter stats;
+	private LongAdder expected;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		file = File.createTempFile("Statistics", ".txt");
+		PrintWriter writer = new PrintWriter(file);
+		writer.println(0);
+		writer.println(0);
+		writer.println(0);
+		writer.close();
+		
+		stats = StatsCounter.getInstance(file.getPath());
+		expected = new LongAdder();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		stats.flush();
+		int[] saved = StatsCounter.getInstance(file.getPath()).getStats();
+		file.delete();
+		
+		if (saved[StatsCounter.WINS] != expected.sum())
+		{
+			throw new IllegalStateException("Lost updates: expected " + expected.sum() + " wins but the file has " + saved[StatsCounter.WINS]);
+		}
+		System.out.println();
+		System.out.println("All " + expected.sum() + " updates were saved");
+	}
+	
+	@Benchmark
+	public void addWin() throws IOException
+	{
+		stats.addWin();
+		expected.increment();
+	}
+}
@@ -0,0 +1,84 @@
+package mastermind;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures updating the StatsCounter, and writing the updates to its file.
+ * Each thread gets its own statistics file so the real one is never touched.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StatsCounterBenchmark
+{
+	private File file;
+	private StatsCounter stats;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		file = File.createTempFile("Statistics", ".txt");
+		PrintWriter writer = new PrintWriter(file);
+		writer.println(0);
+		writer.println(0);
+		writer.println(0);
+		writer.close();
+		
+		stats = StatsCounter.getInstance(file.getPath());
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		file.delete();
+	}
+	
+	@Benchmark
+	public StatsCounter addWin() throws IOException
+	{
+		stats.addWin();
+		return stats;
+	}
+	
+	@Benchmark
+	public StatsCounter addLoss() throws IOException
+	{
+		stats.addLoss();
+		return stats;
+	}
+	
+	@Benchmark
+	public StatsCounter addWinAndFlush() throws IOException
+	{
+		stats.addWin();
+		stats.flush(); //the full file round trip which the background writer makes
+		return stats;
+	}
+	
+	@Benchmark
+	public int[] getStats() throws IOException
+	{
+		return stats.getStats();
+	}
+}
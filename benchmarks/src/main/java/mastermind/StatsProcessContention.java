@@ -0,0 +1,85 @@
+package mastermind;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts several programs which all update the same statistics file at once, 
+ * then checks that none of their updates were lost.
+ * Usage: java -cp benchmarks.jar mastermind.StatsProcessContention [processes] [updates per process]
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class StatsProcessContention
+{
+
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		if (args.length == 3 && args[0].equals("--child"))
+		{
+			runChild(args[1], Integer.parseInt(args[2]));
+			return;
+		}
+		
+		int processes = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		int updates = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+		
+		File file = File.createTempFile("Statistics", ".txt");
+		PrintWriter writer = new PrintWriter(file);
+		writer.println(0);
+		writer.println(0);
+		writer.println(0);
+		writer.close();
+		
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		List<Process> children = new ArrayList<Process>();
+		long start = System.nanoTime();
+		for (int i = 0; i < processes; i++)
+		{
+			ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+					StatsProcessContention.class.getName(), "--child", file.getPath(), Integer.toString(updates));
+			builder.inheritIO();
+			children.add(builder.start());
+		}
+		
+		for (Process child : children)
+		{
+			child.waitFor();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		
+		long expected = (long) processes * updates;
+		int saved = StatsCounter.getInstance(file.getPath()).getStats()[StatsCounter.WINS];
+		file.delete();
+		
+		System.out.printf("%d processes made %d updates in %.2f seconds (%.0f updates/second)%n", processes, expected, seconds, expected / seconds);
+		if (saved == expected)
+		{
+			System.out.println("No updates were lost");
+		}
+		else
+		{
+			System.out.println("Lost " + (expected - saved) + " updates");
+			System.exit(1);
+		}
+	}
+	
+	/**
+	 * Makes updates to the file as fast as possible, then writes whatever is left
+	 * @param filename the statistics file
+	 * @param updates how many wins to add
+	 * @throws IOException
+	 */
+	private static void runChild(String filename, int updates) throws IOException
+	{
+		StatsCounter stats = StatsCounter.getInstance(filename);
+		for (int i = 0; i < updates; i++)
+		{
+			stats.addWin();
+		}
+		stats.flush();
+	}
+}
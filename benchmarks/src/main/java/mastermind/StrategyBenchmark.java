@@ -0,0 +1,53 @@
+package mastermind;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long each strategy takes to choose the second guess of a classic game after the first guess left the
+ * most codes. Run with -prof gc to see what each one allocates.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StrategyBenchmark
+{
+	@Param({"knuth", "entropy", "parts", "random", "simple"})
+	public String strategyName;
+
+	private Strategy strategy;
+	private int[] guesses;
+	private int[] hints;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		strategy = Simulator.createStrategy(strategyName, Rules.CLASSIC);
+		ScoringEngine engine = Rules.CLASSIC.createEngine();
+		guesses = new int[] {7, 0};
+		hints = new int[] {engine.hint(0, 1), 0};
+	}
+
+	@Benchmark
+	public int secondGuess()
+	{
+		return strategy.nextGuess(guesses, hints, 1);
+	}
+}
@@ -1,3 +1,5 @@
+package mastermind;
+
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
@@ -16,21 +18,35 @@ import javax.swing.border.EtchedBorder;
  * @author Y. Stitzer
  * @version 12/20/2012
  */
-public class AttemptRow extends JPanel
+public class AttemptRow extends JPanel implements AttemptView
 {
-	private final int PEGS = 4;
+	private final int PEGS;
+	private final int COLORS;
 	private CodePeg[] guess;
 	private HintPeg[] hint;
 	private int attempt;
 	private MouseListener clickListener;
 	
 	/**
-	 * Create an AttemptRow by adding the pegs to the panel. 
+	 * Create an AttemptRow for a classic game of four pegs and six colors by adding the pegs to the panel. 
 	 * @param number the row number
 	 */
 	public AttemptRow(int number)
+	{
+		this(number, 4, 6);
+	}
+	
+	/**
+	 * Create an AttemptRow by adding the pegs to the panel. 
+	 * @param number the row number
+	 * @param pegs the number of pegs in a guess
+	 * @param colors the number of colors each guess peg can be
+	 */
+	public AttemptRow(int number, int pegs, int colors)
 	{
 		attempt = number;
+		PEGS = pegs;
+		COLORS = colors;
 		
 		JLabel numberLabel = createNumberLabel();
 		JPanel guessPanel = createGuessPanel();
@@ -80,7 +96,7 @@ public class AttemptRow extends JPanel
 		//initialize guess array with CodePeg objects and add each one to the panel
 		for (int i = 0; i < PEGS; i++)
 		{
-			guess[i] = new CodePeg(PEG_SIZE, PEG_BORDER);
+			guess[i] = new CodePeg(PEG_SIZE, PEG_BORDER, COLORS);
 			constraint.gridx = i; //put in next column
 			panel.add(guess[i], constraint);
 		}
@@ -89,7 +105,7 @@ public class AttemptRow extends JPanel
 	}
 	
 	/**
-	 * Creates a JPanel containing the 4 hint pegs in grid form.
+	 * Creates a JPanel containing the hint pegs in grid form.
 	 * @return the hint JPanel
 	 */
 	private JPanel createHintPanel()
@@ -111,27 +127,24 @@ public class AttemptRow extends JPanel
 			constraint.ipady = PEG_SIZE + PEG_BORDER;
 			constraint.insets = new Insets(0, 0, 0, 0);
 			
-			//place at top left
-			constraint.gridx = 0;
-			constraint.gridy = 0;
-			constraint.insets.set(0, 1, 2, 2); //to space them out evenly
-			panel.add(hint[0], constraint);
-			
-			//place at top right
-			constraint.gridx = 1;
-			constraint.insets.set(0, 1, 2, 1);
-			panel.add(hint[1], constraint);
-			
-			//place at bottom left
-			constraint.gridx = 0;
-			constraint.gridy = 1;
-			constraint.insets.set(1, 1, 0, 2);
-			panel.add(hint[2], constraint); 
-			
-			//place at bottom right
-			constraint.gridx = 1;
-			constraint.insets.set(1, 1, 0, 1);
-			panel.add(hint[3], constraint); 
+			//place them in two rows, left to right, starting at top left
+			final int COLUMNS = (PEGS + 1) / 2;
+			for (int i = 0; i < PEGS; i++)
+			{
+				constraint.gridx = i % COLUMNS;
+				constraint.gridy = i / COLUMNS;
+				
+				int right = constraint.gridx == COLUMNS - 1 ? 1 : 2; //to space them out evenly
+				if (constraint.gridy == 0)
+				{
+					constraint.insets.set(0, 1, 2, right);
+				}
+				else
+				{
+					constraint.insets.set(1, 1, 0, right);
+				}
+				panel.add(hint[i], constraint);
+			}
 			
 			return panel;
 	}
@@ -220,23 +233,13 @@ public class AttemptRow extends JPanel
 	}
 	
 	/**
-	 * Sets a specific guess peg as checked or not checked
-	 * @param index the index of the element in the guess peg array
-	 * @param checked "true" to mark as checked, and "false" to mark as not checked
-	 */
-	public void setChecked(int index, boolean checked)
-	{
-		guess[index].setChecked(checked);
-	}
-	
-	/**
-	 * Checks whether or not a guess peg was already checked or not.
-	 * @param index the index of the element in the guess peg array
-	 * @return true if the peg was already checked, and false if not
+	 * Sets the value of a guess peg
+	 * @param index the index of the peg to set in the guess peg array
+	 * @param value the peg's new value
 	 */
-	public boolean pegWasChecked(int index)
+	public void setGuessValue(int index, int value)
 	{
-		return guess[index].wasChecked();
+		guess[index].setColor(value);
 	}
 	
 	/**
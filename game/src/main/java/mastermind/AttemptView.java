@@ -0,0 +1,49 @@
+package mastermind;
+
+/**
+ * One row of the board, where a guess is made and its hint is shown.
+ * The GameBoard only works with rows through this, so the rows can be separate AttemptRow panels
+ * or drawn all together by a BoardCanvas.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public interface AttemptView
+{
+	/**
+	 * Makes the guess pegs in this row clickable or not clickable
+	 * @param canEdit true if this row should be editable, false if not.
+	 */
+	void setEditable(boolean canEdit);
+
+	/**
+	 * Checks whether or not all the guess pegs were used in the guess.
+	 * @return true if the user made a complete guess, and false if not.
+	 */
+	boolean isCompleteGuess();
+
+	/**
+	 * Gets the value of a guess peg
+	 * @param index which peg, starting from 0
+	 * @return the peg's value, with colors starting at 1, or 0 if it isn't set
+	 */
+	int getGuessValue(int index);
+
+	/**
+	 * Sets the value of a guess peg
+	 * @param index which peg, starting from 0
+	 * @param value the peg's new value, with colors starting at 1
+	 */
+	void setGuessValue(int index, int value);
+
+	/**
+	 * Sets the colors of the hint pegs.
+	 * @param correctPosition how many pegs of the guess code were of the correct color and position
+	 * @param incorrectPosition how many pegs of the guess code were of the correct color but incorrect position
+	 */
+	void setHint(int correctPosition, int incorrectPosition);
+
+	/**
+	 * Empties the row, the way it was when the board was made.
+	 */
+	void reset();
+}
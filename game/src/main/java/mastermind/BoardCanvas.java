@@ -0,0 +1,400 @@
+package mastermind;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.util.Arrays;
+
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+import javax.swing.border.Border;
+import javax.swing.border.EtchedBorder;
+
+/**
+ * Draws every row of the board in one component, instead of a panel of pegs for each row.
+ * The pegs are just numbers in arrays, clicks are matched to pegs by their position, and a change only repaints
+ * the peg or row it's in, so laying out, resetting and painting the board cost about the same however many rows
+ * and pegs the rules have. It looks like a column of AttemptRows, with the first row at the bottom.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class BoardCanvas extends JComponent
+{
+	private static final int EMPTY = 0;
+	private static final int CORRECT_POSITION = 1;
+	private static final int INCORRECT_POSITION = 2;
+	private final int ATTEMPTS;
+	private final int PEGS;
+	private final int COLORS;
+	private final int PEG_SIZE = 30;
+	private final int HINT_SIZE = 11;
+	private final int PEG_BORDER = 4;
+	private final int PEG_SPACING = 10; //on each side of a guess peg
+	private final int HINT_SPACING = 3;
+	private final int MARGIN = 8; //between the row's border and what's in it
+	private final int GAP = 5; //between the number, the guess pegs and the hint pegs
+	private final Color EMPTY_COLOR = Color.GRAY;
+	private final Border ROW_BORDER = new EtchedBorder(EtchedBorder.LOWERED);
+	private int[][] guesses; //the value of each guess peg, with colors starting at 1
+	private int[][] hints; //EMPTY, CORRECT_POSITION or INCORRECT_POSITION for each hint peg
+	private boolean[] editable;
+	private boolean[] opened; //true once a row has been editable, which shows its empty pegs as holes
+	private Row[] rows;
+	private Font numberFont;
+	private int numberWidth;
+	private int rowWidth;
+	private int rowHeight;
+
+	/**
+	 * Constructs an empty board
+	 * @param attempts the number of rows
+	 * @param pegs the number of pegs in a guess
+	 * @param colors the number of colors each guess peg can be, up to CodePeg.MAX_COLORS
+	 */
+	public BoardCanvas(int attempts, int pegs, int colors)
+	{
+		if (colors < 1 || colors > CodePeg.MAX_COLORS)
+		{
+			throw new IllegalArgumentException("Colors must be between 1 and " + CodePeg.MAX_COLORS + ": " + colors);
+		}
+
+		ATTEMPTS = attempts;
+		PEGS = pegs;
+		COLORS = colors;
+		guesses = new int[ATTEMPTS][PEGS];
+		hints = new int[ATTEMPTS][PEGS];
+		editable = new boolean[ATTEMPTS];
+		opened = new boolean[ATTEMPTS];
+		rows = new Row[ATTEMPTS];
+		for (int i = 0; i < ATTEMPTS; i++)
+		{
+			rows[i] = new Row(i);
+		}
+
+		//the same font as the h3 heading of an AttemptRow's number
+		Font labelFont = new JLabel().getFont();
+		numberFont = labelFont.deriveFont(Font.BOLD, Math.round(labelFont.getSize2D() * 1.17f));
+		FontMetrics metrics = getFontMetrics(numberFont);
+		numberWidth = metrics.stringWidth(formatNumber(Math.max(ATTEMPTS, 10)));
+
+		int hintColumns = (PEGS + 1) / 2;
+		rowWidth = 2 * MARGIN + numberWidth + 2 * GAP + PEGS * (PEG_SIZE + PEG_BORDER + 2 * PEG_SPACING)
+				+ hintColumns * (HINT_SIZE + PEG_BORDER + HINT_SPACING);
+		rowHeight = 2 * MARGIN + Math.max(PEG_SIZE + PEG_BORDER, Math.max(metrics.getHeight(),
+				2 * (HINT_SIZE + PEG_BORDER) + HINT_SPACING));
+
+		setOpaque(true);
+		addMouseListener(new ClickListener());
+	}
+
+	/**
+	 * Gets one of the rows
+	 * @param index which row, starting from 0 at the bottom
+	 * @return the row
+	 */
+	public AttemptView getRow(int index)
+	{
+		return rows[index];
+	}
+
+	/**
+	 * Gets the size which fits every row
+	 * @return the preferred size
+	 */
+	public Dimension getPreferredSize()
+	{
+		if (isPreferredSizeSet())
+		{
+			return super.getPreferredSize();
+		}
+		return new Dimension(rowWidth, rowHeight * ATTEMPTS);
+	}
+
+	/**
+	 * Paints the rows which need it, which is only the ones a change was in unless the whole board was uncovered
+	 */
+	protected void paintComponent(Graphics g)
+	{
+		Graphics2D g2 = (Graphics2D) g;
+		Rectangle clip = g2.getClipBounds();
+		if (clip == null)
+		{
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+		}
+
+		g2.setColor(getBackground());
+		g2.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+		int left = getLeft();
+		int first = Math.max(0, clip.y / rowHeight);
+		int last = Math.min(ATTEMPTS - 1, (clip.y + clip.height - 1) / rowHeight);
+		for (int position = first; position <= last; position++)
+		{
+			paintRow(g2, ATTEMPTS - 1 - position, left, position * rowHeight);
+		}
+	}
+
+	/**
+	 * Paints one row
+	 * @param g2 the graphics to paint on
+	 * @param row which row
+	 * @param x the left of the row
+	 * @param y the top of the row
+	 */
+	private void paintRow(Graphics2D g2, int row, int x, int y)
+	{
+		ROW_BORDER.paintBorder(this, g2, x, y, rowWidth, rowHeight);
+
+		g2.setFont(numberFont);
+		g2.setColor(getForeground());
+		g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		FontMetrics metrics = g2.getFontMetrics();
+		g2.drawString(formatNumber(row + 1), x + MARGIN, y + (rowHeight - metrics.getHeight()) / 2 + metrics.getAscent());
+
+		for (int i = 0; i < PEGS; i++)
+		{
+			Rectangle peg = getPegBounds(row, i);
+			int value = guesses[row][i];
+			Color color;
+			if (value != 0)
+			{
+				color = CodePeg.getPaletteColor(value);
+			}
+			else
+			{
+				color = opened[row] ? getBackground() : EMPTY_COLOR;
+			}
+			g2.translate(peg.x, peg.y);
+			PegSprites.paint(g2, PEG_SIZE, PEG_BORDER, color);
+			g2.translate(-peg.x, -peg.y);
+		}
+
+		for (int i = 0; i < PEGS; i++)
+		{
+			Rectangle peg = getHintBounds(row, i);
+			Color color = EMPTY_COLOR;
+			if (hints[row][i] == CORRECT_POSITION)
+			{
+				color = Color.BLACK;
+			}
+			else if (hints[row][i] == INCORRECT_POSITION)
+			{
+				color = Color.WHITE;
+			}
+			g2.translate(peg.x, peg.y);
+			PegSprites.paint(g2, HINT_SIZE, PEG_BORDER, color);
+			g2.translate(-peg.x, -peg.y);
+		}
+	}
+
+	/**
+	 * Gets the left edge of the rows, which are centered like the AttemptRows in their FlowLayout
+	 * @return the x coordinate
+	 */
+	private int getLeft()
+	{
+		return Math.max(0, (getWidth() - rowWidth) / 2);
+	}
+
+	/**
+	 * Gets where a guess peg is drawn
+	 * @param row which row
+	 * @param index which peg
+	 * @return the peg's bounds, including its border
+	 */
+	private Rectangle getPegBounds(int row, int index)
+	{
+		int size = PEG_SIZE + PEG_BORDER;
+		int x = getLeft() + MARGIN + numberWidth + GAP + index * (size + 2 * PEG_SPACING) + PEG_SPACING;
+		int y = (ATTEMPTS - 1 - row) * rowHeight + (rowHeight - size) / 2;
+		return new Rectangle(x, y, size, size);
+	}
+
+	/**
+	 * Gets where a hint peg is drawn, in two rows, left to right, starting at top left
+	 * @param row which row
+	 * @param index which peg
+	 * @return the peg's bounds, including its border
+	 */
+	private Rectangle getHintBounds(int row, int index)
+	{
+		int columns = (PEGS + 1) / 2;
+		int size = HINT_SIZE + PEG_BORDER;
+		int left = getLeft() + MARGIN + numberWidth + 2 * GAP + PEGS * (PEG_SIZE + PEG_BORDER + 2 * PEG_SPACING);
+		int top = (ATTEMPTS - 1 - row) * rowHeight + (rowHeight - 2 * size - HINT_SPACING) / 2;
+		int x = left + (index % columns) * (size + HINT_SPACING);
+		int y = top + (index / columns) * (size + HINT_SPACING);
+		return new Rectangle(x, y, size, size);
+	}
+
+	/**
+	 * Repaints one guess peg, or a whole row if index is -1
+	 * @param row which row
+	 * @param index which peg, or -1
+	 */
+	private void repaintPeg(int row, int index)
+	{
+		if (index < 0)
+		{
+			repaint(getLeft(), (ATTEMPTS - 1 - row) * rowHeight, rowWidth, rowHeight);
+		}
+		else
+		{
+			Rectangle peg = getPegBounds(row, index);
+			repaint(peg.x, peg.y, peg.width + 1, peg.height + 1); //the stroke reaches one pixel further
+		}
+	}
+
+	/**
+	 * Formats a row number with a leading 0, so all rows are of equal width (purely for esthetics)
+	 * @param number the row number, starting from 1
+	 * @return the text to show
+	 */
+	private static String formatNumber(int number)
+	{
+		return number < 10 ? "0" + number : Integer.toString(number);
+	}
+
+	/**
+	 * One row of the board, which changes the arrays and repaints what changed
+	 */
+	private class Row implements AttemptView
+	{
+		private final int row;
+
+		/**
+		 * Constructs a Row
+		 * @param index which row, starting from 0 at the bottom
+		 */
+		public Row(int index)
+		{
+			row = index;
+		}
+
+		public void setEditable(boolean canEdit)
+		{
+			editable[row] = canEdit;
+			if (canEdit && !opened[row])
+			{
+				opened[row] = true; //to show the user the pegs are now editable
+				repaintPeg(row, -1);
+			}
+		}
+
+		public boolean isCompleteGuess()
+		{
+			for (int value : guesses[row])
+			{
+				if (value == 0)
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+
+		public int getGuessValue(int index)
+		{
+			return guesses[row][index];
+		}
+
+		public void setGuessValue(int index, int value)
+		{
+			if (value == -1) //one past either end of the colors cycles around, like a CodePeg
+			{
+				value = COLORS;
+			}
+			if (value < 0 || value > COLORS)
+			{
+				value = 0;
+			}
+			guesses[row][index] = value;
+			repaintPeg(row, index);
+		}
+
+		public void setHint(int correctPosition, int incorrectPosition)
+		{
+			for (int i = 0; i < PEGS; i++)
+			{
+				if (i < correctPosition)
+				{
+					hints[row][i] = CORRECT_POSITION;
+				}
+				else if (i < correctPosition + incorrectPosition)
+				{
+					hints[row][i] = INCORRECT_POSITION;
+				}
+			}
+			repaintPeg(row, -1);
+		}
+
+		public void reset()
+		{
+			editable[row] = false;
+			opened[row] = false;
+			for (int i = 0; i < PEGS; i++)
+			{
+				guesses[row][i] = 0;
+				hints[row][i] = EMPTY;
+			}
+			repaintPeg(row, -1);
+		}
+
+		public String toString()
+		{
+			return "Attempt=" + (row + 1) + " Guess=" + Arrays.toString(guesses[row])
+					+ " Hint=" + Arrays.toString(hints[row]);
+		}
+	}
+
+	/**
+	 * Changes the color of the guess peg which was clicked, if its row is editable
+	 */
+	private class ClickListener implements MouseListener
+	{
+		public void mousePressed(MouseEvent event)
+		{
+			int position = event.getY() / rowHeight;
+			if (event.getY() < 0 || position >= ATTEMPTS)
+			{
+				return;
+			}
+
+			int row = ATTEMPTS - 1 - position;
+			if (!editable[row])
+			{
+				return;
+			}
+
+			for (int i = 0; i < PEGS; i++)
+			{
+				if (getPegBounds(row, i).contains(event.getPoint()))
+				{
+					if (SwingUtilities.isLeftMouseButton(event))
+					{
+						rows[row].setGuessValue(i, guesses[row][i] + 1); // sets peg as next color
+					}
+					else if (SwingUtilities.isRightMouseButton(event))
+					{
+						rows[row].setGuessValue(i, guesses[row][i] - 1); // sets peg as previous color
+					}
+					return;
+				}
+			}
+		}
+
+		// Do-nothing methods
+		public void mouseClicked(MouseEvent event) {}
+		public void mouseReleased(MouseEvent event) {}
+		public void mouseEntered(MouseEvent event) {}
+		public void mouseExited(MouseEvent event) {}
+	}
+}
@@ -0,0 +1,204 @@
+package mastermind;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The answer codes which are still possible after the hints of a game so far.
+ * The set starts out as every allowed code without storing them, and each hint narrows down the codes left from the
+ * hint before, so it never has to go back through every code again.
+ *
+ * The first narrowing is the only one which has to go through every code, and most games start with one of a few
+ * guesses, so its results are kept in a small cache shared by every game. Those arrays are never changed;
+ * a set which starts from one copies just the codes which are left the next time it is narrowed.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class CandidateSet
+{
+	private static final long CACHE_CODES = 1 << 22; //the most codes kept in the cache, all together
+	private static final int CHECK_EVERY = 4096; //codes to go through between checks for a cancelled task, a power of two
+	private static final Map<Long, int[]> firstSteps = new LinkedHashMap<Long, int[]>(16, 0.75f, true); //by firstStepKey
+	private static long cachedCodes;
+	private final Rules rules;
+	private final ScoringEngine engine;
+	private int[] codes; //null while every allowed code is left
+	private int size;
+	private boolean shared; //true if codes is from the cache, so it can't be changed
+
+	/**
+	 * Constructs a set of every allowed code
+	 * @param inRules the rules of the game
+	 * @param inEngine the engine to score the rules' codes with
+	 */
+	public CandidateSet(Rules inRules, ScoringEngine inEngine)
+	{
+		rules = inRules;
+		engine = inEngine;
+		size = rules.getCodeCount();
+	}
+
+	/**
+	 * Constructs the set of codes left after some guesses
+	 * @param inRules the rules of the game
+	 * @param inEngine the engine to score the rules' codes with
+	 * @param guesses the packed guesses
+	 * @param hints the packed hint for each guess
+	 * @param count the number of guesses
+	 */
+	public CandidateSet(Rules inRules, ScoringEngine inEngine, int[] guesses, int[] hints, int count)
+	{
+		this(inRules, inEngine);
+		for (int i = 0; i < count; i++)
+		{
+			narrow(guesses[i], hints[i]);
+		}
+	}
+
+	/**
+	 * Takes out every code which wouldn't have given a hint for a guess. If the thread is interrupted part way through,
+	 * the set is left with only some of the codes taken out, which narrowing by the same guess again finishes.
+	 * @param guess the packed guess
+	 * @param hint the packed hint it got
+	 * @throws java.util.concurrent.CancellationException if the thread is interrupted
+	 */
+	public void narrow(int guess, int hint)
+	{
+		if (codes == null)
+		{
+			codes = firstStep(guess, hint);
+			size = codes.length;
+			shared = true;
+			return;
+		}
+
+		int[] kept = shared ? new int[size] : codes; //the cached array has to be left as it is
+		int count = 0;
+		for (int i = 0; i < size; i++)
+		{
+			if ((i & (CHECK_EVERY - 1)) == 0 && Thread.currentThread().isInterrupted())
+			{
+				System.arraycopy(codes, i, kept, count, size - i); //keeps the codes not checked yet
+				codes = kept;
+				size = count + size - i;
+				shared = false;
+				TaskRunner.checkInterrupted();
+			}
+
+			int code = codes[i];
+			if (engine.score(guess, code) == hint)
+			{
+				kept[count] = code;
+				count++;
+			}
+		}
+
+		codes = kept;
+		size = count;
+		shared = false;
+	}
+
+	/**
+	 * Gets the number of codes left
+	 * @return the number of codes
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Gets some of the codes left, in order
+	 * @param max the most codes to get
+	 * @return the packed codes
+	 */
+	public int[] list(int max)
+	{
+		int[] list = new int[Math.min(max, size)];
+		if (codes != null)
+		{
+			System.arraycopy(codes, 0, list, 0, list.length);
+			return list;
+		}
+
+		int code = rules.firstCode();
+		for (int i = 0; i < list.length; i++)
+		{
+			list[i] = code;
+			code = rules.nextCode(code);
+		}
+		return list;
+	}
+
+	/**
+	 * Finds the codes which would give a hint for a first guess, from the cache if it's there
+	 * @param guess the packed guess
+	 * @param hint the packed hint it got
+	 * @return the packed codes, which must not be changed
+	 */
+	private int[] firstStep(int guess, int hint)
+	{
+		Long key = firstStepKey(guess, hint);
+		synchronized (firstSteps)
+		{
+			int[] cached = firstSteps.get(key);
+			if (cached != null)
+			{
+				return cached;
+			}
+		}
+
+		int count = 0;
+		int[] found = new int[64];
+		int checked = 0;
+		for (int code = rules.firstCode(); code >= 0; code = rules.nextCode(code))
+		{
+			if ((++checked & (CHECK_EVERY - 1)) == 0)
+			{
+				TaskRunner.checkInterrupted();
+			}
+			if (engine.score(guess, code) == hint)
+			{
+				if (count == found.length)
+				{
+					int[] bigger = new int[found.length * 2];
+					System.arraycopy(found, 0, bigger, 0, count);
+					found = bigger;
+				}
+				found[count] = code;
+				count++;
+			}
+		}
+		int[] result = new int[count];
+		System.arraycopy(found, 0, result, 0, count);
+
+		synchronized (firstSteps)
+		{
+			if (result.length <= CACHE_CODES / 4 && !firstSteps.containsKey(key)) //huge results would push out everything else
+			{
+				firstSteps.put(key, result);
+				cachedCodes += result.length;
+				for (Iterator<int[]> it = firstSteps.values().iterator(); cachedCodes > CACHE_CODES && it.hasNext(); )
+				{
+					cachedCodes -= it.next().length; //least recently used first
+					it.remove();
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Packs a first guess, its hint and the rules which the codes depend on into one long, to look them up in the cache.
+	 * A packed code fits in 31 bits, a hint in 8, the pegs in 4 and the colors in 5.
+	 * @param guess the packed guess
+	 * @param hint the packed hint it got
+	 * @return the key
+	 */
+	private long firstStepKey(int guess, int hint)
+	{
+		return (long) guess << 32 | hint << 16 | rules.getPegs() << 8 | rules.getColors() << 1 | (rules.allowsRepeats() ? 1 : 0);
+	}
+}
@@ -0,0 +1,139 @@
+package mastermind;
+
+import java.awt.Color;
+import java.io.Serializable;
+
+/**
+ * Objects of the CodePeg class can be used to display and test one peg of the guessed or answer code.
+ * @author Y. Stitzer
+ * @version 12/20/2012
+ */
+public class CodePeg extends Peg
+{
+	public static final int MAX_COLORS = 10;
+	private static final Color[] PALETTE = {Color.BLUE, Color.PINK, Color.GREEN, Color.MAGENTA, Color.CYAN, Color.ORANGE,
+			Color.RED, Color.YELLOW, new Color(139, 69, 19), new Color(128, 0, 128)};
+	private static final String[] NAMES = {"Blue", "Pink", "Green", "Magenta", "Cyan", "Orange", 
+			"Red", "Yellow", "Brown", "Purple"};
+	private final int PRE_CYCLE = -1;
+	private final int NOT_SET = 0;
+	private final int DEFAULT_COLORS = 6;
+
+	private int value;
+	private int colors;
+	
+	/**
+	 * construct an empty CodePeg object with a given diameter and border size, which can be one of six colors.
+	 * @param diameter the diameter of the peg
+	 * @param border the border of the peg
+	 */
+	public CodePeg(int diameter, int border)
+	{
+		super(diameter, border);
+		value = NOT_SET;
+		colors = DEFAULT_COLORS;
+	}
+	
+	/**
+	 * construct an empty CodePeg object with a given diameter, border size and number of colors.
+	 * @param diameter the diameter of the peg
+	 * @param border the border of the peg
+	 * @param inColors the number of colors the peg can be, up to MAX_COLORS
+	 */
+	public CodePeg(int diameter, int border, int inColors)
+	{
+		super(diameter, border);
+		if (inColors < 1 || inColors > MAX_COLORS)
+		{
+			throw new IllegalArgumentException("Colors must be between 1 and " + MAX_COLORS + ": " + inColors);
+		}
+		value = NOT_SET;
+		colors = inColors;
+	}
+
+	/**
+	 * Sets the the value and displays the color representation of a given integer corresponding to a color.
+	 * Values one past either end of the colors cycle around.
+	 * @param inValue the color (in integer form) to set this CodePeg as
+	 */
+	public void setColor(int inValue)
+	{	
+		if (inValue == PRE_CYCLE)
+		{
+			inValue = colors;
+		}
+		
+		if (inValue <= NOT_SET || inValue > colors) //includes one past the last color
+	   {
+			setColor(getBackground());
+			value = NOT_SET;
+	   }
+		else
+		{
+			setColor(PALETTE[inValue - 1]);
+			value = inValue;
+		}
+	}
+	
+	/**
+	 * gets the current integer value of the peg
+	 * @return the peg's integer value
+	 */
+	public int getValue()
+	{
+		return value;
+	}
+	
+	/**
+	 * Checks whether or not the value of this peg has been set or not by the user
+	 * @return true if it was set, and false if not.
+	 */
+	public boolean wasSet()
+	{
+		return value != NOT_SET;
+	}
+	
+	/**
+	 * Gets a string describing the current color of this peg
+	 * @return the string with the peg's color
+	 */
+	public String toString()
+	{
+		if (value == NOT_SET)
+		{
+			return "Blank";
+		}
+		
+		return NAMES[value - 1];
+	}
+	
+	/**
+	 * Gets the name of a peg color
+	 * @param value the color, starting from 1
+	 * @return the color's name
+	 */
+	public static String getColorName(int value)
+	{
+		return NAMES[value - 1];
+	}
+	
+	/**
+	 * Gets the color a peg is painted for a value
+	 * @param value the color, starting from 1
+	 * @return the Color
+	 */
+	public static Color getPaletteColor(int value)
+	{
+		return PALETTE[value - 1];
+	}
+
+	/**
+	 * Resets the values of this CodePeg to those of a new CodePeg object
+	 */
+	public void reset()
+	{
+		value = NOT_SET;
+		super.reset();
+	}
+
+}
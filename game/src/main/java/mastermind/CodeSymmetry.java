@@ -0,0 +1,199 @@
+package mastermind;
+
+/**
+ * A relabelling of the colors together with a reordering of the pegs. Scoring doesn't change when both codes of a pair
+ * are relabelled the same way, so a game can be turned into an equivalent one, solved there, and the answer turned back.
+ *
+ * The canonical symmetry of a history of guesses is the one which turns it into the smallest history of all the ones
+ * equivalent to it: for each order of the pegs, the colors are numbered in the order they first come up in the guesses,
+ * and the order of pegs which gives the smallest guesses wins. Any two equivalent histories turn into the same one,
+ * so their remaining codes do too, and a TranspositionCache can share the work between them.
+ * Trying every order of the pegs is quick for the few pegs of a real game, but grows as pegs factorial.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class CodeSymmetry
+{
+	private final int pegs;
+	private final int colors;
+	private final int[] pegOrder; //peg i of the turned code is peg pegOrder[i] of the original
+	private final int[] colorMap; //color c of the original becomes colorMap[c]
+	private final int[] inverseColorMap;
+	private final int[] powers; //colors^i, the place value of peg i in a packed code
+
+	/**
+	 * Constructs a CodeSymmetry
+	 * @param inPegs the number of pegs in a code
+	 * @param inColors the number of colors each peg can be
+	 * @param inPegOrder which peg of the original each peg of the turned code comes from
+	 * @param inColorMap what each color of the original becomes
+	 */
+	private CodeSymmetry(int inPegs, int inColors, int[] inPegOrder, int[] inColorMap)
+	{
+		pegs = inPegs;
+		colors = inColors;
+		pegOrder = inPegOrder;
+		colorMap = inColorMap;
+		inverseColorMap = new int[colors];
+		for (int c = 0; c < colors; c++)
+		{
+			inverseColorMap[colorMap[c]] = c;
+		}
+		powers = new int[pegs];
+		for (int i = 0, power = 1; i < pegs; i++, power *= colors)
+		{
+			powers[i] = power;
+		}
+	}
+
+	/**
+	 * Finds the canonical symmetry of a history
+	 * @param rules the rules of the game
+	 * @param guesses the packed guesses made so far
+	 * @param count the number of guesses made so far
+	 * @return the CodeSymmetry which turns the guesses into the smallest equivalent ones
+	 */
+	public static CodeSymmetry canonical(Rules rules, int[] guesses, int count)
+	{
+		int pegs = rules.getPegs();
+		int colors = rules.getColors();
+		int[][] digits = new int[count][pegs];
+		for (int g = 0; g < count; g++)
+		{
+			int code = guesses[g];
+			for (int i = 0; i < pegs; i++)
+			{
+				digits[g][i] = code % colors;
+				code /= colors;
+			}
+		}
+
+		int[] order = new int[pegs];
+		for (int i = 0; i < pegs; i++)
+		{
+			order[i] = i;
+		}
+		int[] bestOrder = order.clone();
+		int[] bestMap = new int[colors];
+		int[] best = null;
+		int[] map = new int[colors];
+		int[] turned = new int[count * pegs];
+
+		do
+		{
+			//numbers the colors in the order they come up with this order of pegs, then turns the guesses with it
+			for (int c = 0; c < colors; c++)
+			{
+				map[c] = -1;
+			}
+			int next = 0;
+			boolean smaller = best == null;
+			boolean decided = smaller;
+			for (int g = 0, k = 0; g < count; g++)
+			{
+				for (int i = pegs - 1; i >= 0; i--, k++) //the last peg is the most significant digit of a packed code
+				{
+					int color = digits[g][order[i]];
+					if (map[color] < 0)
+					{
+						map[color] = next;
+						next++;
+					}
+					turned[k] = map[color];
+					if (!decided && turned[k] != best[k])
+					{
+						smaller = turned[k] < best[k];
+						decided = true;
+					}
+				}
+				if (decided && !smaller)
+				{
+					break; //this order can't win
+				}
+			}
+
+			if (smaller)
+			{
+				for (int c = 0; c < colors; c++) //colors no guess uses can't be told apart, so any numbering will do
+				{
+					if (map[c] < 0)
+					{
+						map[c] = next;
+						next++;
+					}
+				}
+				best = turned.clone();
+				System.arraycopy(order, 0, bestOrder, 0, pegs);
+				System.arraycopy(map, 0, bestMap, 0, colors);
+			}
+		}
+		while (nextPermutation(order));
+
+		return new CodeSymmetry(pegs, colors, bestOrder, bestMap);
+	}
+
+	/**
+	 * Moves an array on to the next permutation in lexicographic order
+	 * @param array the array
+	 * @return false if it was the last permutation, and true if not
+	 */
+	static boolean nextPermutation(int[] array)
+	{
+		int i = array.length - 2;
+		while (i >= 0 && array[i] >= array[i + 1])
+		{
+			i--;
+		}
+		if (i < 0)
+		{
+			return false;
+		}
+
+		int j = array.length - 1;
+		while (array[j] <= array[i])
+		{
+			j--;
+		}
+		int swap = array[i];
+		array[i] = array[j];
+		array[j] = swap;
+		for (int left = i + 1, right = array.length - 1; left < right; left++, right--)
+		{
+			swap = array[left];
+			array[left] = array[right];
+			array[right] = swap;
+		}
+		return true;
+	}
+
+	/**
+	 * Turns a code with this symmetry
+	 * @param code the packed code
+	 * @return the packed turned code
+	 */
+	public int apply(int code)
+	{
+		int turned = 0;
+		for (int i = pegs - 1; i >= 0; i--)
+		{
+			turned = turned * colors + colorMap[code / powers[pegOrder[i]] % colors];
+		}
+		return turned;
+	}
+
+	/**
+	 * Turns a code back, undoing apply
+	 * @param turned the packed turned code
+	 * @return the packed original code
+	 */
+	public int invert(int turned)
+	{
+		int code = 0;
+		for (int i = 0; i < pegs; i++)
+		{
+			code += inverseColorMap[turned % colors] * powers[pegOrder[i]];
+			turned /= colors;
+		}
+		return code;
+	}
+}
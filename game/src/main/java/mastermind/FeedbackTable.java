@@ -0,0 +1,133 @@
+package mastermind;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A ScoringEngine which looks up every hint in a precomputed table of all guess and answer code pairs.
+ * The table for the classic 4 peg, 6 color game takes about 1.6 MB, and is built once in parallel the first time it is asked for.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class FeedbackTable extends ScoringEngine
+{
+	public static final int MAX_CODES = 4096; //keeps a table at 16 MB at most
+	private static final int ROWS_PER_TASK = 16;
+	private static final Map<String, FeedbackTable> tables = new HashMap<String, FeedbackTable>();
+	private final byte[] table; //unsigned hints
+	private final int codeCount;
+
+	/**
+	 * Builds the table for codes of a given length and number of colors
+	 * @param pegs the number of pegs in a code
+	 * @param colors the number of colors each peg can be
+	 */
+	private FeedbackTable(int pegs, int colors)
+	{
+		super(pegs, colors);
+		codeCount = getCodeCount();
+		table = new byte[codeCount * codeCount];
+
+		ForkJoinPool.commonPool().invoke(new BuildTask(new ScoringEngine(pegs, colors), 0, codeCount));
+	}
+
+	/**
+	 * Gets the table for codes of a given length and number of colors, building it if this is the first time it is needed
+	 * @param pegs the number of pegs in a code
+	 * @param colors the number of colors each peg can be
+	 * @return the shared FeedbackTable
+	 */
+	public static FeedbackTable getInstance(int pegs, int colors)
+	{
+		if (!fits(pegs, colors))
+		{
+			throw new IllegalArgumentException("Too many codes for a feedback table: " + colors + "^" + pegs);
+		}
+
+		String key = pegs + "x" + colors;
+		synchronized (tables)
+		{
+			FeedbackTable table = tables.get(key);
+			if (table == null)
+			{
+				table = new FeedbackTable(pegs, colors);
+				tables.put(key, table);
+			}
+
+			return table;
+		}
+	}
+
+	/**
+	 * Checks whether a table can be built for codes of a given length and number of colors
+	 * @param pegs the number of pegs in a code
+	 * @param colors the number of colors each peg can be
+	 * @return true if there are few enough codes for a table, and false if not
+	 */
+	public static boolean fits(int pegs, int colors)
+	{
+		long count = 1;
+		for (int i = 0; i < pegs && count <= MAX_CODES; i++)
+		{
+			count *= colors;
+		}
+
+		return count <= MAX_CODES;
+	}
+
+	/**
+	 * Looks up the hint for a guess
+	 * @param guess the packed guess code
+	 * @param secret the packed answer code
+	 * @return the packed hint
+	 */
+	public int score(int guess, int secret)
+	{
+		return table[guess * codeCount + secret] & 0xFF; //hints go up to 240, past what a signed byte holds
+	}
+
+	/**
+	 * Fills in the table rows of a range of guesses, splitting the range between threads while it is large
+	 */
+	private class BuildTask extends RecursiveAction
+	{
+		private final ScoringEngine engine;
+		private final int from;
+		private final int to;
+
+		/**
+		 * Constructs a task to fill in the rows for guesses from (inclusive) to "to" (exclusive)
+		 * @param inEngine the engine which calculates the hints
+		 * @param inFrom the first guess
+		 * @param inTo one past the last guess
+		 */
+		public BuildTask(ScoringEngine inEngine, int inFrom, int inTo)
+		{
+			engine = inEngine;
+			from = inFrom;
+			to = inTo;
+		}
+
+		protected void compute()
+		{
+			if (to - from > ROWS_PER_TASK)
+			{
+				int middle = (from + to) >>> 1;
+				invokeAll(new BuildTask(engine, from, middle), new BuildTask(engine, middle, to));
+			}
+			else
+			{
+				for (int guess = from; guess < to; guess++)
+				{
+					int row = guess * codeCount;
+					for (int secret = 0; secret < codeCount; secret++)
+					{
+						table[row + secret] = (byte) engine.score(guess, secret);
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,667 @@
+package mastermind;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.GridLayout;
+import java.awt.Insets;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+import javax.swing.ImageIcon;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.border.EtchedBorder;
+
+/**
+ * This JPanel contains the main elements of the Mastermind game, and allows the user to make a guesses and test them out. 
+ * @author Y. Stitzer
+ * @version 12/20/2012
+ */
+public class GameBoard extends JPanel implements Serializable
+{
+	private final int ATTEMPTS;
+	private final int CODE_LENGTH;
+	private final int COLORS;
+	private final int PEG_WIDTH = 30;
+	private final int PEG_BORDER = 4;
+	private AttemptView[] attempts;
+	private CodePeg[] code;
+	private GameSession session;
+	private SecretSource secrets;
+	private ScoringEngine engine;
+	private Strategy solver;
+	private Rules rules;
+   private GameState state;
+	private GameMetrics metrics;
+	private GameEventBus events; //where the game's events are published for the statistics, log and dialogs
+	private JLabel remaining;
+	private TaskRunner tasks; //suggestions and counting, cancelled when the game is thrown away
+	private boolean canvas;
+	
+	/**
+	 * Constructs a new GameBoard object to start a new classic game of Mastermind
+	 */
+	public GameBoard()
+	{
+		this(Rules.CLASSIC);
+	}
+	
+	/**
+	 * Constructs a new GameBoard object to start a new game of Mastermind with the given rules
+	 * @param inRules the rules of the game
+	 */
+	public GameBoard(Rules inRules)
+	{
+		this(inRules, false);
+	}
+	
+	/**
+	 * Constructs a new GameBoard object to start a new game of Mastermind with the given rules
+	 * @param inRules the rules of the game
+	 * @param useCanvas true to draw all the rows in one BoardCanvas, false for a panel of pegs for each row
+	 */
+	public GameBoard(Rules inRules, boolean useCanvas)
+	{
+		this(inRules, useCanvas, new GameEventBus());
+	}
+	
+	/**
+	 * Constructs a new GameBoard object to start a new game of Mastermind with the given rules
+	 * @param inRules the rules of the game
+	 * @param useCanvas true to draw all the rows in one BoardCanvas, false for a panel of pegs for each row
+	 * @param inEvents where to publish the game's events, starting with this first game
+	 */
+	public GameBoard(Rules inRules, boolean useCanvas, GameEventBus inEvents)
+	{
+		super(new BorderLayout());
+		
+		if (inRules.getColors() > CodePeg.MAX_COLORS)
+		{
+			throw new IllegalArgumentException("The board can only show " + CodePeg.MAX_COLORS + " colors: " + inRules);
+		}
+		
+		rules = inRules;
+		canvas = useCanvas;
+		ATTEMPTS = rules.getAttempts();
+		CODE_LENGTH = rules.getPegs();
+		COLORS = rules.getColors();
+		metrics = GameMetrics.getInstance();
+		events = inEvents;
+		setState(GameState.IN_PROGRESS);
+		engine = rules.createEngine();
+		secrets = new RandomSecrets(rules);
+		tasks = new TaskRunner();
+		
+		setCode();
+		
+      JComponent attemptsPanel = canvas ? createBoardCanvas() : createAttemptsPanel();
+      
+		JPanel buttonPanel = new JPanel();
+		buttonPanel.add(createGuessButton());
+		remaining = new JLabel();
+		buttonPanel.add(remaining);
+		updateRemaining();
+
+		add(attemptsPanel, BorderLayout.CENTER);
+		add(buttonPanel, BorderLayout.SOUTH);
+		
+		attempts[0].setEditable(true); //prepares for first round
+	}
+
+	/**
+	 * Sets the answer code with random values allowed by the rules
+	 */
+	void setCode()
+	{
+		session = new GameSession(rules, engine, secrets.nextSecret());
+		events.publish(GameEvent.started(session));
+		showCode();
+	}
+	
+	/**
+	 * Makes the pegs which show the answer code when the game is over
+	 */
+	private void showCode()
+	{
+		code = new CodePeg[CODE_LENGTH];
+		int secret = session.getSecret();
+
+		for (int i = 0; i < code.length; i++)
+		{
+			code[i] = new CodePeg(PEG_WIDTH, PEG_BORDER, COLORS);
+			code[i].setColor(engine.getValue(secret, i) + 1); //peg colors start at 1
+		}
+		
+//		System.out.println(Arrays.toString(code)); //for testing purposes
+		
+	}
+
+	/**
+	 * Initializes "attempts" and creates the panel containing all of the AttemptRow objects.
+	 * @return the JPanel with the ArremptRows
+	 */
+	private JPanel createAttemptsPanel()
+	{
+		JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 1, 0)); //specialized layout to minimize vertical gap
+
+		attempts = new AttemptView[ATTEMPTS];
+		
+		AttemptRow row = null;
+		for (int i = ATTEMPTS - 1; i >= 0; i--) //add each attempt row, starting from the bottom
+		{
+			row = new AttemptRow(i + 1, CODE_LENGTH, COLORS);
+			attempts[i] = row;
+			panel.add(row);
+		}
+		
+		//the flow layout would put all the rows side by side, so ask for a size which stacks them
+		Dimension rowSize = row.getPreferredSize();
+		panel.setPreferredSize(new Dimension(rowSize.width + 2, rowSize.height * ATTEMPTS));
+		
+		return panel;
+	}
+	
+	/**
+	 * Initializes "attempts" with the rows of one component which draws them all
+	 * @return the BoardCanvas
+	 */
+	private BoardCanvas createBoardCanvas()
+	{
+		BoardCanvas board = new BoardCanvas(ATTEMPTS, CODE_LENGTH, COLORS);
+		
+		attempts = new AttemptView[ATTEMPTS];
+		for (int i = 0; i < ATTEMPTS; i++)
+		{
+			attempts[i] = board.getRow(i);
+		}
+		
+		return board;
+	}
+	
+	/**
+	 * Checks if the rows are drawn by one BoardCanvas
+	 * @return true for a BoardCanvas, false for a panel of pegs for each row
+	 */
+	public boolean usesCanvas()
+	{
+		return canvas;
+	}
+	
+	/**
+	 * Creates the guess button and adds the action listener to it.
+	 * @return the guess button
+	 */
+	public JButton createGuessButton()
+	{
+		JButton button = new JButton("Guess It!");
+		
+		class ButtonListener implements ActionListener
+		{
+			public void actionPerformed(ActionEvent event)
+			{	
+				if (state == GameState.IN_PROGRESS) //only test guess if game hasn't ended yet
+				{
+					AttemptView attempt = getCurrentAttempt();
+					if (attempt.isCompleteGuess()) //make sure all pegs are selected
+					{
+						attempt.setEditable(false);
+						testGuess();
+					}
+					else
+					{
+						showIncompleteError();
+					}
+				}
+				else if (state == GameState.WON)
+				{
+					showWonMessage();
+				}
+				else // state == lost
+				{
+					showLostMessage();
+				}
+			}
+		}
+		
+		button.addActionListener(new ButtonListener());
+		
+		return button;
+	}
+
+	/**
+	 * Tests the user's last guess.
+	 */
+	public void testGuess()
+	{
+		AttemptView attempt = getCurrentAttempt(); //the attempt being worked with
+		int[] values = new int[CODE_LENGTH];
+		
+		for (int i = 0; i < CODE_LENGTH; i++)
+		{
+			values[i] = attempt.getGuessValue(i) - 1; //engine colors start at 0
+		}
+		
+		int guess = engine.encode(values);
+		int number = session.getAttempted();
+		events.publish(GameEvent.guessSubmitted(session, number, guess));
+		long start = System.nanoTime();
+		int hint = session.guess(guess); //attempt was made
+		events.publish(GameEvent.hintComputed(session, number, guess, hint, System.nanoTime() - start));
+		int correctPosition = engine.getCorrectPosition(hint);
+		int incorrectPosition = engine.getIncorrectPosition(hint);
+		
+		attempt.setHint(correctPosition, incorrectPosition);
+		
+		updateRemaining();
+		setNextState();
+	}
+
+	/**
+	 * Fills in the current attempt with the guess the computer would make next.
+	 * The guess is worked out in the background, and is dropped if a guess is made or a new game is started first.
+	 */
+	public void suggestGuess()
+	{
+		if (state == GameState.IN_PROGRESS)
+		{
+			tasks.run(new SuggestTask(false));
+		}
+	}
+	
+	/**
+	 * Lets the computer make the rest of the guesses for this game.
+	 * Each guess is worked out in the background, and starting a new game stops it.
+	 */
+	public void autoPlay()
+	{
+		if (state == GameState.IN_PROGRESS)
+		{
+			tasks.run(new SuggestTask(true));
+		}
+	}
+	
+	/**
+	 * Puts a guess in the current attempt's pegs
+	 * @param guess the packed guess
+	 */
+	private void showGuess(int guess)
+	{
+		AttemptView attempt = getCurrentAttempt();
+		for (int i = 0; i < CODE_LENGTH; i++)
+		{
+			attempt.setGuessValue(i, engine.getValue(guess, i) + 1); //peg colors start at 1
+		}
+	}
+	
+	/**
+	 * Stops the suggestions, counting and auto-play still being worked out for this board, without ending the game
+	 */
+	public void cancelTasks()
+	{
+		tasks.cancelAll();
+	}
+	
+	/**
+	 * Runs a task for the game being played, which is cancelled if the game is thrown away before it finishes
+	 * @param task the task
+	 */
+	void runTask(TaskRunner.Task<?> task)
+	{
+		tasks.run(task);
+	}
+	
+	/**
+	 * Gets the solver, making it the first time it's needed. It looks guesses up in the opening book for the rules
+	 * if one has been built, and works them out with Knuth's rule if not.
+	 * @return the Strategy
+	 */
+	private synchronized Strategy getSolver()
+	{
+		if (solver == null)
+		{
+			solver = OpeningBook.withBook(rules, new KnuthSolver(rules));
+		}
+		return solver;
+	}
+
+	/**
+	 * Determines if game was won, lost, or neither. The end of a game is published, and the subscribers
+	 * update the statistics, add it to the log and show the game over dialog.
+	 */
+	private void setNextState()
+	{
+		if (session.getState() == GameState.WON || session.getState() == GameState.LOST)
+		{
+			setState(session.getState());
+			events.publish(GameEvent.ended(session, state));
+		}
+		else
+		{
+			//let user guess again
+			getCurrentAttempt().setEditable(true);
+		}
+		
+	}
+	
+	/**
+	 * Records the game in progress as abandoned, if an attempt was made. Called before the game is thrown away.
+	 */
+	public void abandon()
+	{
+		tasks.cancelAll();
+		if (attemptWasMade() && session.abandon())
+		{
+			setState(GameState.ABANDONED);
+			events.publish(GameEvent.ended(session, GameState.ABANDONED));
+		}
+	}
+	
+	/**
+	 * Moves the board to a new state, keeping count of the boards in each state
+	 * @param next the new state
+	 */
+	private void setState(GameState next)
+	{
+		metrics.boardState(state, next);
+		state = next;
+	}
+	
+	/**
+	 * Stops counting this board in the GameMetrics and stops its background work. Called when the board is thrown away.
+	 */
+	public void close()
+	{
+		tasks.cancelAll();
+		metrics.boardState(state, null);
+		state = null;
+	}
+	
+	/**
+	 * Displays a message notifying the user of a lost game and revealing the answer code.
+	 * The user is also offered the option to start a new game.
+	 */
+	public void showLostMessage()
+	{
+		setState(GameState.LOST);
+		
+		JPanel message = new JPanel(new GridLayout(0, 1)); //to be displayed in JOptionPane
+		
+		JLabel statement = new JLabel("You didn't guess the code. The correct code was:");
+		statement.setHorizontalAlignment(JLabel.CENTER);
+		message.add(statement);
+		
+		//creates panel containing the answer code
+		JPanel codePanel = new JPanel(new GridBagLayout());
+      GridBagConstraints constraint = new GridBagConstraints();
+		final int SPACING = 5;
+		constraint = new GridBagConstraints();
+		constraint.ipadx = PEG_WIDTH + PEG_BORDER;
+		constraint.ipady = PEG_WIDTH + PEG_BORDER;
+		constraint.insets = new Insets(0, SPACING, 0, SPACING);
+		for (int i = 0; i < code.length; i++)
+		{
+			constraint.gridx = i;
+			codePanel.add(code[i], constraint); //place them in a row
+		}
+		message.add(codePanel);
+		
+		JLabel question = new JLabel("Would you like to play again?");
+		question.setHorizontalAlignment(JLabel.CENTER);
+		message.add(question);
+		
+		int selection = JOptionPane.showOptionDialog(this, message, "Game Over", 
+				JOptionPane.YES_NO_OPTION, JOptionPane.PLAIN_MESSAGE, null, null, null);
+		
+		if (selection == JOptionPane.YES_OPTION)
+		{
+			reset();
+		}
+	}
+	
+	/**
+	 * Displays a congratulatory dialog and offers the user to start a new game 
+	 */
+	public void showWonMessage()
+	{
+		JLabel message = new JLabel("You guessed the code! Would you like to start a new game?");
+		message.setHorizontalAlignment(JLabel.CENTER);
+		
+		int selection = JOptionPane.showOptionDialog(this, message, "Congratulations!", 
+				JOptionPane.YES_NO_OPTION, JOptionPane.PLAIN_MESSAGE, null, null, null);
+		
+		if (selection == JOptionPane.YES_OPTION)
+		{
+			reset();
+		}
+	}
+
+	/**
+	 * Displays a dialog window notifying the user of an incomplete guess
+	 */
+	private void showIncompleteError()
+	{
+		JOptionPane.showMessageDialog(this, "Please choose a color for each peg.",
+	    "Incomplete Guess", JOptionPane.ERROR_MESSAGE);
+	}
+	
+	/**
+	 * Gets the rules of the game being played
+	 * @return the Rules
+	 */
+	public Rules getRules()
+	{
+		return rules;
+	}
+	
+	/**
+	 * Checks if the user made an attempt yet
+	 * @return true if an attempt was made, false if not
+	 */
+	public boolean attemptWasMade()
+	{
+		return session.getAttempted() > 0;
+	}
+	
+	/**
+	 * Gets the answer code in the ScoringEngine's packed form
+	 * @return the packed answer code
+	 */
+	int getSecret()
+	{
+		return session.getSecret();
+	}
+	
+	/**
+	 * Gets the row of the guess currently being made
+	 * @return the current AttemptView
+	 */
+	AttemptView getCurrentAttempt()
+	{
+		return attempts[session.getAttempted()];
+	}
+	
+	/**
+	 * Gets the game being played, so it can be saved
+	 * @return the GameSession
+	 */
+	public GameSession getSession()
+	{
+		return session;
+	}
+	
+	/**
+	 * Checks if a game can be played on this board
+	 * @param saved the game
+	 * @return true if the game has the same number of pegs, colors and attempts as the board
+	 */
+	public boolean fits(GameSession saved)
+	{
+		Rules other = saved.getRules();
+		return other.getPegs() == CODE_LENGTH && other.getColors() == COLORS && other.getAttempts() == ATTEMPTS;
+	}
+	
+	/**
+	 * Carries on a saved game on this board, showing the guesses and hints made so far
+	 * @param saved the game, which must fit the board
+	 */
+	public void restore(GameSession saved)
+	{
+		if (!fits(saved))
+		{
+			throw new IllegalArgumentException("The game doesn't fit this board: " + saved.getRules());
+		}
+		
+		tasks.cancelAll();
+		for (AttemptView attempt : attempts)
+		{
+			attempt.reset();
+		}
+		
+		session = saved;
+		showCode();
+		for (int i = 0; i < session.getAttempted(); i++)
+		{
+			int guess = session.getGuess(i);
+			for (int j = 0; j < CODE_LENGTH; j++)
+			{
+				attempts[i].setGuessValue(j, engine.getValue(guess, j) + 1); //peg colors start at 1
+			}
+			attempts[i].setHint(engine.getCorrectPosition(session.getHint(i)), engine.getIncorrectPosition(session.getHint(i)));
+		}
+		
+		setState(session.getState());
+		if (state == GameState.IN_PROGRESS)
+		{
+			getCurrentAttempt().setEditable(true);
+		}
+		updateRemaining();
+	}
+	
+	/**
+	 * Shows how many answer codes are still possible after the hints so far, counting them in the background
+	 */
+	private void updateRemaining()
+	{
+		if (attemptWasMade())
+		{
+			tasks.run(new CountTask());
+		}
+		else
+		{
+			showRemaining(rules.getCodeCount()); //nothing to count yet
+		}
+	}
+	
+	/**
+	 * Shows a number of possible answer codes
+	 * @param count the number of codes
+	 */
+	private void showRemaining(int count)
+	{
+		remaining.setText(count == 1 ? "1 possible code" : count + " possible codes");
+	}
+	
+	/**
+	 * Resets the GameBoard to new game position
+	 */
+	public void reset()
+	{	
+		tasks.cancelAll();
+		for (AttemptView attempt : attempts)
+		{
+			attempt.reset();
+		}
+		
+		setState(GameState.IN_PROGRESS);
+		
+		setCode();
+		updateRemaining();
+		
+		attempts[0].setEditable(true);
+	}
+	
+	/**
+	 * Works out the solver's next guess in the background, then shows it or, when auto-playing, makes it
+	 */
+	private class SuggestTask extends TaskRunner.Task<Integer>
+	{
+		private final GameSession game;
+		private final int attempt;
+		private final boolean play;
+		
+		/**
+		 * Constructs a SuggestTask for the guess being made now
+		 * @param inPlay true to make the guess and go on to the next one until the game is over
+		 */
+		public SuggestTask(boolean inPlay)
+		{
+			game = session;
+			attempt = session.getAttempted();
+			play = inPlay;
+		}
+		
+		protected Integer compute()
+		{
+			return game.suggest(getSolver());
+		}
+		
+		protected void succeeded(Integer guess)
+		{
+			if (session != game || session.getAttempted() != attempt || state != GameState.IN_PROGRESS)
+			{
+				return; //the player moved on while it was being worked out
+			}
+			
+			showGuess(guess);
+			if (play)
+			{
+				getCurrentAttempt().setEditable(false);
+				testGuess();
+				if (session == game && state == GameState.IN_PROGRESS) //a new game wasn't started from the game over dialog
+				{
+					tasks.run(new SuggestTask(true));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Counts the possible answer codes in the background, then shows the count if the game hasn't moved on
+	 */
+	private class CountTask extends TaskRunner.Task<Integer>
+	{
+		private final GameSession game;
+		private final int attempt;
+		
+		/**
+		 * Constructs a CountTask for the guesses made so far
+		 */
+		public CountTask()
+		{
+			game = session;
+			attempt = session.getAttempted();
+		}
+		
+		protected Integer compute()
+		{
+			return game.countCandidates();
+		}
+		
+		protected void succeeded(Integer count)
+		{
+			if (session == game && session.getAttempted() == attempt)
+			{
+				showRemaining(count);
+			}
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package mastermind;
+
+/**
+ * Something which happened in a game on a GameBoard, published on a GameEventBus.
+ * Events can't be changed, so any number of subscribers can read the same one on their own threads.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class GameEvent
+{
+	/**
+	 * The kinds of events
+	 */
+	public enum Type
+	{
+		GAME_STARTED, GUESS_SUBMITTED, HINT_COMPUTED, GAME_WON, GAME_LOST, GAME_ABANDONED
+	}
+
+	private final Type type;
+	private final GameSession session;
+	private final long time;
+	private final int attempt;
+	private final int guess;
+	private final int hint;
+	private final long nanos;
+	private final GameRecord record;
+
+	/**
+	 * Constructs a GameEvent
+	 * @param inType the kind of event
+	 * @param inSession the game it happened in
+	 * @param inAttempt the guess it's about, counting from 0, or -1
+	 * @param inGuess the packed guess, or -1
+	 * @param inHint the packed hint, or -1
+	 * @param inNanos how long the guess took to score, or 0
+	 * @param inRecord the finished game, or null
+	 */
+	private GameEvent(Type inType, GameSession inSession, int inAttempt, int inGuess, int inHint, long inNanos, GameRecord inRecord)
+	{
+		type = inType;
+		session = inSession;
+		time = System.currentTimeMillis();
+		attempt = inAttempt;
+		guess = inGuess;
+		hint = inHint;
+		nanos = inNanos;
+		record = inRecord;
+	}
+
+	/**
+	 * Makes the event for a new answer code being set
+	 * @param session the new game
+	 * @return the event
+	 */
+	public static GameEvent started(GameSession session)
+	{
+		return new GameEvent(Type.GAME_STARTED, session, -1, -1, -1, 0, null);
+	}
+
+	/**
+	 * Makes the event for a guess being made, before it is scored
+	 * @param session the game
+	 * @param attempt the number of the guess, counting from 0
+	 * @param guess the packed guess
+	 * @return the event
+	 */
+	public static GameEvent guessSubmitted(GameSession session, int attempt, int guess)
+	{
+		return new GameEvent(Type.GUESS_SUBMITTED, session, attempt, guess, -1, 0, null);
+	}
+
+	/**
+	 * Makes the event for a guess having been scored
+	 * @param session the game
+	 * @param attempt the number of the guess, counting from 0
+	 * @param guess the packed guess
+	 * @param hint the packed hint it got
+	 * @param nanos how long it took to score
+	 * @return the event
+	 */
+	public static GameEvent hintComputed(GameSession session, int attempt, int guess, int hint, long nanos)
+	{
+		return new GameEvent(Type.HINT_COMPUTED, session, attempt, guess, hint, nanos, null);
+	}
+
+	/**
+	 * Makes the event for a game ending
+	 * @param session the game, which is over
+	 * @param outcome how it ended: WON, LOST or ABANDONED
+	 * @return the event
+	 */
+	public static GameEvent ended(GameSession session, GameState outcome)
+	{
+		Type type;
+		if (outcome == GameState.WON)
+		{
+			type = Type.GAME_WON;
+		}
+		else if (outcome == GameState.LOST)
+		{
+			type = Type.GAME_LOST;
+		}
+		else if (outcome == GameState.ABANDONED)
+		{
+			type = Type.GAME_ABANDONED;
+		}
+		else
+		{
+			throw new IllegalArgumentException("The game isn't over: " + outcome);
+		}
+
+		return new GameEvent(type, session, session.getAttempted() - 1, -1, -1, 0, session.toRecord());
+	}
+
+	/**
+	 * Gets the kind of event
+	 * @return the type
+	 */
+	public Type getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Gets the game the event happened in. Only compare it with other sessions, since it may have moved on.
+	 * @return the GameSession
+	 */
+	public GameSession getSession()
+	{
+		return session;
+	}
+
+	/**
+	 * Gets when the event happened
+	 * @return the time in milliseconds since 1970
+	 */
+	public long getTime()
+	{
+		return time;
+	}
+
+	/**
+	 * Gets the number of the guess the event is about, counting from 0. For the end of a game, it's the last guess.
+	 * @return the number, or -1 if there wasn't a guess
+	 */
+	public int getAttempt()
+	{
+		return attempt;
+	}
+
+	/**
+	 * Gets the guess, for GUESS_SUBMITTED and HINT_COMPUTED
+	 * @return the packed guess, or -1
+	 */
+	public int getGuess()
+	{
+		return guess;
+	}
+
+	/**
+	 * Gets the hint, for HINT_COMPUTED
+	 * @return the packed hint, or -1
+	 */
+	public int getHint()
+	{
+		return hint;
+	}
+
+	/**
+	 * Gets how long the guess took to score, for HINT_COMPUTED
+	 * @return the time in nanoseconds, or 0
+	 */
+	public long getNanos()
+	{
+		return nanos;
+	}
+
+	/**
+	 * Gets the finished game, for GAME_WON, GAME_LOST and GAME_ABANDONED
+	 * @return the GameRecord, or null
+	 */
+	public GameRecord getRecord()
+	{
+		return record;
+	}
+
+	/**
+	 * Gets a string describing the event
+	 * @return the description
+	 */
+	public String toString()
+	{
+		return type + " attempt=" + attempt + " guess=" + guess + " hint=" + hint;
+	}
+}
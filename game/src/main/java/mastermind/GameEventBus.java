@@ -0,0 +1,221 @@
+package mastermind;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands GameEvents to any number of subscribers, each on its own thread, so that publishing an event only costs putting
+ * it in a ring buffer. The statistics, the game log, the metrics and the game over dialogs all subscribe, and none of
+ * them can slow down the guess which published the event.
+ *
+ * Every event gets the next sequence number, and goes in the slot of the ring that number picks. Each subscriber
+ * follows the ring with its own cursor, and sleeps when it catches up until the next event is published. Nothing is
+ * locked: a publisher only waits if the slowest subscriber is a whole ring behind, and with no subscribers events
+ * aren't kept at all.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class GameEventBus
+{
+	private static final int DEFAULT_CAPACITY = 1024;
+	private static final long FULL_WAIT_NANOS = 100000; //how long a publisher sleeps while the ring is full
+	private final AtomicReferenceArray<GameEvent> events;
+	private final AtomicLongArray published; //the sequence number of the event in each slot, once it's there
+	private final int mask;
+	private final AtomicLong claimed; //the next sequence number to hand out
+	private final List<Subscription> subscriptions;
+
+	/**
+	 * Constructs a GameEventBus with room for 1024 events which haven't been handled yet
+	 */
+	public GameEventBus()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs a GameEventBus
+	 * @param capacity how many events subscribers can fall behind by before publishers wait, a power of two
+	 */
+	public GameEventBus(int capacity)
+	{
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1)
+		{
+			throw new IllegalArgumentException("The capacity must be a power of two: " + capacity);
+		}
+
+		events = new AtomicReferenceArray<GameEvent>(capacity);
+		published = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++)
+		{
+			published.set(i, -1); //nothing is there yet, not even event 0
+		}
+		mask = capacity - 1;
+		claimed = new AtomicLong();
+		subscriptions = new CopyOnWriteArrayList<Subscription>();
+	}
+
+	/**
+	 * Starts handing events to a listener, from the next one published on
+	 * @param listener the listener
+	 * @param name what the listener does, to name its thread
+	 * @return the Subscription, to close when the listener isn't wanted any more
+	 */
+	public Subscription subscribe(GameEventListener listener, String name)
+	{
+		Subscription subscription = new Subscription(listener, name);
+		subscriptions.add(subscription);
+		subscription.thread.start();
+		return subscription;
+	}
+
+	/**
+	 * Publishes an event to every subscriber. Only waits if a subscriber has fallen a whole ring of events behind.
+	 * @param event the event
+	 */
+	public void publish(GameEvent event)
+	{
+		if (subscriptions.isEmpty())
+		{
+			return; //no one would ever read it
+		}
+
+		long sequence = claimed.getAndIncrement();
+		while (sequence - events.length() >= slowestCursor())
+		{
+			LockSupport.parkNanos(this, FULL_WAIT_NANOS); //the ring is full
+		}
+
+		int slot = (int) sequence & mask;
+		events.set(slot, event);
+		published.set(slot, sequence);
+
+		for (Subscription subscription : subscriptions)
+		{
+			subscription.wake();
+		}
+	}
+
+	/**
+	 * Gets the cursor of the subscriber furthest behind
+	 * @return the sequence number of the first event it hasn't handled, or Long.MAX_VALUE if there are no subscribers
+	 */
+	private long slowestCursor()
+	{
+		long slowest = Long.MAX_VALUE;
+		for (Subscription subscription : subscriptions)
+		{
+			slowest = Math.min(slowest, subscription.cursor.get());
+		}
+		return slowest;
+	}
+
+	/**
+	 * Waits for every subscriber to handle the events published so far
+	 * @param timeout the longest to wait
+	 * @param unit the unit of the timeout
+	 * @return true if they were all handled, false if time ran out first
+	 */
+	public boolean drain(long timeout, TimeUnit unit)
+	{
+		long end = System.nanoTime() + unit.toNanos(timeout);
+		long last = claimed.get();
+		while (slowestCursor() < last && slowestCursor() != Long.MAX_VALUE)
+		{
+			if (System.nanoTime() - end >= 0)
+			{
+				return false;
+			}
+			LockSupport.parkNanos(this, FULL_WAIT_NANOS);
+		}
+		return true;
+	}
+
+	/**
+	 * Handles the events on the ring for one listener, on a thread of its own
+	 */
+	public class Subscription implements Runnable
+	{
+		private final GameEventListener listener;
+		private final AtomicLong cursor; //the sequence number of the next event to handle
+		private final Thread thread;
+		private volatile boolean sleeping;
+		private volatile boolean closed;
+
+		/**
+		 * Constructs a Subscription which starts with the next event published
+		 * @param inListener the listener
+		 * @param name what the listener does, to name its thread
+		 */
+		private Subscription(GameEventListener inListener, String name)
+		{
+			listener = inListener;
+			cursor = new AtomicLong(claimed.get());
+			thread = new Thread(this, "GameEventBus " + name);
+			thread.setDaemon(true);
+		}
+
+		public void run()
+		{
+			try
+			{
+				while (!closed)
+				{
+					long next = cursor.get();
+					int slot = (int) next & mask;
+					if (published.get(slot) == next)
+					{
+						try
+						{
+							listener.gameEvent(events.get(slot));
+						}
+						catch (Throwable ex)
+						{
+							ex.printStackTrace(); //one bad event shouldn't stop the rest, or leave publishers waiting
+						}
+						cursor.set(next + 1); //lets publishers reuse the slot
+					}
+					else
+					{
+						sleeping = true;
+						if (published.get(slot) != next && !closed) //checked again, since publish may have missed sleeping
+						{
+							LockSupport.park(this);
+						}
+						sleeping = false;
+					}
+				}
+			}
+			finally
+			{
+				subscriptions.remove(this); //a thread which died can't hold the ring up
+			}
+		}
+
+		/**
+		 * Wakes the thread if it's waiting for an event
+		 */
+		private void wake()
+		{
+			if (sleeping)
+			{
+				LockSupport.unpark(thread);
+			}
+		}
+
+		/**
+		 * Stops handing events to the listener, and lets publishers stop waiting for it
+		 */
+		public void close()
+		{
+			closed = true;
+			subscriptions.remove(this);
+			LockSupport.unpark(thread);
+		}
+	}
+}
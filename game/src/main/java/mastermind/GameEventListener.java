@@ -0,0 +1,15 @@
+package mastermind;
+
+/**
+ * Something which is told about the events published on a GameEventBus
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public interface GameEventListener
+{
+	/**
+	 * Handles an event. Called on the subscriber's own thread, one event at a time, in the order they were published.
+	 * @param event the event
+	 */
+	void gameEvent(GameEvent event);
+}
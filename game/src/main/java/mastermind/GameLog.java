@@ -0,0 +1,802 @@
+package mastermind;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only binary log of finished games, with a small index file next to it (the same name plus ".idx").
+ *
+ * Each record is a few bytes plus about four bytes per guess: the end time as a variable length difference from the
+ * record before, the duration, the peg and color counts, the outcome and guess count, the answer code, the number of
+ * attempts allowed and whether colors could repeat, and each guess with its hint and, if they were timed, the
+ * milliseconds since the guess before. Logs from version 1, which didn't have the attempts or guess times, can still
+ * be read and added to.
+ *
+ * Records are grouped into blocks of BLOCK_RECORDS, and the index holds each block's offset, time range and which
+ * outcomes it contains, so queries by time or outcome only read the blocks which can match.
+ *
+ * The last block isn't in the index until it is full. When a log is opened, that block is read back from the log,
+ * and anything after the last complete record (from a crash) is cut off.
+ *
+ * Only one GameLog can write to a log at a time, and it holds a lock on the log until it is closed. A log can also be
+ * opened read only while it is being written, for queries and replays: that never changes either file, and only
+ * sees the games which were complete in the log when it was opened.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class GameLog implements Closeable
+{
+	public static final String DEFAULT_FILENAME = "resources/GameHistory.log";
+	public static final int BLOCK_RECORDS = 1024;
+	public static final int MAX_GUESSES = 63; //the guess count shares a byte with the outcome
+	private static final int LOG_MAGIC = 0x4D4D4C47; //"MMLG"
+	private static final int INDEX_MAGIC = 0x4D4D4958; //"MMIX"
+	private static final int VERSION = 2;
+	private static final int HEADER_SIZE = 8;
+	private static final int INDEX_ENTRY_SIZE = 48;
+	private static final int BUFFER_SIZE = 1 << 16;
+	private final File file;
+	private final boolean readOnly;
+	private final FileChannel log;
+	private final FileChannel index;
+	private final ByteBuffer buffer; //records which haven't been written to the log yet
+	private final List<Block> blocks; //the blocks in the index
+	private int version; //of the records in the log
+	private Block current; //the block being added to
+	private long written; //the length of the log, not counting the buffer
+	private long records;
+
+	/**
+	 * A visitor for the records found by a query
+	 */
+	public interface Visitor
+	{
+		/**
+		 * Handles one record
+		 * @param record the record
+		 * @return true to keep going, or false to stop the query
+		 */
+		boolean visit(GameRecord record);
+	}
+
+	/**
+	 * Opens a game log to add games to, creating it if it doesn't exist
+	 * @param inFile the log file
+	 * @throws IOException if the files can't be opened, aren't game logs, or another GameLog is writing to them
+	 */
+	public GameLog(File inFile) throws IOException
+	{
+		this(inFile, false);
+	}
+
+	/**
+	 * Opens a game log
+	 * @param inFile the log file
+	 * @param inReadOnly true to only query the log, which must exist, without changing it or waiting for its writer
+	 * @throws IOException if the files can't be opened, aren't game logs, or, unless read only, another GameLog is
+	 *         writing to them
+	 */
+	public GameLog(File inFile, boolean inReadOnly) throws IOException
+	{
+		file = inFile;
+		readOnly = inReadOnly;
+		if (readOnly)
+		{
+			log = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		}
+		else
+		{
+			log = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+			lockForWriting();
+		}
+		try
+		{
+			File indexFile = new File(file.getPath() + ".idx");
+			index = readOnly ? FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)
+					: FileChannel.open(indexFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+		}
+		catch (IOException ex)
+		{
+			log.close();
+			throw ex;
+		}
+		buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		blocks = new ArrayList<Block>();
+
+		try
+		{
+			version = checkHeader(log, LOG_MAGIC);
+			checkHeader(index, INDEX_MAGIC); //the index is the same in every version
+			readIndex();
+			recoverLastBlock();
+		}
+		catch (IOException ex)
+		{
+			log.close();
+			index.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Takes the lock which only one writer of the log can hold, which is let go when the log is closed
+	 * @throws IOException if another writer has it
+	 */
+	private void lockForWriting() throws IOException
+	{
+		FileLock lock;
+		try
+		{
+			lock = log.tryLock();
+		}
+		catch (OverlappingFileLockException ex)
+		{
+			lock = null; //held by another GameLog in this program
+		}
+		catch (IOException ex)
+		{
+			log.close();
+			throw ex;
+		}
+
+		if (lock == null)
+		{
+			log.close();
+			throw new IOException(file + " is already being written by another program or window.");
+		}
+	}
+
+	/**
+	 * Adds a finished game to the end of the log, without the times of its guesses
+	 * @param rules the rules of the game
+	 * @param secret the packed answer code
+	 * @param guesses the packed guesses
+	 * @param hints the packed hint for each guess
+	 * @param count the number of guesses
+	 * @param outcome how the game ended
+	 * @param endTime when the game ended, in milliseconds since 1970
+	 * @param duration how long the game took, in milliseconds
+	 * @throws IOException
+	 */
+	public synchronized void append(Rules rules, int secret, int[] guesses, int[] hints, int count, GameState outcome,
+			long endTime, long duration) throws IOException
+	{
+		write(rules.getPegs(), rules.getColors(), rules.getAttempts(), rules.allowsRepeats(), secret, guesses, hints, null,
+				count, outcome, endTime, duration);
+	}
+
+	/**
+	 * Adds a finished game to the end of the log
+	 * @param record the game
+	 * @throws IOException
+	 */
+	public synchronized void append(GameRecord record) throws IOException
+	{
+		int count = record.getGuessCount();
+		int[] guesses = new int[count];
+		int[] hints = new int[count];
+		long[] times = record.hasGuessTimes() ? new long[count] : null;
+		for (int i = 0; i < count; i++)
+		{
+			guesses[i] = record.getGuess(i);
+			hints[i] = record.getHint(i);
+			if (times != null)
+			{
+				times[i] = record.getGuessTime(i);
+			}
+		}
+
+		write(record.getPegs(), record.getColors(), record.getAttempts(), record.allowsRepeats(), record.getSecret(),
+				guesses, hints, times, count, record.getOutcome(), record.getEndTime(), record.getDuration());
+	}
+
+	/**
+	 * Adds a finished game to the end of the log, in the log's version
+	 * @param pegs the number of pegs in a code
+	 * @param colors the number of colors each peg can be
+	 * @param attempts the number of guesses allowed, or 0 if it isn't known
+	 * @param repeats true if colors could be repeated in a code
+	 * @param secret the packed answer code
+	 * @param guesses the packed guesses
+	 * @param hints the packed hint for each guess
+	 * @param times the milliseconds from the start of the game to each guess, or null if they aren't known
+	 * @param count the number of guesses
+	 * @param outcome how the game ended
+	 * @param endTime when the game ended, in milliseconds since 1970
+	 * @param duration how long the game took, in milliseconds
+	 * @throws IOException
+	 */
+	private void write(int pegs, int colors, int attempts, boolean repeats, int secret, int[] guesses, int[] hints,
+			long[] times, int count, GameState outcome, long endTime, long duration) throws IOException
+	{
+		if (readOnly)
+		{
+			throw new IllegalStateException(file + " was opened read only.");
+		}
+		if (count > MAX_GUESSES)
+		{
+			throw new IllegalArgumentException("A logged game can have at most " + MAX_GUESSES + " guesses: " + count);
+		}
+
+		if (current.count == BLOCK_RECORDS)
+		{
+			finishBlock();
+		}
+
+		int longest = 10 + 10 + 2 + 5 + 5 + count * 16;
+		if (buffer.remaining() < longest)
+		{
+			flushBuffer();
+		}
+
+		long previous = current.count == 0 ? 0 : current.lastTime; //each block starts with a full time
+		putVarLong(buffer, zigzag(endTime - previous));
+		putVarLong(buffer, Math.max(duration, 0));
+		buffer.put((byte) (pegs << 4 | (colors - 1)));
+		buffer.put((byte) (outcome.ordinal() << 6 | count));
+		putVarLong(buffer, secret);
+		if (version >= 2)
+		{
+			putVarLong(buffer, (long) attempts << 2 | (times != null ? 2 : 0) | (repeats ? 1 : 0));
+		}
+		long last = 0;
+		for (int i = 0; i < count; i++)
+		{
+			putVarLong(buffer, guesses[i]);
+			buffer.put((byte) hints[i]);
+			if (version >= 2)
+			{
+				if (times != null)
+				{
+					long time = Math.max(times[i], last); //the clock can step back
+					putVarLong(buffer, time - last);
+					last = time;
+				}
+			}
+		}
+
+		current.add(endTime, outcome);
+		records++;
+	}
+
+	/**
+	 * Visits every game which ended in a time range, optionally only those with a given outcome, in the order they were added
+	 * @param from the earliest end time, in milliseconds since 1970
+	 * @param to the latest end time
+	 * @param outcome the outcome to look for, or null for any
+	 * @param visitor what to do with each game
+	 * @throws IOException
+	 */
+	public synchronized void scan(long from, long to, GameState outcome, Visitor visitor) throws IOException
+	{
+		flushBuffer();
+
+		List<Block> all = new ArrayList<Block>(blocks);
+		all.add(current);
+		for (int i = 0; i < all.size(); i++)
+		{
+			Block block = all.get(i);
+			if (block.count == 0 || block.maxTime < from || block.minTime > to
+					|| (outcome != null && (block.outcomes & (1 << outcome.ordinal())) == 0))
+			{
+				continue; //nothing in this block can match
+			}
+
+			long end = i + 1 < all.size() ? all.get(i + 1).offset : written;
+			ByteBuffer data = ByteBuffer.allocate((int) (end - block.offset));
+			readFully(log, data, block.offset);
+			data.flip();
+
+			long time = 0;
+			for (int j = 0; j < block.count; j++)
+			{
+				GameRecord record = readRecord(data, time, version);
+				time = record.getEndTime();
+				if (time >= from && time <= to && (outcome == null || record.getOutcome() == outcome))
+				{
+					if (!visitor.visit(record))
+					{
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the games which ended in a time range, optionally only those with a given outcome
+	 * @param from the earliest end time, in milliseconds since 1970
+	 * @param to the latest end time
+	 * @param outcome the outcome to look for, or null for any
+	 * @param limit the most games to return
+	 * @return the games, in the order they were added
+	 * @throws IOException
+	 */
+	public List<GameRecord> find(long from, long to, GameState outcome, final int limit) throws IOException
+	{
+		final List<GameRecord> found = new ArrayList<GameRecord>();
+
+		class Collector implements Visitor
+		{
+			public boolean visit(GameRecord record)
+			{
+				found.add(record);
+				return found.size() < limit;
+			}
+		}
+
+		if (limit > 0)
+		{
+			scan(from, to, outcome, new Collector());
+		}
+
+		return found;
+	}
+
+	/**
+	 * Gets the number of games in the log
+	 * @return the number of records
+	 */
+	public synchronized long getRecordCount()
+	{
+		return records;
+	}
+
+	/**
+	 * Writes any buffered games to the log file
+	 * @throws IOException
+	 */
+	public synchronized void flush() throws IOException
+	{
+		flushBuffer();
+	}
+
+	/**
+	 * Writes any buffered games and closes the files
+	 * @throws IOException
+	 */
+	public synchronized void close() throws IOException
+	{
+		try
+		{
+			flushBuffer();
+		}
+		finally
+		{
+			log.close();
+			index.close();
+		}
+	}
+
+	/**
+	 * Writes the header of a new file, or checks the header of an existing one
+	 * @param channel the file
+	 * @param magic the number the file should start with
+	 * @return the file's version
+	 * @throws IOException if the header is wrong
+	 */
+	private int checkHeader(FileChannel channel, int magic) throws IOException
+	{
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		if (channel.size() == 0 && !readOnly)
+		{
+			header.putInt(magic).putInt(VERSION).flip();
+			writeFully(channel, header, 0);
+			return VERSION;
+		}
+
+		if (channel.size() < HEADER_SIZE)
+		{
+			throw new InvalidFileException(file + " isn't a game log.");
+		}
+		readFully(channel, header, 0);
+		header.flip();
+		if (header.getInt() != magic)
+		{
+			throw new InvalidFileException(file + " isn't a game log.");
+		}
+		int fileVersion = header.getInt();
+		if (fileVersion < 1 || fileVersion > VERSION)
+		{
+			throw new InvalidFileException(file + " is version " + fileVersion + " of the game log, which isn't supported.");
+		}
+		return fileVersion;
+	}
+
+	/**
+	 * Reads the blocks from the index, ignoring any entry which points past the end of the log
+	 * @throws IOException
+	 */
+	private void readIndex() throws IOException
+	{
+		int entries = (int) ((index.size() - HEADER_SIZE) / INDEX_ENTRY_SIZE);
+		ByteBuffer data = ByteBuffer.allocate(entries * INDEX_ENTRY_SIZE);
+		readFully(index, data, HEADER_SIZE);
+		data.flip();
+
+		long logSize = log.size();
+		for (int i = 0; i < entries; i++)
+		{
+			Block block = Block.read(data);
+			if (block.offset >= logSize || block.count != BLOCK_RECORDS)
+			{
+				break;
+			}
+			blocks.add(block);
+		}
+	}
+
+	/**
+	 * Reads back the records after the last indexed block, and cuts off anything after the last complete record.
+	 * A read only log leaves the files as they are, and just stops at the last complete record.
+	 * @throws IOException
+	 */
+	private void recoverLastBlock() throws IOException
+	{
+		Block last = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+		long start = last == null ? HEADER_SIZE : last.offset;
+		records = last == null ? 0 : last.firstRecord;
+		if (last != null)
+		{
+			blocks.remove(blocks.size() - 1); //read back below, in case records after it were lost
+		}
+		if (!readOnly)
+		{
+			index.truncate(HEADER_SIZE + (long) blocks.size() * INDEX_ENTRY_SIZE);
+		}
+
+		ByteBuffer data = ByteBuffer.allocate((int) (log.size() - start));
+		readFully(log, data, start);
+		data.flip();
+
+		written = start;
+		current = new Block(start, records);
+		long time = 0;
+		while (data.hasRemaining())
+		{
+			if (current.count == BLOCK_RECORDS)
+			{
+				finishBlock();
+				time = 0;
+			}
+
+			GameRecord record;
+			try
+			{
+				record = readRecord(data, time, version);
+			}
+			catch (BufferUnderflowException ex)
+			{
+				break; //the last record was cut short
+			}
+			catch (IllegalArgumentException ex)
+			{
+				break;
+			}
+
+			time = record.getEndTime();
+			current.add(time, record.getOutcome());
+			records++;
+			written = start + data.position();
+		}
+
+		if (!readOnly)
+		{
+			log.truncate(written);
+		}
+	}
+
+	/**
+	 * Adds the current block to the index, or only to the blocks in memory if the log is read only, and starts a new one
+	 * @throws IOException
+	 */
+	private void finishBlock() throws IOException
+	{
+		if (!readOnly)
+		{
+			flushBuffer(); //the index must never point past the end of the log
+
+			ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+			current.write(entry);
+			entry.flip();
+			writeFully(index, entry, HEADER_SIZE + (long) blocks.size() * INDEX_ENTRY_SIZE);
+		}
+		blocks.add(current);
+
+		current = new Block(written + buffer.position(), records);
+	}
+
+	/**
+	 * Writes the buffered records to the end of the log
+	 * @throws IOException
+	 */
+	private void flushBuffer() throws IOException
+	{
+		if (buffer.position() == 0)
+		{
+			return; //nothing to write, which is always so for a read only log
+		}
+
+		buffer.flip();
+		int length = buffer.remaining();
+		writeFully(log, buffer, written);
+		written += length;
+		buffer.clear();
+	}
+
+	/**
+	 * Reads one record
+	 * @param data the bytes of the log, positioned at the record
+	 * @param previousTime the end time of the record before in the same block, or 0 for the first one
+	 * @param version the version of the log
+	 * @return the record
+	 */
+	private static GameRecord readRecord(ByteBuffer data, long previousTime, int version)
+	{
+		long endTime = previousTime + unzigzag(getVarLong(data));
+		long duration = getVarLong(data);
+		int size = data.get() & 0xFF;
+		int pegs = size >>> 4;
+		int colors = (size & 0xF) + 1;
+		int flags = data.get() & 0xFF;
+		GameState[] states = GameState.values();
+		if (flags >>> 6 >= states.length || pegs == 0)
+		{
+			throw new IllegalArgumentException("Bad record");
+		}
+		GameState outcome = states[flags >>> 6];
+		int count = flags & MAX_GUESSES;
+		int secret = (int) getVarLong(data);
+		int attempts = 0;
+		boolean repeats = true;
+		boolean timed = false;
+		if (version >= 2)
+		{
+			long rules = getVarLong(data);
+			attempts = (int) (rules >>> 2);
+			timed = (rules & 2) != 0;
+			repeats = (rules & 1) != 0;
+		}
+
+		int[] guesses = new int[count];
+		int[] hints = new int[count];
+		long[] times = timed ? new long[count] : null;
+		long time = 0;
+		for (int i = 0; i < count; i++)
+		{
+			guesses[i] = (int) getVarLong(data);
+			hints[i] = data.get() & 0xFF;
+			if (times != null)
+			{
+				time += getVarLong(data);
+				times[i] = time;
+			}
+		}
+
+		return new GameRecord(pegs, colors, attempts, repeats, secret, guesses, hints, times, count, outcome, endTime, duration);
+	}
+
+	/**
+	 * Writes a number in as few bytes as it needs, seven bits at a time
+	 * @param data where to write
+	 * @param value the number, which must not be negative
+	 */
+	static void putVarLong(ByteBuffer data, long value)
+	{
+		while ((value & ~0x7FL) != 0)
+		{
+			data.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		data.put((byte) value);
+	}
+
+	/**
+	 * Reads a number written by putVarLong
+	 * @param data where to read from
+	 * @return the number
+	 */
+	static long getVarLong(ByteBuffer data)
+	{
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do
+		{
+			if (shift > 63)
+			{
+				throw new IllegalArgumentException("Bad number");
+			}
+			b = data.get();
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		}
+		while ((b & 0x80) != 0);
+
+		return value;
+	}
+
+	/**
+	 * Maps a number which may be negative to one which isn't, keeping small numbers small
+	 * @param value the number
+	 * @return the mapped number
+	 */
+	private static long zigzag(long value)
+	{
+		return (value << 1) ^ (value >> 63);
+	}
+
+	/**
+	 * Undoes zigzag
+	 * @param value the mapped number
+	 * @return the original number
+	 */
+	private static long unzigzag(long value)
+	{
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Reads until a buffer is full or the file ends
+	 * @param channel the file
+	 * @param data the buffer
+	 * @param position where in the file to start
+	 * @throws IOException
+	 */
+	private static void readFully(FileChannel channel, ByteBuffer data, long position) throws IOException
+	{
+		while (data.hasRemaining())
+		{
+			int read = channel.read(data, position);
+			if (read < 0)
+			{
+				break;
+			}
+			position += read;
+		}
+	}
+
+	/**
+	 * Writes all of a buffer
+	 * @param channel the file
+	 * @param data the buffer
+	 * @param position where in the file to start
+	 * @throws IOException
+	 */
+	private static void writeFully(FileChannel channel, ByteBuffer data, long position) throws IOException
+	{
+		while (data.hasRemaining())
+		{
+			position += channel.write(data, position);
+		}
+	}
+
+	/**
+	 * A block of records, as stored in the index
+	 */
+	private static class Block
+	{
+		private long offset;
+		private long firstRecord;
+		private long minTime;
+		private long maxTime;
+		private long lastTime; //only needed while adding to the block
+		private int count;
+		private int outcomes; //one bit for each outcome in the block
+
+		/**
+		 * Constructs an empty block
+		 * @param inOffset where the block starts in the log
+		 * @param inFirstRecord the number of the block's first record
+		 */
+		public Block(long inOffset, long inFirstRecord)
+		{
+			offset = inOffset;
+			firstRecord = inFirstRecord;
+			minTime = Long.MAX_VALUE;
+			maxTime = Long.MIN_VALUE;
+		}
+
+		/**
+		 * Adds a record to the block's summary
+		 * @param time the record's end time
+		 * @param outcome the record's outcome
+		 */
+		public void add(long time, GameState outcome)
+		{
+			minTime = Math.min(minTime, time);
+			maxTime = Math.max(maxTime, time);
+			lastTime = time;
+			outcomes |= 1 << outcome.ordinal();
+			count++;
+		}
+
+		/**
+		 * Writes the block's index entry
+		 * @param data where to write
+		 */
+		public void write(ByteBuffer data)
+		{
+			data.putLong(offset).putLong(firstRecord).putLong(minTime).putLong(maxTime).putLong(lastTime);
+			data.putInt(count).putInt(outcomes);
+		}
+
+		/**
+		 * Reads an index entry
+		 * @param data where to read from
+		 * @return the block
+		 */
+		public static Block read(ByteBuffer data)
+		{
+			Block block = new Block(data.getLong(), data.getLong());
+			block.minTime = data.getLong();
+			block.maxTime = data.getLong();
+			block.lastTime = data.getLong();
+			block.count = data.getInt();
+			block.outcomes = data.getInt();
+			return block;
+		}
+	}
+
+	/**
+	 * Prints the games in a log.
+	 * Usage: java mastermind.GameLog file [--from time] [--to time] [--outcome won|lost|abandoned] [--limit n]
+	 * Times are in milliseconds since 1970.
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length == 0)
+		{
+			System.err.println("Usage: java mastermind.GameLog file [--from time] [--to time] [--outcome won|lost|abandoned] [--limit n]");
+			System.exit(1);
+		}
+
+		long from = Long.MIN_VALUE;
+		long to = Long.MAX_VALUE;
+		GameState outcome = null;
+		int limit = 100;
+		for (int i = 1; i + 1 < args.length; i += 2)
+		{
+			if (args[i].equals("--from"))
+			{
+				from = Long.parseLong(args[i + 1]);
+			}
+			else if (args[i].equals("--to"))
+			{
+				to = Long.parseLong(args[i + 1]);
+			}
+			else if (args[i].equals("--outcome"))
+			{
+				outcome = GameState.valueOf(args[i + 1].toUpperCase());
+			}
+			else if (args[i].equals("--limit"))
+			{
+				limit = Integer.parseInt(args[i + 1]);
+			}
+		}
+
+		GameLog gameLog = new GameLog(new File(args[0]), true); //the game may be adding to it
+		try
+		{
+			List<GameRecord> found = gameLog.find(from, to, outcome, limit);
+			for (GameRecord record : found)
+			{
+				System.out.println(record);
+			}
+			System.out.println(found.size() + " of " + gameLog.getRecordCount() + " games shown");
+		}
+		finally
+		{
+			gameLog.close();
+		}
+	}
+}
@@ -0,0 +1,388 @@
+package mastermind;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counts the games played on GameBoards, how long guesses take to score and how long StatsCounter file operations take,
+ * and how many open boards are in each GameState. There's one for the whole program, which can be watched over JMX
+ * once it's registered, and can add a line to a text or CSV file every few seconds.
+ * It hears about games by subscribing to a board's GameEventBus.
+ * Everything is kept in striped counters, so recording never takes a lock and can stay on all the time.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class GameMetrics implements GameMetricsMBean, GameEventListener
+{
+	public static final String OBJECT_NAME = "mastermind:type=GameMetrics";
+	private static final GameMetrics instance = new GameMetrics();
+	private final LongAdder started;
+	private final LongAdder[] finished; //games which ended, by GameState
+	private final LongAdder[] boards; //open boards, by GameState
+	private final LatencyHistogram scoring;
+	private final LatencyHistogram statsFile;
+	private final Object rateLock;
+	private long rateGuesses; //the guesses scored when the rate was last worked out
+	private long rateNanos;
+	private double rate;
+
+	/**
+	 * Constructs a GameMetrics with everything at 0
+	 */
+	private GameMetrics()
+	{
+		started = new LongAdder();
+		finished = new LongAdder[GameState.values().length];
+		boards = new LongAdder[finished.length];
+		for (int i = 0; i < finished.length; i++)
+		{
+			finished[i] = new LongAdder();
+			boards[i] = new LongAdder();
+		}
+		scoring = new LatencyHistogram();
+		statsFile = new LatencyHistogram();
+		rateLock = new Object();
+		rateNanos = System.nanoTime();
+	}
+
+	/**
+	 * Gets the metrics for the program
+	 * @return the shared GameMetrics
+	 */
+	public static GameMetrics getInstance()
+	{
+		return instance;
+	}
+
+	/**
+	 * Makes the metrics visible over JMX, if they aren't already
+	 * @throws JMException if the platform MBean server won't take them
+	 */
+	public void register() throws JMException
+	{
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(OBJECT_NAME);
+		synchronized (this)
+		{
+			if (!server.isRegistered(name))
+			{
+				server.registerMBean(this, name);
+			}
+		}
+	}
+
+	/**
+	 * Counts an event from a game
+	 * @param event the event
+	 */
+	public void gameEvent(GameEvent event)
+	{
+		switch (event.getType())
+		{
+			case HINT_COMPUTED:
+				guessScored(event.getNanos());
+				if (event.getAttempt() == 0)
+				{
+					gameStarted();
+				}
+				break;
+			case GAME_WON:
+				gameEnded(GameState.WON);
+				break;
+			case GAME_LOST:
+				gameEnded(GameState.LOST);
+				break;
+			case GAME_ABANDONED:
+				gameEnded(GameState.ABANDONED);
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Records the first guess of a game
+	 */
+	public void gameStarted()
+	{
+		started.increment();
+	}
+
+	/**
+	 * Records a game ending
+	 * @param outcome how it ended
+	 */
+	public void gameEnded(GameState outcome)
+	{
+		finished[outcome.ordinal()].increment();
+	}
+
+	/**
+	 * Records a board moving from one state to another
+	 * @param from the state it was in, or null for a new board
+	 * @param to the state it's in now, or null for a board which was thrown away
+	 */
+	public void boardState(GameState from, GameState to)
+	{
+		if (from == to)
+		{
+			return;
+		}
+
+		if (from != null)
+		{
+			boards[from.ordinal()].decrement();
+		}
+		if (to != null)
+		{
+			boards[to.ordinal()].increment();
+		}
+	}
+
+	/**
+	 * Records a guess being scored
+	 * @param nanos how long it took
+	 */
+	public void guessScored(long nanos)
+	{
+		scoring.record(nanos);
+	}
+
+	/**
+	 * Records a statistics file being read or updated
+	 * @param nanos how long it took, including waiting for the file lock
+	 */
+	public void statsFileOperation(long nanos)
+	{
+		statsFile.record(nanos);
+	}
+
+	public long getGamesStarted()
+	{
+		return started.sum();
+	}
+
+	public long getGamesWon()
+	{
+		return finished[GameState.WON.ordinal()].sum();
+	}
+
+	public long getGamesLost()
+	{
+		return finished[GameState.LOST.ordinal()].sum();
+	}
+
+	public long getGamesAbandoned()
+	{
+		return finished[GameState.ABANDONED.ordinal()].sum();
+	}
+
+	public long getGuessesScored()
+	{
+		return scoring.getCount();
+	}
+
+	public double getGuessesPerSecond()
+	{
+		synchronized (rateLock)
+		{
+			long now = System.nanoTime();
+			if (now - rateNanos >= 1000000000L) //shorter windows would jump around too much
+			{
+				long guesses = scoring.getCount();
+				rate = (guesses - rateGuesses) * 1e9 / (now - rateNanos);
+				rateGuesses = guesses;
+				rateNanos = now;
+			}
+			return rate;
+		}
+	}
+
+	public double getScoringMeanNanos()
+	{
+		return scoring.getMeanNanos();
+	}
+
+	public long getScoringP50Nanos()
+	{
+		return scoring.getPercentileNanos(0.5);
+	}
+
+	public long getScoringP99Nanos()
+	{
+		return scoring.getPercentileNanos(0.99);
+	}
+
+	public long getScoringMaxNanos()
+	{
+		return scoring.getMaxNanos();
+	}
+
+	public long getStatsFileOperations()
+	{
+		return statsFile.getCount();
+	}
+
+	public double getStatsFileMeanMicros()
+	{
+		return statsFile.getMeanNanos() / 1000;
+	}
+
+	public long getStatsFileP50Micros()
+	{
+		return statsFile.getPercentileNanos(0.5) / 1000;
+	}
+
+	public long getStatsFileP99Micros()
+	{
+		return statsFile.getPercentileNanos(0.99) / 1000;
+	}
+
+	public long getStatsFileMaxMicros()
+	{
+		return statsFile.getMaxNanos() / 1000;
+	}
+
+	public long getBoardsInProgress()
+	{
+		return boards[GameState.IN_PROGRESS.ordinal()].sum();
+	}
+
+	public long getBoardsWon()
+	{
+		return boards[GameState.WON.ordinal()].sum();
+	}
+
+	public long getBoardsLost()
+	{
+		return boards[GameState.LOST.ordinal()].sum();
+	}
+
+	public long getBoardsAbandoned()
+	{
+		return boards[GameState.ABANDONED.ordinal()].sum();
+	}
+
+	public String getSummary()
+	{
+		return String.format("started=%d won=%d lost=%d abandoned=%d guesses=%d guessesPerSecond=%.1f "
+				+ "scoringMeanNanos=%.0f scoringP50Nanos=%d scoringP99Nanos=%d scoringMaxNanos=%d "
+				+ "statsFileOps=%d statsFileMeanMicros=%.0f statsFileP50Micros=%d statsFileP99Micros=%d statsFileMaxMicros=%d "
+				+ "boardsInProgress=%d boardsWon=%d boardsLost=%d boardsAbandoned=%d",
+				getGamesStarted(), getGamesWon(), getGamesLost(), getGamesAbandoned(), getGuessesScored(), getGuessesPerSecond(),
+				getScoringMeanNanos(), getScoringP50Nanos(), getScoringP99Nanos(), getScoringMaxNanos(),
+				getStatsFileOperations(), getStatsFileMeanMicros(), getStatsFileP50Micros(), getStatsFileP99Micros(), getStatsFileMaxMicros(),
+				getBoardsInProgress(), getBoardsWon(), getBoardsLost(), getBoardsAbandoned());
+	}
+
+	/**
+	 * Gets the names of the columns written by a CSV dump
+	 * @return the header line
+	 */
+	private static String csvHeader()
+	{
+		return "time,started,won,lost,abandoned,guesses,guessesPerSecond,"
+				+ "scoringMeanNanos,scoringP50Nanos,scoringP99Nanos,scoringMaxNanos,"
+				+ "statsFileOps,statsFileMeanMicros,statsFileP50Micros,statsFileP99Micros,statsFileMaxMicros,"
+				+ "boardsInProgress,boardsWon,boardsLost,boardsAbandoned";
+	}
+
+	/**
+	 * Gets the metrics as a line of a CSV dump
+	 * @return the line
+	 */
+	private String csvLine()
+	{
+		return String.format("%d,%d,%d,%d,%d,%d,%.1f,%.0f,%d,%d,%d,%d,%.0f,%d,%d,%d,%d,%d,%d,%d",
+				System.currentTimeMillis(), getGamesStarted(), getGamesWon(), getGamesLost(), getGamesAbandoned(),
+				getGuessesScored(), getGuessesPerSecond(),
+				getScoringMeanNanos(), getScoringP50Nanos(), getScoringP99Nanos(), getScoringMaxNanos(),
+				getStatsFileOperations(), getStatsFileMeanMicros(), getStatsFileP50Micros(), getStatsFileP99Micros(), getStatsFileMaxMicros(),
+				getBoardsInProgress(), getBoardsWon(), getBoardsLost(), getBoardsAbandoned());
+	}
+
+	/**
+	 * Starts adding the metrics to a file every few seconds on a background thread, until the program exits.
+	 * A file ending in .csv gets a header and a row of numbers each time, and any other file gets a dated summary line.
+	 * @param file the file, which is added to if it's already there
+	 * @param seconds how often to add a line
+	 * @throws IOException if the file can't be opened
+	 */
+	public void startDump(File file, long seconds) throws IOException
+	{
+		if (seconds <= 0)
+		{
+			throw new IllegalArgumentException("The dump period must be positive: " + seconds);
+		}
+
+		boolean csv = file.getName().toLowerCase().endsWith(".csv");
+		boolean empty = !file.exists() || file.length() == 0;
+		PrintWriter out = new PrintWriter(new FileWriter(file, true));
+		if (csv && empty)
+		{
+			out.println(csvHeader());
+			out.flush();
+		}
+
+		Thread thread = new Thread(new Dumper(out, csv, seconds * 1000), "GameMetrics dump");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Adds a line of metrics to a file every few seconds
+	 */
+	private class Dumper implements Runnable
+	{
+		private final PrintWriter out;
+		private final boolean csv;
+		private final long period;
+
+		/**
+		 * Constructs a Dumper
+		 * @param inOut where to write
+		 * @param inCsv true to write CSV rows, false for summary lines
+		 * @param inPeriod milliseconds between lines
+		 */
+		public Dumper(PrintWriter inOut, boolean inCsv, long inPeriod)
+		{
+			out = inOut;
+			csv = inCsv;
+			period = inPeriod;
+		}
+
+		public void run()
+		{
+			try
+			{
+				while (true)
+				{
+					Thread.sleep(period);
+					out.println(csv ? csvLine() : new Date() + " " + getSummary());
+					if (out.checkError()) //flushes, and a full disk shouldn't stop the game
+					{
+						System.err.println("Unable to write the metrics, so they won't be written again");
+						return;
+					}
+				}
+			}
+			catch (InterruptedException ex)
+			{
+				//stopped
+			}
+			finally
+			{
+				out.close();
+			}
+		}
+	}
+}
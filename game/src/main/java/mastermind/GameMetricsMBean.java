@@ -0,0 +1,129 @@
+package mastermind;
+
+/**
+ * What GameMetrics shows over JMX, as mastermind:type=GameMetrics
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public interface GameMetricsMBean
+{
+	/**
+	 * Gets the number of games in which a guess was made
+	 * @return the number of games
+	 */
+	long getGamesStarted();
+
+	/**
+	 * Gets the number of games won
+	 * @return the number of games
+	 */
+	long getGamesWon();
+
+	/**
+	 * Gets the number of games lost
+	 * @return the number of games
+	 */
+	long getGamesLost();
+
+	/**
+	 * Gets the number of games given up part way through
+	 * @return the number of games
+	 */
+	long getGamesAbandoned();
+
+	/**
+	 * Gets the number of guesses scored
+	 * @return the number of guesses
+	 */
+	long getGuessesScored();
+
+	/**
+	 * Gets how many guesses a second were scored since this was last asked, at least a second ago
+	 * @return the rate
+	 */
+	double getGuessesPerSecond();
+
+	/**
+	 * Gets the mean time to score a guess
+	 * @return the time in nanoseconds
+	 */
+	double getScoringMeanNanos();
+
+	/**
+	 * Gets the time half the guesses were scored within
+	 * @return the time in nanoseconds, rounded up to a power of two but no more than the longest
+	 */
+	long getScoringP50Nanos();
+
+	/**
+	 * Gets the time 99% of the guesses were scored within
+	 * @return the time in nanoseconds, rounded up to a power of two but no more than the longest
+	 */
+	long getScoringP99Nanos();
+
+	/**
+	 * Gets the longest time to score a guess
+	 * @return the time in nanoseconds
+	 */
+	long getScoringMaxNanos();
+
+	/**
+	 * Gets the number of times statistics files were read and updated
+	 * @return the number of file operations
+	 */
+	long getStatsFileOperations();
+
+	/**
+	 * Gets the mean time of a statistics file operation
+	 * @return the time in microseconds
+	 */
+	double getStatsFileMeanMicros();
+
+	/**
+	 * Gets the time half the statistics file operations took no longer than
+	 * @return the time in microseconds, rounded up to a power of two but no more than the longest
+	 */
+	long getStatsFileP50Micros();
+
+	/**
+	 * Gets the time 99% of the statistics file operations took no longer than
+	 * @return the time in microseconds, rounded up to a power of two but no more than the longest
+	 */
+	long getStatsFileP99Micros();
+
+	/**
+	 * Gets the longest statistics file operation
+	 * @return the time in microseconds
+	 */
+	long getStatsFileMaxMicros();
+
+	/**
+	 * Gets the number of open boards with a game in progress
+	 * @return the number of boards
+	 */
+	long getBoardsInProgress();
+
+	/**
+	 * Gets the number of open boards showing a game which was won
+	 * @return the number of boards
+	 */
+	long getBoardsWon();
+
+	/**
+	 * Gets the number of open boards showing a game which was lost
+	 * @return the number of boards
+	 */
+	long getBoardsLost();
+
+	/**
+	 * Gets the number of open boards showing a game which was given up
+	 * @return the number of boards
+	 */
+	long getBoardsAbandoned();
+
+	/**
+	 * Gets a one line summary of the metrics
+	 * @return the summary
+	 */
+	String getSummary();
+}
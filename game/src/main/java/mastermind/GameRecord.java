@@ -0,0 +1,232 @@
+package mastermind;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * One finished game as stored in a GameLog: the rules, the answer code, every guess with its hint and when it was made,
+ * how the game ended, and when. Codes and hints are packed as in the ScoringEngine.
+ * Games logged before the rules and guess times were kept have 0 attempts and no guess times.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class GameRecord
+{
+	private final int pegs;
+	private final int colors;
+	private final int attempts; //0 if it wasn't recorded
+	private final boolean repeats;
+	private final int secret;
+	private final int[] guesses;
+	private final int[] hints;
+	private final long[] times; //milliseconds from the start of the game to each guess, or null if they weren't recorded
+	private final GameState outcome;
+	private final long endTime;
+	private final long duration;
+
+	/**
+	 * Constructs a GameRecord with the rules and the time of each guess
+	 * @param rules the rules of the game
+	 * @param inSecret the packed answer code
+	 * @param inGuesses the packed guesses, which are copied
+	 * @param inHints the packed hint for each guess, which are copied
+	 * @param inTimes the milliseconds from the start of the game to each guess, which are copied, or null
+	 * @param count the number of guesses
+	 * @param inOutcome how the game ended
+	 * @param inEndTime when the game ended, in milliseconds since 1970
+	 * @param inDuration how long the game took, in milliseconds
+	 */
+	public GameRecord(Rules rules, int inSecret, int[] inGuesses, int[] inHints, long[] inTimes, int count,
+			GameState inOutcome, long inEndTime, long inDuration)
+	{
+		this(rules.getPegs(), rules.getColors(), rules.getAttempts(), rules.allowsRepeats(), inSecret, inGuesses, inHints,
+				inTimes, count, inOutcome, inEndTime, inDuration);
+	}
+
+	/**
+	 * Constructs a GameRecord from everything a GameLog can hold
+	 * @param inPegs the number of pegs in a code
+	 * @param inColors the number of colors each peg can be
+	 * @param inAttempts the number of guesses allowed, or 0 if it isn't known
+	 * @param inRepeats true if colors could be repeated in a code
+	 * @param inSecret the packed answer code
+	 * @param inGuesses the packed guesses, which are copied
+	 * @param inHints the packed hint for each guess, which are copied
+	 * @param inTimes the milliseconds from the start of the game to each guess, which are copied, or null
+	 * @param count the number of guesses
+	 * @param inOutcome how the game ended
+	 * @param inEndTime when the game ended, in milliseconds since 1970
+	 * @param inDuration how long the game took, in milliseconds
+	 */
+	GameRecord(int inPegs, int inColors, int inAttempts, boolean inRepeats, int inSecret, int[] inGuesses, int[] inHints,
+			long[] inTimes, int count, GameState inOutcome, long inEndTime, long inDuration)
+	{
+		pegs = inPegs;
+		colors = inColors;
+		attempts = inAttempts;
+		repeats = inRepeats;
+		secret = inSecret;
+		guesses = Arrays.copyOf(inGuesses, count);
+		hints = Arrays.copyOf(inHints, count);
+		times = inTimes == null ? null : Arrays.copyOf(inTimes, count);
+		outcome = inOutcome;
+		endTime = inEndTime;
+		duration = inDuration;
+	}
+
+	/**
+	 * Gets the number of pegs in a code
+	 * @return the code length
+	 */
+	public int getPegs()
+	{
+		return pegs;
+	}
+
+	/**
+	 * Gets the number of colors a peg can be
+	 * @return the number of colors
+	 */
+	public int getColors()
+	{
+		return colors;
+	}
+
+	/**
+	 * Gets the number of guesses the rules allowed
+	 * @return the number of attempts, or 0 if it wasn't recorded
+	 */
+	public int getAttempts()
+	{
+		return attempts;
+	}
+
+	/**
+	 * Tells if colors could be repeated in a code. Games logged before this was kept say they could.
+	 * @return true if repeats were allowed
+	 */
+	public boolean allowsRepeats()
+	{
+		return repeats;
+	}
+
+	/**
+	 * Gets the answer code
+	 * @return the packed answer code
+	 */
+	public int getSecret()
+	{
+		return secret;
+	}
+
+	/**
+	 * Gets the number of guesses made
+	 * @return the number of guesses
+	 */
+	public int getGuessCount()
+	{
+		return guesses.length;
+	}
+
+	/**
+	 * Gets one of the guesses
+	 * @param index which guess, starting from 0
+	 * @return the packed guess
+	 */
+	public int getGuess(int index)
+	{
+		return guesses[index];
+	}
+
+	/**
+	 * Gets the hint for one of the guesses
+	 * @param index which guess, starting from 0
+	 * @return the packed hint
+	 */
+	public int getHint(int index)
+	{
+		return hints[index];
+	}
+
+	/**
+	 * Tells if the time of each guess was recorded
+	 * @return true if there are guess times
+	 */
+	public boolean hasGuessTimes()
+	{
+		return times != null;
+	}
+
+	/**
+	 * Gets when one of the guesses was made
+	 * @param index which guess, starting from 0
+	 * @return the milliseconds from the start of the game, or 0 if the times weren't recorded
+	 */
+	public long getGuessTime(int index)
+	{
+		return times == null ? 0 : times[index];
+	}
+
+	/**
+	 * Gets how the game ended
+	 * @return the final GameState
+	 */
+	public GameState getOutcome()
+	{
+		return outcome;
+	}
+
+	/**
+	 * Gets when the game ended
+	 * @return the time in milliseconds since 1970
+	 */
+	public long getEndTime()
+	{
+		return endTime;
+	}
+
+	/**
+	 * Gets how long the game took
+	 * @return the duration in milliseconds
+	 */
+	public long getDuration()
+	{
+		return duration;
+	}
+
+	/**
+	 * Gets a string describing the game, with codes written as letters
+	 * @return the description String
+	 */
+	public String toString()
+	{
+		ScoringEngine engine = new ScoringEngine(pegs, colors);
+		StringBuilder text = new StringBuilder();
+		text.append(new Date(endTime)).append(' ').append(outcome).append(" in ").append(duration).append(" ms, code ");
+		text.append(format(secret)).append(':');
+		for (int i = 0; i < guesses.length; i++)
+		{
+			text.append(' ').append(format(guesses[i])).append(' ');
+			text.append(engine.getCorrectPosition(hints[i])).append('/').append(engine.getIncorrectPosition(hints[i]));
+		}
+
+		return text.toString();
+	}
+
+	/**
+	 * Writes a packed code as a letter for each peg
+	 * @param code the packed code
+	 * @return the code's letters
+	 */
+	private String format(int code)
+	{
+		char[] letters = new char[pegs];
+		for (int i = 0; i < pegs; i++)
+		{
+			letters[i] = (char) ('A' + code % colors);
+			code /= colors;
+		}
+
+		return new String(letters);
+	}
+}
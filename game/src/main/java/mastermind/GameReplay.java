@@ -0,0 +1,209 @@
+package mastermind;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plays the games in a GameLog again without any Swing components, and checks that every hint and outcome comes out
+ * the same as it was recorded. The log is streamed a block at a time, so it can be much bigger than memory, and each
+ * game goes through a GameSession just like it would on a GameBoard, with the recorded answer code and guesses.
+ *
+ * Games from logs written before the number of attempts was recorded are replayed as if they allowed as many guesses
+ * as a lost game used, or the most a log can hold for any other game.
+ *
+ * Usage: java mastermind.GameReplay file [--passes n]
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class GameReplay implements GameLog.Visitor
+{
+	private static final int MAX_SHOWN = 20; //divergences printed
+	private final Map<Long, Rules> rules; //by pegs, colors, attempts and repeats
+	private final Map<Rules, ScoringEngine> engines;
+	private final List<String> divergences;
+	private final LatencyHistogram latency; //of each game
+	private long games;
+	private long guesses;
+	private long divergent;
+	private long thinkTime; //the total recorded milliseconds between guesses
+	private long timedGuesses;
+
+	/**
+	 * Constructs a GameReplay which hasn't replayed anything yet
+	 */
+	public GameReplay()
+	{
+		rules = new HashMap<Long, Rules>();
+		engines = new HashMap<Rules, ScoringEngine>();
+		divergences = new ArrayList<String>();
+		latency = new LatencyHistogram();
+	}
+
+	/**
+	 * Replays one game and checks it against what was recorded
+	 * @param record the game
+	 * @return true, to keep going
+	 */
+	public boolean visit(GameRecord record)
+	{
+		long start = System.nanoTime();
+		String divergence;
+		try
+		{
+			divergence = replay(record);
+		}
+		catch (RuntimeException ex)
+		{
+			divergence = ex.toString();
+		}
+		latency.record(System.nanoTime() - start);
+
+		games++;
+		guesses += record.getGuessCount();
+		if (record.hasGuessTimes() && record.getGuessCount() > 0)
+		{
+			thinkTime += record.getGuessTime(record.getGuessCount() - 1);
+			timedGuesses += record.getGuessCount();
+		}
+		if (divergence != null)
+		{
+			divergent++;
+			if (divergences.size() < MAX_SHOWN)
+			{
+				divergences.add("Game " + (games - 1) + ": " + divergence + "\n  " + record);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Plays a game through a GameSession
+	 * @param record the game
+	 * @return what was different, or null if it came out the same
+	 */
+	private String replay(GameRecord record)
+	{
+		int count = record.getGuessCount();
+		int attempts = record.getAttempts();
+		if (attempts == 0) //not recorded
+		{
+			attempts = record.getOutcome() == GameState.LOST ? count : GameLog.MAX_GUESSES;
+		}
+
+		Rules gameRules = findRules(record.getPegs(), record.getColors(), attempts, record.allowsRepeats());
+		GameSession session = new GameSession(gameRules, engines.get(gameRules), record.getSecret());
+		for (int i = 0; i < count; i++)
+		{
+			int hint = session.guess(record.getGuess(i));
+			if (hint != record.getHint(i))
+			{
+				return "guess " + (i + 1) + " scored " + hint + " instead of " + record.getHint(i);
+			}
+		}
+
+		GameState expected = record.getOutcome() == GameState.ABANDONED ? GameState.IN_PROGRESS : record.getOutcome();
+		if (session.getState() != expected)
+		{
+			return "the game was " + session.getState() + " instead of " + record.getOutcome();
+		}
+		if (expected == GameState.IN_PROGRESS)
+		{
+			session.abandon();
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the rules for a game, and makes an engine for them the first time they're seen
+	 * @param pegs the number of pegs in a code
+	 * @param colors the number of colors each peg can be
+	 * @param attempts the number of guesses allowed
+	 * @param repeats true if colors can be repeated in a code
+	 * @return the Rules
+	 */
+	private Rules findRules(int pegs, int colors, int attempts, boolean repeats)
+	{
+		Long key = Long.valueOf((long) pegs << 40 | (long) colors << 24 | (long) attempts << 1 | (repeats ? 1 : 0));
+		Rules found = rules.get(key);
+		if (found == null)
+		{
+			found = Rules.find(pegs, colors, attempts, repeats);
+			rules.put(key, found);
+			if (!engines.containsKey(found))
+			{
+				engines.put(found, found.createEngine());
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Prints what one pass over the log found
+	 * @param pass which pass, starting from 1
+	 * @param nanos how long the pass took
+	 */
+	private void report(int pass, long nanos)
+	{
+		System.out.printf("Pass %d: %d games, %d guesses in %.2f s, %.0f guesses/s, %d divergent%n", pass, games, guesses,
+				nanos / 1e9, guesses * 1e9 / nanos, divergent);
+		System.out.printf("  per game: p50 %d ns, p99 %d ns, max %d ns%n", latency.getPercentileNanos(0.5),
+				latency.getPercentileNanos(0.99), latency.getMaxNanos());
+		if (timedGuesses > 0)
+		{
+			System.out.printf("  recorded time per guess: %.1f ms%n", (double) thinkTime / timedGuesses);
+		}
+	}
+
+	/**
+	 * Replays a log.
+	 * Usage: java mastermind.GameReplay file [--passes n]
+	 * More than one pass gives the JIT compiler time to warm up. Exits with 1 if any game came out differently.
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length == 0)
+		{
+			System.err.println("Usage: java mastermind.GameReplay file [--passes n]");
+			System.exit(1);
+		}
+
+		int passes = 1;
+		for (int i = 1; i + 1 < args.length; i += 2)
+		{
+			if (args[i].equals("--passes"))
+			{
+				passes = Math.max(1, Integer.parseInt(args[i + 1]));
+			}
+		}
+
+		GameLog gameLog = new GameLog(new File(args[0]), true); //the game may be adding to it
+		GameReplay replay = null;
+		try
+		{
+			for (int pass = 1; pass <= passes; pass++)
+			{
+				replay = new GameReplay();
+				long start = System.nanoTime();
+				gameLog.scan(Long.MIN_VALUE, Long.MAX_VALUE, null, replay);
+				replay.report(pass, System.nanoTime() - start);
+			}
+		}
+		finally
+		{
+			gameLog.close();
+		}
+
+		for (String divergence : replay.divergences)
+		{
+			System.out.println(divergence);
+		}
+		if (replay.divergent > 0)
+		{
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package mastermind;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Loads the pictures and text which come with the game. They are packaged next to the classes,
+ * so the game finds them no matter which folder it's run from.
+ * Nothing is loaded until it's asked for, and the directions are kept once they have been read.
+ * The methods can be slow, so the frame calls them from a TaskRunner rather than on the event thread.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class GameResources
+{
+	public static final String DIRECTIONS = "MastermindDirections.txt";
+	public static final String PICTURE = "MastermindPicture.jpg";
+	public static final String TITLE = "MastermindTitle.jpg";
+	private static volatile String directions; //null until first read
+
+	/**
+	 * Finds one of the game's resources
+	 * @param name the name of the file, such as TITLE
+	 * @return where to read it from
+	 * @throws FileNotFoundException if it isn't there
+	 */
+	public static URL find(String name) throws FileNotFoundException
+	{
+		URL url = GameResources.class.getResource(name);
+		if (url == null)
+		{
+			throw new FileNotFoundException(name + " wasn't found with the game's classes.");
+		}
+		return url;
+	}
+
+	/**
+	 * Reads and decodes one of the game's pictures
+	 * @param name the name of the file, such as TITLE
+	 * @return the picture
+	 * @throws IOException if it can't be found or read
+	 */
+	public static BufferedImage readImage(String name) throws IOException
+	{
+		BufferedImage image = ImageIO.read(find(name));
+		if (image == null)
+		{
+			throw new IOException(name + " isn't a picture the game can read.");
+		}
+		return image;
+	}
+
+	/**
+	 * Reads one of the game's text files
+	 * @param name the name of the file, such as DIRECTIONS
+	 * @return the text
+	 * @throws IOException if it can't be found or read
+	 */
+	public static String readText(String name) throws IOException
+	{
+		InputStream in = find(name).openStream();
+		try
+		{
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			for (int count = in.read(buffer); count >= 0; count = in.read(buffer))
+			{
+				bytes.write(buffer, 0, count);
+			}
+			return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+
+	/**
+	 * Gets the directions for playing, reading them the first time they are asked for
+	 * @return the directions, in HTML
+	 * @throws IOException if they can't be read
+	 */
+	public static String getDirections() throws IOException
+	{
+		String text = directions;
+		if (text == null)
+		{
+			text = readText(DIRECTIONS); //two threads might both read it, which does no harm
+			directions = text;
+		}
+		return text;
+	}
+}
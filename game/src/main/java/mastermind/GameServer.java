@@ -0,0 +1,638 @@
+package mastermind;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hosts many games of Mastermind at once over a line based TCP protocol. Each connection is handled by its own
+ * thread, which is a virtual thread when the JVM has them (Java 21 and later), so thousands of mostly idle players
+ * cost very little. Games are kept by session id rather than by connection, so a player can reconnect and carry on.
+ * The games are packed into a SessionStore for each preset Rules, so millions of them fit in a modest heap.
+ * Games which aren't touched for a while are abandoned.
+ *
+ * Commands, one per line, each answered with one line starting with OK or ERR:
+ *   NEW [rules]          starts a game: OK id pegs colors attempts
+ *   GUESS id code        guesses a code written in letters: OK black white state [answer code if lost]
+ *   LEFT id [n]          how many answer codes are still possible, and up to n of them: OK count code...
+ *   END id               abandons a game
+ *   STATS                the server's metrics
+ *   QUIT                 closes the connection
+ *
+ * With --snapshot, the games in progress are saved when the server stops and picked up again when it starts,
+ * so a restart doesn't lose them.
+ *
+ * Usage: java mastermind.GameServer [--port n] [--log file|none] [--idle-minutes n] [--snapshot file]
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class GameServer
+{
+	public static final int DEFAULT_PORT = 4040;
+	private static final int MAX_LINE = 256;
+	private static final int MAX_LISTED = 100; //the most codes LEFT will list
+	private static final int STOP_SECONDS = 10; //how long stop waits for the connections to finish
+	private final ServerSocket serverSocket;
+	private final ExecutorService connections;
+	private final Set<Socket> openSockets; //closed by stop, since a thread blocked reading one can't be interrupted
+	private final ScheduledExecutorService sweeper;
+	private final boolean virtualThreads;
+	private final SessionStore[] stores; //one for each preset, in the order of Rules.getPresets
+	private final ServerMetrics metrics;
+	private final GameLog log;
+	private final long idleMillis;
+
+	/**
+	 * Opens a server socket. Call run to start accepting connections.
+	 * @param port the port to listen on, or 0 for any free port
+	 * @param inLog where to add finished games, or null to not keep them
+	 * @param idleMinutes how long a game can go without a guess before it is abandoned
+	 * @throws IOException if the port can't be opened
+	 */
+	public GameServer(int port, GameLog inLog, int idleMinutes) throws IOException
+	{
+		serverSocket = new ServerSocket();
+		serverSocket.setReuseAddress(true);
+		serverSocket.bind(new InetSocketAddress(port), 1024);
+		log = inLog;
+		idleMillis = idleMinutes * 60000L;
+		metrics = new ServerMetrics();
+
+		Rules[] presets = Rules.getPresets();
+		stores = new SessionStore[presets.length];
+		for (int i = 0; i < presets.length; i++)
+		{
+			stores[i] = new SessionStore(presets[i], presets[i].createEngine()); //engines are thread safe, so every game shares one
+		}
+
+		ExecutorService virtual = createVirtualExecutor();
+		virtualThreads = virtual != null;
+		connections = virtualThreads ? virtual : Executors.newCachedThreadPool(new DaemonThreads("GameServer connection"));
+		openSockets = Collections.newSetFromMap(new ConcurrentHashMap<Socket, Boolean>());
+
+		sweeper = Executors.newSingleThreadScheduledExecutor(new DaemonThreads("GameServer sweeper"));
+		long period = Math.max(1000, idleMillis / 4);
+		sweeper.scheduleWithFixedDelay(new Sweeper(), period, period, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Makes an executor which starts a virtual thread for each task, if this JVM has them
+	 * @return the executor, or null if virtual threads aren't available
+	 */
+	private static ExecutorService createVirtualExecutor()
+	{
+		try
+		{
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		}
+		catch (Exception ex)
+		{
+			return null; //before Java 21, or virtual threads are turned off
+		}
+	}
+
+	/**
+	 * Accepts connections until the server is stopped
+	 * @throws IOException if the server socket fails
+	 */
+	public void run() throws IOException
+	{
+		while (!serverSocket.isClosed())
+		{
+			Socket socket;
+			try
+			{
+				socket = serverSocket.accept();
+			}
+			catch (SocketException ex)
+			{
+				if (serverSocket.isClosed())
+				{
+					return; //stopped
+				}
+				throw ex;
+			}
+
+			socket.setTcpNoDelay(true);
+			connections.execute(new Connection(socket));
+		}
+	}
+
+	/**
+	 * Stops accepting connections, closes the open ones, abandons the games in progress and closes the log
+	 * @throws IOException
+	 */
+	public void stop() throws IOException
+	{
+		stop(null);
+	}
+
+	/**
+	 * Stops accepting connections and closes the open ones. Once their threads have finished, the games in progress are
+	 * saved to a file or abandoned, and the log is written out and closed.
+	 * @param snapshot the file to save the games to, or null to abandon them
+	 * @throws IOException
+	 */
+	public void stop(File snapshot) throws IOException
+	{
+		try
+		{
+			serverSocket.close();
+			connections.shutdownNow();
+			sweeper.shutdownNow();
+			for (Socket socket : openSockets)
+			{
+				try
+				{
+					socket.close();
+				}
+				catch (IOException ex)
+				{
+					//already closed
+				}
+			}
+			try
+			{
+				if (!connections.awaitTermination(STOP_SECONDS, TimeUnit.SECONDS)
+						|| !sweeper.awaitTermination(STOP_SECONDS, TimeUnit.SECONDS))
+				{
+					System.err.println("The connections didn't finish in " + STOP_SECONDS + " seconds");
+				}
+			}
+			catch (InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+			}
+
+			if (snapshot != null)
+			{
+				saveSessions(snapshot);
+			}
+			else
+			{
+				List<GameRecord> removed = new ArrayList<GameRecord>();
+				for (SessionStore store : stores)
+				{
+					store.removeIdle(Long.MIN_VALUE / 2, removed); //every game
+				}
+				for (GameRecord game : removed)
+				{
+					endGame(game);
+				}
+			}
+		}
+		finally
+		{
+			if (log != null)
+			{
+				log.close();
+			}
+		}
+	}
+
+	/**
+	 * Saves every game in progress, writing a new file and then renaming it so a crash can't leave half a snapshot
+	 * @param file the file
+	 * @throws IOException
+	 */
+	public void saveSessions(File file) throws IOException
+	{
+		File temp = new File(file.getPath() + ".tmp");
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), 1 << 16));
+		try
+		{
+			out.writeInt(stores.length);
+			for (SessionStore store : stores)
+			{
+				store.save(out);
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Picks up the games saved by saveSessions
+	 * @param file the file
+	 * @return the number of games
+	 * @throws IOException if the file can't be read or is damaged
+	 */
+	public int loadSessions(File file) throws IOException
+	{
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+		try
+		{
+			if (in.readInt() != stores.length)
+			{
+				throw new InvalidFileException(file + " is for different rules.");
+			}
+
+			int count = 0;
+			for (SessionStore store : stores)
+			{
+				count += store.load(in);
+			}
+			metrics.sessionsRestored(count);
+
+			return count;
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+
+	/**
+	 * Gets the port the server is listening on
+	 * @return the port
+	 */
+	public int getPort()
+	{
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Gets the server's metrics
+	 * @return the ServerMetrics
+	 */
+	public ServerMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * Checks if connections are handled on virtual threads
+	 * @return true for virtual threads, false for a pool of ordinary threads
+	 */
+	public boolean usesVirtualThreads()
+	{
+		return virtualThreads;
+	}
+
+	/**
+	 * Carries out one command
+	 * @param line the command line
+	 * @return the reply line
+	 */
+	String handle(String line)
+	{
+		String[] words = line.trim().split("\\s+", 3);
+		String command = words[0].toUpperCase();
+
+		if (command.equals("NEW"))
+		{
+			Rules rules = words.length > 1 ? Rules.forName(line.trim().substring(words[0].length()).trim()) : Rules.CLASSIC;
+			int index = Arrays.asList(Rules.getPresets()).indexOf(rules);
+			long id = stores[index].create(ThreadLocalRandom.current()); //hard to guess, so players can't take over other games
+			metrics.sessionStarted();
+
+			return "OK " + index + Long.toString(id, 36) + " " + rules.getPegs() + " " + rules.getColors() + " " + rules.getAttempts();
+		}
+		else if (command.equals("GUESS") && words.length == 3)
+		{
+			SessionStore store = getStore(words[1]);
+			long id = getId(words[1]);
+			Rules rules = store.getRules();
+			ScoringEngine engine = store.getEngine();
+			long result = store.guess(id, rules.parse(words[2]));
+			int hint = SessionStore.getHint(result);
+			GameState state = SessionStore.getState(result);
+
+			StringBuilder reply = new StringBuilder("OK ");
+			reply.append(engine.getCorrectPosition(hint)).append(' ').append(engine.getIncorrectPosition(hint));
+			reply.append(' ').append(state);
+			if (state != GameState.IN_PROGRESS)
+			{
+				GameRecord game = store.remove(id);
+				if (game != null) //unless another connection took it out first
+				{
+					endGame(game);
+				}
+				if (state == GameState.LOST && game != null)
+				{
+					reply.append(' ').append(rules.format(game.getSecret()));
+				}
+			}
+
+			return reply.toString();
+		}
+		else if (command.equals("LEFT") && words.length >= 2)
+		{
+			SessionStore store = getStore(words[1]);
+			CandidateSet candidates = store.getCandidates(getId(words[1]));
+			int shown = words.length == 3 ? Math.max(0, Math.min(Integer.parseInt(words[2]), MAX_LISTED)) : 0;
+
+			StringBuilder reply = new StringBuilder("OK ").append(candidates.size());
+			for (int code : candidates.list(shown))
+			{
+				reply.append(' ').append(store.getRules().format(code));
+			}
+
+			return reply.toString();
+		}
+		else if (command.equals("END") && words.length == 2)
+		{
+			GameRecord game = getStore(words[1]).remove(getId(words[1]));
+			if (game == null)
+			{
+				throw new IllegalArgumentException("No game " + words[1]);
+			}
+			endGame(game);
+
+			return "OK";
+		}
+		else if (command.equals("STATS"))
+		{
+			return "OK " + metrics;
+		}
+
+		throw new IllegalArgumentException("Unknown command: " + line);
+	}
+
+	/**
+	 * Finds the store which holds a session
+	 * @param session the session id as sent to the player: the index of the preset followed by the id in base 36
+	 * @return the SessionStore
+	 * @throws IllegalArgumentException if the session id is wrong
+	 */
+	private SessionStore getStore(String session)
+	{
+		int index = session.charAt(0) - '0';
+		if (index < 0 || index >= stores.length || session.length() < 2)
+		{
+			throw new IllegalArgumentException("No game " + session);
+		}
+		return stores[index];
+	}
+
+	/**
+	 * Gets the id within its store of a session
+	 * @param session the session id as sent to the player
+	 * @return the id
+	 * @throws IllegalArgumentException if the session id is wrong
+	 */
+	private long getId(String session)
+	{
+		try
+		{
+			return Long.parseLong(session.substring(1), 36);
+		}
+		catch (NumberFormatException ex)
+		{
+			throw new IllegalArgumentException("No game " + session);
+		}
+	}
+
+	/**
+	 * Counts a game which is over and adds it to the log
+	 * @param game the game
+	 */
+	private void endGame(GameRecord game)
+	{
+		metrics.sessionEnded(game.getOutcome());
+		if (log != null && game.getGuessCount() > 0)
+		{
+			try
+			{
+				log.append(game);
+			}
+			catch (IOException ex)
+			{
+				System.err.println("Unable to save the game history: " + ex.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Reads commands from one client and writes the replies
+	 */
+	private class Connection implements Runnable
+	{
+		private final Socket socket;
+
+		/**
+		 * Constructs a Connection
+		 * @param inSocket the client's socket
+		 */
+		public Connection(Socket inSocket)
+		{
+			socket = inSocket;
+		}
+
+		public void run()
+		{
+			metrics.connection(1);
+			openSockets.add(socket);
+			try
+			{
+				if (connections.isShutdown())
+				{
+					return; //stop may have closed the open sockets before this one was added
+				}
+				BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+				Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+
+				String line;
+				while ((line = in.readLine()) != null)
+				{
+					if (line.trim().equalsIgnoreCase("QUIT"))
+					{
+						out.write("OK bye\n");
+						out.flush();
+						break;
+					}
+
+					long start = System.nanoTime();
+					String reply;
+					boolean error = false;
+					try
+					{
+						if (line.length() > MAX_LINE)
+						{
+							throw new IllegalArgumentException("Line too long");
+						}
+						reply = handle(line);
+					}
+					catch (RuntimeException ex)
+					{
+						reply = "ERR " + ex.getMessage();
+						error = true;
+					}
+
+					out.write(reply);
+					out.write('\n');
+					out.flush();
+					metrics.request(System.nanoTime() - start, error);
+				}
+			}
+			catch (IOException ex)
+			{
+				//the client went away
+			}
+			finally
+			{
+				metrics.connection(-1);
+				openSockets.remove(socket);
+				try
+				{
+					socket.close();
+				}
+				catch (IOException ex)
+				{
+					//already closed
+				}
+			}
+		}
+	}
+
+	/**
+	 * Abandons the games which haven't been played for too long
+	 */
+	private class Sweeper implements Runnable
+	{
+		public void run()
+		{
+			List<GameRecord> removed = new ArrayList<GameRecord>();
+			for (SessionStore store : stores)
+			{
+				store.removeIdle(idleMillis, removed);
+			}
+			for (GameRecord game : removed)
+			{
+				endGame(game);
+			}
+		}
+	}
+
+	/**
+	 * Makes daemon threads with a given name, so the server's threads don't keep the JVM running
+	 */
+	private static class DaemonThreads implements ThreadFactory
+	{
+		private final String name;
+		private int count;
+
+		/**
+		 * Constructs a DaemonThreads
+		 * @param inName the start of each thread's name
+		 */
+		public DaemonThreads(String inName)
+		{
+			name = inName;
+		}
+
+		public synchronized Thread newThread(Runnable task)
+		{
+			count++;
+			Thread thread = new Thread(task, name + " " + count);
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		int port = DEFAULT_PORT;
+		File logFile = new File(GameLog.DEFAULT_FILENAME);
+		int idleMinutes = 30;
+		File snapshot = null;
+
+		try
+		{
+			for (int i = 0; i < args.length; i++)
+			{
+				String arg = args[i];
+				if (i + 1 < args.length && arg.equals("--port"))
+				{
+					port = Integer.parseInt(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--log"))
+				{
+					logFile = args[++i].equals("none") ? null : new File(args[i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--idle-minutes"))
+				{
+					idleMinutes = Integer.parseInt(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--snapshot"))
+				{
+					snapshot = new File(args[++i]);
+				}
+				else
+				{
+					throw new IllegalArgumentException("Unknown argument: " + arg);
+				}
+			}
+		}
+		catch (IllegalArgumentException ex)
+		{
+			System.err.println(ex.getMessage());
+			System.err.println("Usage: java mastermind.GameServer [--port n] [--log file|none] [--idle-minutes n] [--snapshot file]");
+			System.exit(1);
+		}
+
+		GameLog log = logFile == null ? null : new GameLog(logFile);
+		final GameServer server = new GameServer(port, log, idleMinutes);
+		final File snapshotFile = snapshot;
+		if (snapshot != null && snapshot.exists())
+		{
+			System.out.println("Picked up " + server.loadSessions(snapshot) + " games from " + snapshot);
+		}
+
+		class Shutdown implements Runnable
+		{
+			public void run()
+			{
+				try
+				{
+					server.stop(snapshotFile);
+				}
+				catch (IOException ex)
+				{
+					System.err.println("Unable to stop the server cleanly: " + ex.getMessage());
+				}
+				System.out.println(server.getMetrics());
+			}
+		}
+		Runtime.getRuntime().addShutdownHook(new Thread(new Shutdown()));
+
+		System.out.println("Mastermind server on port " + server.getPort() + " using "
+				+ (server.usesVirtualThreads() ? "virtual threads" : "a thread pool"));
+		server.run();
+	}
+}
@@ -0,0 +1,279 @@
+package mastermind;
+
+import java.util.Random;
+
+/**
+ * One game of Mastermind without any Swing components: the answer code, the guesses made so far with their hints,
+ * and whether the game is over. Used by the GameBoard and by the GameServer, which can keep many of these at once.
+ * A GameSession isn't thread safe, so whoever shares one has to synchronize on it. The one exception is that while
+ * a single thread makes the guesses, other threads can ask for suggestions and candidates for the guesses made so far.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class GameSession
+{
+	private final Rules rules;
+	private final ScoringEngine engine;
+	private final int secret;
+	private final int[] guesses;
+	private final int[] hints;
+	private final long[] times; //milliseconds from the start to each guess, 0 for guesses from a saved game
+	private final long startTime;
+	private volatile int attempted; //written after the guess and hint, so other threads can read up to it
+	private GameState state;
+	private final Object candidatesLock;
+	private CandidateSet candidates; //made the first time it's asked for, then caught up when it's asked for again
+	private int narrowed; //the number of guesses candidates has been narrowed by
+
+	/**
+	 * Starts a new game with a random answer code
+	 * @param inRules the rules of the game
+	 * @param inEngine the engine to score the rules' codes with
+	 * @param rand where to get the answer code from
+	 */
+	public GameSession(Rules inRules, ScoringEngine inEngine, Random rand)
+	{
+		this(inRules, inEngine, inRules.randomCode(rand));
+	}
+
+	/**
+	 * Starts a new game with a given answer code
+	 * @param inRules the rules of the game
+	 * @param inEngine the engine to score the rules' codes with
+	 * @param inSecret the packed answer code
+	 */
+	public GameSession(Rules inRules, ScoringEngine inEngine, int inSecret)
+	{
+		rules = inRules;
+		engine = inEngine;
+		secret = inSecret;
+		guesses = new int[rules.getAttempts()];
+		hints = new int[rules.getAttempts()];
+		times = new long[rules.getAttempts()];
+		startTime = System.currentTimeMillis();
+		state = GameState.IN_PROGRESS;
+		candidatesLock = new Object();
+	}
+
+	/**
+	 * Restores a game which was saved part way through
+	 * @param inRules the rules of the game
+	 * @param inEngine the engine to score the rules' codes with
+	 * @param inSecret the packed answer code
+	 * @param inGuesses the packed guesses made so far
+	 * @param inHints the packed hint for each guess
+	 * @param count the number of guesses made so far
+	 * @param inState the state of the game
+	 * @param inStartTime when the game started, in milliseconds since 1970
+	 */
+	public GameSession(Rules inRules, ScoringEngine inEngine, int inSecret, int[] inGuesses, int[] inHints, int count,
+			GameState inState, long inStartTime)
+	{
+		rules = inRules;
+		engine = inEngine;
+		secret = inSecret;
+		guesses = new int[rules.getAttempts()];
+		hints = new int[rules.getAttempts()];
+		times = new long[rules.getAttempts()];
+		System.arraycopy(inGuesses, 0, guesses, 0, count);
+		System.arraycopy(inHints, 0, hints, 0, count);
+		attempted = count;
+		state = inState;
+		startTime = inStartTime;
+		candidatesLock = new Object();
+	}
+
+	/**
+	 * Scores a guess and moves the game on to the next attempt, or ends it if the guess was right or the last one allowed
+	 * @param guess the packed guess
+	 * @return the packed hint
+	 * @throws IllegalStateException if the game is over
+	 */
+	public int guess(int guess)
+	{
+		if (state != GameState.IN_PROGRESS)
+		{
+			throw new IllegalStateException("The game is over");
+		}
+		if (guess < 0 || guess >= rules.getCodeSpace())
+		{
+			throw new IllegalArgumentException("Not a code: " + guess);
+		}
+
+		int hint = engine.score(guess, secret);
+		guesses[attempted] = guess;
+		hints[attempted] = hint;
+		times[attempted] = System.currentTimeMillis() - startTime;
+		attempted++;
+
+		if (hint == engine.getWinningHint())
+		{
+			state = GameState.WON;
+		}
+		else if (attempted == guesses.length)
+		{
+			state = GameState.LOST;
+		}
+
+		return hint;
+	}
+
+	/**
+	 * Gets the guess a strategy would make next. Can be called from another thread while guesses are being made,
+	 * in which case the suggestion is for the guesses made when it was called.
+	 * @param strategy the strategy to ask
+	 * @return the packed guess
+	 */
+	public int suggest(Strategy strategy)
+	{
+		return strategy.nextGuess(guesses, hints, attempted);
+	}
+
+	/**
+	 * Counts the answer codes which are still possible after the hints so far. Can be called from another thread.
+	 * @return the number of codes
+	 */
+	public int countCandidates()
+	{
+		synchronized (candidatesLock)
+		{
+			return catchUpCandidates().size();
+		}
+	}
+
+	/**
+	 * Gets some of the answer codes which are still possible after the hints so far. Can be called from another thread.
+	 * @param max the most codes to get
+	 * @return the packed codes, in order
+	 */
+	public int[] listCandidates(int max)
+	{
+		synchronized (candidatesLock)
+		{
+			return catchUpCandidates().list(max);
+		}
+	}
+
+	/**
+	 * Narrows down the candidates by the guesses made since they were last asked for, so making a guess never has to
+	 * wait for them. Must be called while holding candidatesLock.
+	 * @return the CandidateSet
+	 */
+	private CandidateSet catchUpCandidates()
+	{
+		int count = attempted;
+		if (candidates == null)
+		{
+			candidates = new CandidateSet(rules, engine, guesses, hints, count);
+		}
+		else
+		{
+			while (narrowed < count)
+			{
+				candidates.narrow(guesses[narrowed], hints[narrowed]);
+				narrowed++; //only once it's done, so a cancelled narrowing is finished next time
+			}
+		}
+		narrowed = count;
+		return candidates;
+	}
+
+	/**
+	 * Ends a game which is still in progress without it being won or lost
+	 * @return true if the game was in progress
+	 */
+	public boolean abandon()
+	{
+		if (state != GameState.IN_PROGRESS)
+		{
+			return false;
+		}
+
+		state = GameState.ABANDONED;
+		return true;
+	}
+
+	/**
+	 * Makes a GameRecord of the game as it is now, for the GameLog
+	 * @return the GameRecord
+	 */
+	public GameRecord toRecord()
+	{
+		long now = System.currentTimeMillis();
+		return new GameRecord(rules, secret, guesses, hints, times, attempted, state, now, now - startTime);
+	}
+
+	/**
+	 * Gets the rules of the game
+	 * @return the Rules
+	 */
+	public Rules getRules()
+	{
+		return rules;
+	}
+
+	/**
+	 * Gets the engine the guesses are scored with
+	 * @return the ScoringEngine
+	 */
+	public ScoringEngine getEngine()
+	{
+		return engine;
+	}
+
+	/**
+	 * Gets the answer code
+	 * @return the packed answer code
+	 */
+	public int getSecret()
+	{
+		return secret;
+	}
+
+	/**
+	 * Gets the number of guesses made so far
+	 * @return the number of guesses
+	 */
+	public int getAttempted()
+	{
+		return attempted;
+	}
+
+	/**
+	 * Gets one of the guesses
+	 * @param index which guess, starting from 0
+	 * @return the packed guess
+	 */
+	public int getGuess(int index)
+	{
+		return guesses[index];
+	}
+
+	/**
+	 * Gets the hint for one of the guesses
+	 * @param index which guess, starting from 0
+	 * @return the packed hint
+	 */
+	public int getHint(int index)
+	{
+		return hints[index];
+	}
+
+	/**
+	 * Gets when the game started
+	 * @return the time in milliseconds since 1970
+	 */
+	public long getStartTime()
+	{
+		return startTime;
+	}
+
+	/**
+	 * Gets whether the game is in progress, won, lost or abandoned
+	 * @return the GameState
+	 */
+	public GameState getState()
+	{
+		return state;
+	}
+}
@@ -0,0 +1,244 @@
+package mastermind;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Saves games which are in progress to a compact binary file and restores them.
+ * A file starts with "MMGS", the format version and the number of games. Each game is then its rules,
+ * the answer code, when it started, the number of guesses, its GameState, and each guess with its hint,
+ * with numbers written in as few bytes as they need. A classic game takes about 30 bytes.
+ * Restored games are checked, so a damaged file is reported rather than giving a game with wrong hints.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class GameSnapshot
+{
+	public static final int MAGIC = 0x4D4D4753; //"MMGS"
+	public static final int VERSION = 1;
+	private static final int HEADER_SIZE = 12;
+	private static final ConcurrentHashMap<Long, ScoringEngine> engines = new ConcurrentHashMap<Long, ScoringEngine>();
+
+	/**
+	 * Writes one game
+	 * @param game the game
+	 * @param out where to write, which must have room for the game
+	 */
+	public static void write(GameSession game, ByteBuffer out)
+	{
+		Rules rules = game.getRules();
+		out.put((byte) rules.getPegs());
+		out.put((byte) rules.getColors());
+		out.put((byte) rules.getAttempts());
+		out.put((byte) (rules.allowsRepeats() ? 1 : 0));
+		GameLog.putVarLong(out, game.getSecret());
+		GameLog.putVarLong(out, game.getStartTime());
+		out.put((byte) game.getAttempted());
+		out.put((byte) game.getState().ordinal());
+		for (int i = 0; i < game.getAttempted(); i++)
+		{
+			GameLog.putVarLong(out, game.getGuess(i));
+			out.put((byte) game.getHint(i));
+		}
+	}
+
+	/**
+	 * Reads one game written by write
+	 * @param in where to read from
+	 * @return the game
+	 * @throws InvalidFileException if the game doesn't make sense
+	 */
+	public static GameSession read(ByteBuffer in) throws InvalidFileException
+	{
+		try
+		{
+			int pegs = in.get();
+			int colors = in.get();
+			int attempts = in.get() & 0xFF;
+			boolean repeats = in.get() != 0;
+			Rules rules = Rules.find(pegs, colors, attempts, repeats);
+			ScoringEngine engine = getEngine(rules);
+
+			long secret = GameLog.getVarLong(in);
+			long startTime = GameLog.getVarLong(in);
+			int count = in.get() & 0xFF;
+			int state = in.get();
+			if (!rules.isValid((int) secret) || secret != (int) secret || count > attempts
+					|| state < 0 || state >= GameState.values().length
+					|| (state == GameState.IN_PROGRESS.ordinal() && count == attempts))
+			{
+				throw new InvalidFileException("Damaged game");
+			}
+
+			int[] guesses = new int[count];
+			int[] hints = new int[count];
+			for (int i = 0; i < count; i++)
+			{
+				long guess = GameLog.getVarLong(in);
+				if (guess < 0 || guess >= rules.getCodeSpace())
+				{
+					throw new InvalidFileException("Damaged game");
+				}
+				guesses[i] = (int) guess;
+				hints[i] = in.get() & 0xFF;
+				if (hints[i] != engine.score(guesses[i], (int) secret))
+				{
+					throw new InvalidFileException("Damaged game: the hints don't match the answer code");
+				}
+			}
+
+			return new GameSession(rules, engine, (int) secret, guesses, hints, count, GameState.values()[state], startTime);
+		}
+		catch (BufferUnderflowException ex)
+		{
+			throw new InvalidFileException("The game is cut short");
+		}
+		catch (IllegalArgumentException ex) //bad rules or numbers
+		{
+			throw new InvalidFileException("Damaged game: " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * Saves one game to a file
+	 * @param game the game
+	 * @param file the file
+	 * @throws IOException
+	 */
+	public static void save(GameSession game, File file) throws IOException
+	{
+		List<GameSession> games = new ArrayList<GameSession>();
+		games.add(game);
+		saveAll(games, file);
+	}
+
+	/**
+	 * Loads a game saved by save
+	 * @param file the file
+	 * @return the game
+	 * @throws IOException if the file can't be read or doesn't hold exactly one game
+	 */
+	public static GameSession load(File file) throws IOException
+	{
+		List<GameSession> games = loadAll(file);
+		if (games.size() != 1)
+		{
+			throw new InvalidFileException(file + " holds " + games.size() + " games, not one.");
+		}
+		return games.get(0);
+	}
+
+	/**
+	 * Saves many games to a file, writing a new file and then renaming it so a crash can't leave half a snapshot
+	 * @param games the games
+	 * @param file the file
+	 * @throws IOException
+	 */
+	public static void saveAll(List<GameSession> games, File file) throws IOException
+	{
+		File temp = new File(file.getPath() + ".tmp");
+		FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		try
+		{
+			ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+			buffer.putInt(MAGIC).putInt(VERSION).putInt(games.size());
+			for (GameSession game : games)
+			{
+				int longest = 4 + 10 + 10 + 2 + game.getAttempted() * 6;
+				if (buffer.remaining() < longest)
+				{
+					drain(buffer, channel);
+					if (buffer.remaining() < longest)
+					{
+						buffer = ByteBuffer.allocate(longest);
+					}
+				}
+				write(game, buffer);
+			}
+			drain(buffer, channel);
+			channel.force(false);
+		}
+		finally
+		{
+			channel.close();
+		}
+
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Loads the games saved by saveAll
+	 * @param file the file
+	 * @return the games
+	 * @throws IOException if the file can't be read or is damaged
+	 */
+	public static List<GameSession> loadAll(File file) throws IOException
+	{
+		ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+		if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC)
+		{
+			throw new InvalidFileException(file + " isn't a saved game.");
+		}
+		int version = in.getInt();
+		if (version != VERSION)
+		{
+			throw new InvalidFileException(file + " is version " + version + " of the saved game format, which isn't supported.");
+		}
+
+		int count = in.getInt();
+		if (count < 0 || count > in.remaining())
+		{
+			throw new InvalidFileException(file + " is damaged.");
+		}
+		List<GameSession> games = new ArrayList<GameSession>(count);
+		for (int i = 0; i < count; i++)
+		{
+			games.add(read(in));
+		}
+
+		return games;
+	}
+
+	/**
+	 * Writes a buffer to a file and empties it
+	 * @param buffer the buffer
+	 * @param channel the file
+	 * @throws IOException
+	 */
+	private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining())
+		{
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Gets a shared engine for a size of board, since restoring many games shouldn't make an engine for each
+	 * @param rules the rules
+	 * @return the ScoringEngine
+	 */
+	private static ScoringEngine getEngine(Rules rules)
+	{
+		long key = (long) rules.getPegs() << 32 | rules.getColors();
+		ScoringEngine engine = engines.get(key);
+		if (engine == null)
+		{
+			engine = rules.createEngine();
+			engines.putIfAbsent(key, engine);
+		}
+		return engine;
+	}
+}
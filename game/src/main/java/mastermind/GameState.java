@@ -0,0 +1,11 @@
+package mastermind;
+
+/**
+ * The states a game of Mastermind can be in
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public enum GameState
+{
+	WON, LOST, IN_PROGRESS, ABANDONED
+}
@@ -1,3 +1,5 @@
+package mastermind;
+
 import java.awt.Color;
 import java.io.Serializable;
 
@@ -1,3 +1,5 @@
+package mastermind;
+
 import java.io.IOException;
 
 
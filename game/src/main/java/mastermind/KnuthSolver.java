@@ -0,0 +1,61 @@
+package mastermind;
+
+/**
+ * Suggests guesses with Knuth's minimax rule: pick the guess whose worst hint leaves the fewest possible answer codes,
+ * preferring guesses which could be the answer themselves. This solves the classic 4 peg, 6 color game in at most five guesses.
+ * A guess is given up on as soon as one of its hints leaves more codes than the best guess so far.
+ * A KnuthSolver can be shared between threads.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class KnuthSolver extends PartitionStrategy
+{
+	/**
+	 * Constructs a KnuthSolver for a set of rules, scoring with a FeedbackTable if the codes fit in one.
+	 * @param inRules the rules of the game
+	 */
+	public KnuthSolver(Rules inRules)
+	{
+		super(inRules);
+	}
+
+	/**
+	 * Constructs a KnuthSolver which scores with a given engine
+	 * @param inRules the rules of the game
+	 * @param inEngine the engine to score guesses with
+	 */
+	public KnuthSolver(Rules inRules, ScoringEngine inEngine)
+	{
+		super(inRules, inEngine);
+	}
+
+	/**
+	 * Rates a guess by the most codes any one hint would leave
+	 * @param partitions how many of the remaining codes give each packed hint
+	 * @param worst the size of the biggest part
+	 * @return the size of the biggest part
+	 */
+	protected int rate(int[] partitions, int worst)
+	{
+		return worst;
+	}
+
+	/**
+	 * Gives up on a guess once any hint leaves more codes than the best guess's worst hint
+	 * @param bestRating the worst case of the best guess so far
+	 * @return the same worst case
+	 */
+	protected int giveUpAbove(int bestRating)
+	{
+		return bestRating;
+	}
+
+	/**
+	 * Gets the name of this strategy
+	 * @return the name
+	 */
+	public String getName()
+	{
+		return "Knuth";
+	}
+}
@@ -0,0 +1,113 @@
+package mastermind;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how long something takes, with a bucket for each power of two nanoseconds.
+ * The buckets are striped counters, so any number of threads can record without blocking each other,
+ * and percentiles are accurate to within a factor of two.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class LatencyHistogram
+{
+	private static final int BUCKETS = 48; //the last one holds anything over a day and a half
+	private final LongAdder[] buckets; //bucket i counts times less than 2^i nanoseconds
+	private final LongAdder totalNanos;
+	private final AtomicLong maxNanos;
+
+	/**
+	 * Constructs an empty LatencyHistogram
+	 */
+	public LatencyHistogram()
+	{
+		buckets = new LongAdder[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			buckets[i] = new LongAdder();
+		}
+		totalNanos = new LongAdder();
+		maxNanos = new AtomicLong();
+	}
+
+	/**
+	 * Records one time
+	 * @param nanos how long it took
+	 */
+	public void record(long nanos)
+	{
+		nanos = Math.max(0, nanos); //nanoTime can step back on some systems
+		int bucket = 64 - Long.numberOfLeadingZeros(nanos);
+		buckets[Math.min(bucket, BUCKETS - 1)].increment();
+		totalNanos.add(nanos);
+
+		long max = maxNanos.get();
+		while (nanos > max && !maxNanos.compareAndSet(max, nanos))
+		{
+			max = maxNanos.get();
+		}
+	}
+
+	/**
+	 * Gets the number of times recorded
+	 * @return the count
+	 */
+	public long getCount()
+	{
+		long count = 0;
+		for (LongAdder bucket : buckets)
+		{
+			count += bucket.sum();
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the mean time
+	 * @return the mean in nanoseconds, or 0 if nothing was recorded
+	 */
+	public double getMeanNanos()
+	{
+		long count = getCount();
+		return count == 0 ? 0 : (double) totalNanos.sum() / count;
+	}
+
+	/**
+	 * Gets the longest time
+	 * @return the longest time in nanoseconds
+	 */
+	public long getMaxNanos()
+	{
+		return maxNanos.get();
+	}
+
+	/**
+	 * Gets a time which a given fraction of the times were no longer than
+	 * @param fraction the fraction of times, such as 0.99
+	 * @return the time in nanoseconds, rounded up to a power of two but no more than the longest, or 0 if nothing was recorded
+	 */
+	public long getPercentileNanos(double fraction)
+	{
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			counts[i] = buckets[i].sum();
+			total += counts[i];
+		}
+
+		long wanted = (long) Math.ceil(total * fraction);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			seen += counts[i];
+			if (seen >= wanted && seen > 0)
+			{
+				return Math.min(1L << i, maxNanos.get());
+			}
+		}
+
+		return 0;
+	}
+}
@@ -0,0 +1,848 @@
+package mastermind;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.GridLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.ButtonGroup;
+import javax.swing.JCheckBoxMenuItem;
+import javax.swing.ImageIcon;
+import javax.swing.JFileChooser;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JMenu;
+import javax.swing.JMenuBar;
+import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JRadioButtonMenuItem;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.JTextPane;
+import javax.swing.SwingUtilities;
+import javax.swing.text.Document;
+
+/**
+ * The JFrame in which to load and display GameBoards
+ * @author Y. Stitzer
+ * @version 12/20/2012
+ */
+public class MastermindFrame extends JFrame
+{
+	private GameBoard game;
+	private StatsCounter stats;
+	private GameLog log;
+	private GameEventBus events; //the boards' games, for the statistics, log, metrics and game over dialogs
+	private ButtonGroup rulesGroup;
+	private Map<Rules, JRadioButtonMenuItem> rulesItems;
+	private TaskRunner tasks;
+	private boolean useCanvas; //draw the board's rows in one BoardCanvas
+	
+/**
+ * Creates a new JFrame with the GameBoard and menu bar
+ */
+	public MastermindFrame()
+	{
+      tasks = new TaskRunner();
+      tasks.run(new ImageTask(GameResources.PICTURE, null)); //loads while the rest is built
+      stats = StatsCounter.getInstance();
+      log = openLog();
+      StartupTimer.mark("statistics and history opened");
+      events = new GameEventBus();
+      events.subscribe(new StatsRecorder(), "statistics");
+      if (log != null)
+      {
+         events.subscribe(new LogRecorder(), "game log");
+      }
+      events.subscribe(GameMetrics.getInstance(), "metrics");
+      events.subscribe(new GameOverDialogs(), "game over dialogs");
+      game = new GameBoard(Rules.CLASSIC, false, events);
+      StartupTimer.mark("board built");
+
+		JMenuBar menuBar = new JMenuBar();
+		menuBar.add(createGameMenu());
+		menuBar.add(createHelpMenu());
+		
+		setJMenuBar(menuBar);
+		add(createHeaderPanel(), BorderLayout.NORTH);
+		add(game, BorderLayout.CENTER);
+		
+		setTitle("Mastermind");
+		StartupTimer.mark("frame built");
+	}
+	
+	/**
+	 * Paints the frame, noting the first time for the startup times
+	 */
+	public void paint(Graphics g)
+	{
+		super.paint(g);
+		StartupTimer.firstFrame();
+	}
+
+	/**
+	 * Opens the game history log
+	 * @return the GameLog, or null if it can't be opened
+	 */
+	private GameLog openLog()
+	{
+		try
+		{
+			return new GameLog(new File(GameLog.DEFAULT_FILENAME));
+		}
+		catch (IOException ex)
+		{
+			System.err.println("Unable to open the game history: " + ex.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Creates a "Game" menu to perform game related actions
+	 * @return the JMenu
+	 */
+	private JMenu createGameMenu()
+	{
+		JMenu menu = new JMenu("Game");
+		
+		menu.add(createNewGameItem());
+		menu.add(createRulesMenu());
+		menu.add(createCanvasItem());
+		menu.add(createSaveGameItem());
+		menu.add(createLoadGameItem());
+		menu.add(createSuggestGuessItem());
+		menu.add(createAutoPlayItem());
+		menu.add(createPossibleCodesItem());
+		menu.add(createShowStatisticsItem());
+		menu.add(createRevealCodeItem());
+		menu.add(createQuitItem());
+		
+		return menu;
+	}
+	
+	/**
+	 * Creates a menu item to start a new game when clicked
+	 * @return the "Start New" menu item
+	 */
+	private JMenuItem createNewGameItem()
+	{
+		JMenuItem item = new JMenuItem("Start New"); 
+		
+		class NewGameAction implements ActionListener
+		{
+			public void actionPerformed(ActionEvent event)
+			{
+				game.abandon();
+				game.reset();
+			}
+			
+		}
+		
+		item.addActionListener(new NewGameAction());
+		
+		return item;
+	}
+
+	/**
+	 * Creates a menu to choose the rules of the game, which starts a new game with those rules
+	 * @return the "Rules" menu
+	 */
+	private JMenu createRulesMenu()
+	{
+		JMenu menu = new JMenu("Rules");
+		rulesGroup = new ButtonGroup();
+		rulesItems = new HashMap<Rules, JRadioButtonMenuItem>();
+		
+		class RulesAction implements ActionListener
+		{
+			private Rules rules;
+			
+			public RulesAction(Rules inRules)
+			{
+				rules = inRules;
+			}
+			
+			public void actionPerformed(ActionEvent event)
+			{
+				if (game.getRules() == rules)
+				{
+					return;
+				}
+				
+				game.abandon();
+				replaceBoard(rules);
+			}
+		}
+		
+		for (Rules rules : Rules.getPresets())
+		{
+			JRadioButtonMenuItem item = new JRadioButtonMenuItem(rules.toString(), rules == game.getRules());
+			item.addActionListener(new RulesAction(rules));
+			rulesGroup.add(item);
+			rulesItems.put(rules, item);
+			menu.add(item);
+		}
+		
+		return menu;
+	}
+	
+	/**
+	 * Creates a menu item to switch between drawing the board in one component and a panel for each row.
+	 * The game being played carries on on the new board.
+	 * @return the "Single Canvas Board" menu item
+	 */
+	private JMenuItem createCanvasItem()
+	{
+		final JCheckBoxMenuItem item = new JCheckBoxMenuItem("Single Canvas Board", useCanvas);
+		
+		class CanvasAction implements ActionListener
+		{
+			public void actionPerformed(ActionEvent event)
+			{
+				if (item.isSelected() == game.usesCanvas())
+				{
+					return;
+				}
+				
+				useCanvas = item.isSelected();
+				GameSession session = game.getSession();
+				game.cancelTasks(); //the old board mustn't carry on playing the game
+				replaceBoard(game.getRules());
+				game.restore(session);
+			}
+		}
+		
+		item.addActionListener(new CanvasAction());
+		
+		return item;
+	}
+	
+	/**
+	 * Puts a new GameBoard with the given rules in place of the current one
+	 * @param rules the rules of the new board
+	 */
+	private void replaceBoard(Rules rules)
+	{
+		game.close();
+		remove(game);
+		game = new GameBoard(rules, useCanvas, events);
+		add(game, BorderLayout.CENTER);
+		pack(); //bigger boards need a bigger frame
+		
+		JRadioButtonMenuItem item = rulesItems.get(rules);
+		if (item != null)
+		{
+			item.setSelected(true);
+		}
+		else
+		{
+			rulesGroup.clearSelection(); //rules from a saved game which aren't one of the presets
+		}
+	}
+	
+	/**
+	 * Creates a menu item to save the game in progress to a file when clicked
+	 * @return the "Save Game" menu item
+	 */
+	private JMenuItem createSaveGameItem()
+	{
+		JMenuItem item = new JMenuItem("Save Game...");
+		
+		class SaveGameTask extends TaskRunner.Task<Void>
+		{
+			private final GameSession session;
+			private final File file;
+			
+			public SaveGameTask(GameSession inSession, File inFile)
+			{
+				session = inSession;
+				file = inFile;
+			}
+			
+			protected Void compute() throws IOException
+			{
+				GameSnapshot.save(session, file);
+				return null;
+			}
+			
+			protected void succeeded(Void result)
+			{
+				//saved
+			}
+			
+			protected void failed(Throwable cause)
+			{
+				JOptionPane.showMessageDialog(game, "Unable to save the game due to file error: " 
+						+ cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+			}
+		}
+		
+		class SaveGameAction implements ActionListener
+		{
+			public void actionPerformed(ActionEvent event)
+			{
+				JFileChooser chooser = new JFileChooser();
+				if (chooser.showSaveDialog(game) != JFileChooser.APPROVE_OPTION)
+				{
+					return;
+				}
+				
+				//a copy of the game as it is now, so guesses made while it's being written don't get mixed in
+				GameSession session = game.getSession();
+				int count = session.getAttempted();
+				int[] guesses = new int[count];
+				int[] hints = new int[count];
+				for (int i = 0; i < count; i++)
+				{
+					guesses[i] = session.getGuess(i);
+					hints[i] = session.getHint(i);
+				}
+				GameSession copy = new GameSession(session.getRules(), session.getEngine(), session.getSecret(), guesses, hints,
+						count, session.getState(), session.getStartTime());
+				tasks.run(new SaveGameTask(copy, chooser.getSelectedFile())); //written in the background
+			}
+		}
+		
+		item.addActionListener(new SaveGameAction());
+		
+		return item;
+	}
+	
+	/**
+	 * Creates a menu item to carry on a game saved to a file when clicked
+	 * @return the "Load Game" menu item
+	 */
+	private JMenuItem createLoadGameItem()
+	{
+		JMenuItem item = new JMenuItem("Load Game...");
+		
+		class LoadGameTask extends TaskRunner.Task<GameSession>
+		{
+			private final File file;
+			
+			public LoadGameTask(File inFile)
+			{
+				file = inFile;
+			}
+			
+			protected GameSession compute() throws IOException
+			{
+				return GameSnapshot.load(file);
+			}
+			
+			protected void failed(Throwable cause)
+			{
+				if (!(cause instanceof IOException))
+				{
+					super.failed(cause);
+					return;
+				}
+				JOptionPane.showMessageDialog(game, "Unable to load the game: " 
+						+ cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+			}
+			
+			protected void succeeded(GameSession saved)
+			{
+				if (saved.getRules().getColors() > CodePeg.MAX_COLORS)
+				{
+					JOptionPane.showMessageDialog(game, "The board can't show a game with " + saved.getRules().getColors() 
+							+ " colors.", "Error", JOptionPane.ERROR_MESSAGE);
+					return;
+				}
+				
+				game.abandon();
+				
+				if (!game.fits(saved))
+				{
+					replaceBoard(saved.getRules());
+				}
+				game.restore(saved);
+			}
+		}
+		
+		class LoadGameAction implements ActionListener
+		{
+			public void actionPerformed(ActionEvent event)
+			{
+				JFileChooser chooser = new JFileChooser();
+				if (chooser.showOpenDialog(game) != JFileChooser.APPROVE_OPTION)
+				{
+					return;
+				}
+				
+				tasks.run(new LoadGameTask(chooser.getSelectedFile())); //read in the background
+			}
+		}
+		
+		item.addActionListener(new LoadGameAction());
+		
+		return item;
+	}
+	
+	/**
+	 * Creates a menu item to fill in the current guess with the computer's suggestion when clicked
+	 * @return the "Suggest Guess" menu item
+	 */
+	private JMenuItem createSuggestGuessItem()
+	{
+		JMenuItem item = new JMenuItem("Suggest Guess");
+		
+		class SuggestGuessAction implements ActionListener
+		{
+			public void actionPerformed(ActionEvent event)
+			{
+				game.suggestGuess();
+			}
+		}
+		
+		item.addActionListener(new SuggestGuessAction());
+		
+		return item;
+	}
+	
+	/**
+	 * Creates a menu item to let the computer finish the game when clicked
+	 * @return the "Auto-play" menu item
+	 */
+	private JMenuItem createAutoPlayItem()
+	{
+		JMenuItem item = new JMenuItem("Auto-play");
+		
+		class AutoPlayAction implements ActionListener
+		{
+			public void actionPerformed(ActionEvent event)
+			{
+				game.autoPlay();
+			}
+		}
+		
+		item.addActionListener(new AutoPlayAction());
+		
+		return item;
+	}
+
+	/**
+	 * Creates a menu item to list some of the answer codes which are still possible when clicked
+	 * @return the "Possible Codes" menu item
+	 */
+	private JMenuItem createPossibleCodesItem()
+	{
+		JMenuItem item = new JMenuItem("Possible Codes");
+		
+		class ListTask extends TaskRunner.Task<String>
+		{
+			private final GameSession session;
+			
+			public ListTask(GameSession inSession)
+			{
+				session = inSession;
+			}
+			
+			protected String compute()
+			{
+				final int SHOWN = 20;
+				int count = session.countCandidates();
+				
+				StringBuilder message = new StringBuilder();
+				message.append(count).append(count == 1 ? " code is" : " codes are");
+				message.append(" still possible");
+				message.append(count > SHOWN ? ", including:\n" : ":\n");
+				ScoringEngine engine = session.getEngine();
+				for (int code : session.listCandidates(SHOWN))
+				{
+					for (int i = 0; i < engine.getPegs(); i++)
+					{
+						message.append(i == 0 ? "" : ", ").append(CodePeg.getColorName(engine.getValue(code, i) + 1));
+					}
+					message.append('\n');
+				}
+				return message.toString();
+			}
+			
+			protected void succeeded(String message)
+			{
+				JOptionPane.showMessageDialog(game, message, "Possible Codes", JOptionPane.INFORMATION_MESSAGE);
+			}
+		}
+		
+		class PossibleCodesAction implements ActionListener
+		{
+			public void actionPerformed(ActionEvent event)
+			{
+				game.runTask(new ListTask(game.getSession()));
+			}
+		}
+		
+		item.addActionListener(new PossibleCodesAction());
+		
+		return item;
+	}
+
+	/**
+	 * Create a menu item to show previously played game statistics when clicked
+	 * @return the "Show Statistics" menu item
+	 */
+	private JMenuItem createShowStatisticsItem()
+	{
+      JMenuItem item = new JMenuItem("Show Statistics"); 
+		
+		class StatisticsTask extends TaskRunner.Task<int[]>
+		{
+			protected int[] compute() throws IOException
+			{
+				return stats.getStats(); //may wait for other programs using the file
+			}
+			
+			protected void failed(Throwable cause)
+			{
+				JOptionPane.showMessageDialog(game, "Unable to retrieve the statistics due to file error: " 
+						+ cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+			}
+			
+			protected void succeeded(int[] currentStats)
+			{
+				JPanel message = new JPanel(new GridLayout(0, 1));
+				
+				JLabel label = new JLabel("Games Won: " + currentStats[StatsCounter.WINS]);
+				message.add(label);
+				
+				label = new JLabel("Games Lost: " + currentStats[StatsCounter.LOSSES]);
+				message.add(label);
+				
+				label = new JLabel("Games Incomplete: " + currentStats[StatsCounter.INCOMPLETES]);
+				message.add(label);
+				
+				JOptionPane.showMessageDialog(game, message, "Mastermind Statistics", JOptionPane.INFORMATION_MESSAGE);
+			}
+		}
+		
+		class StatisticsAction implements ActionListener
+		{
+			public void actionPerformed(ActionEvent event)
+			{
+				tasks.run(new StatisticsTask()); //the file is read in the background
+			}
+		}
+		
+		item.addActionListener(new StatisticsAction());
+		
+		return item;
+	}
+	
+	/**
+	 * Creates a menu item to display the answer code when clicked
+	 * @return the "Reveal Code" menu item
+	 */
+	private JMenuItem createRevealCodeItem()
+	{
+      JMenuItem item = new JMenuItem("Reveal Code"); 
+		
+		class RevealCodeAction implements ActionListener
+		{
+			public void actionPerformed(ActionEvent event)
+			{
+				int selection = JOptionPane.showConfirmDialog(game, "If you reveal the code, this game will be over. \n Do you wish to continue?", 
+						"Confirm Reveal", JOptionPane.YES_NO_OPTION);
+				
+				if (selection == JOptionPane.YES_OPTION)
+				{
+					game.abandon();
+					game.showLostMessage(); //displays the code
+				}
+			}
+		}
+		
+		item.addActionListener(new RevealCodeAction());
+		
+		return item;
+	}
+	
+	/**
+	 * Creates a menu item to terminate the game when clicked
+	 * @return the "Quit" menu item
+	 */
+	private JMenuItem createQuitItem()
+	{
+		JMenuItem item = new JMenuItem("Quit"); 
+		
+		class ExitAction implements ActionListener, Serializable
+		{
+			public void actionPerformed(ActionEvent event)
+			{
+				game.abandon();
+				events.drain(2, TimeUnit.SECONDS); //so the statistics and log have the game before the program ends
+				dispose(); //close frame
+			}
+			
+		}
+		
+		item.addActionListener(new ExitAction());
+		
+		return item;
+	}
+
+	/**
+	 * Create a JMenu to display items to help the user
+	 * @return the "Help" menu
+	 */
+	private JMenu createHelpMenu()
+	{
+		JMenu menu = new JMenu("Help");
+		
+		menu.add(createDirectionsItem());
+		
+		return menu;
+	}
+
+	/**
+	 * Create a menu item to display the game directions to the user when clicked
+	 * @return the "How to Play" menu item
+	 */
+	private JMenuItem createDirectionsItem()
+	{
+		JMenuItem item = new JMenuItem("How to Play");
+		
+		class ReadDirectionsTask extends TaskRunner.Task<String>
+		{
+			protected String compute() throws IOException
+			{
+				return GameResources.getDirections(); //only read from the jar the first time
+			}
+			
+			protected void failed(Throwable cause)
+			{
+				if (cause instanceof FileNotFoundException)
+				{
+					JOptionPane.showMessageDialog(game, "Unable to show game rules because file with rules wasn't found.", "Error", JOptionPane.ERROR_MESSAGE);
+				}
+				else
+				{
+					JOptionPane.showMessageDialog(game, "Unable to show game rules due to error: " 
+							+ cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+				}
+			}
+			
+			protected void succeeded(String text)
+			{
+				//display directions in JFrame
+				final int WIDTH = 320;
+				final int HEIGHT = 585;
+				JLabel textLabel = new JLabel(text);
+				JFrame frame = new JFrame();
+				frame.add(textLabel);
+				frame.setSize(WIDTH, HEIGHT);
+				frame.setLocation(getLocationOnScreen());
+				frame.setTitle("How to Play");
+				frame.setVisible(true);
+				frame.setResizable(false);
+			}
+		}
+		
+		class DirectionsAction implements ActionListener
+		{
+			public void actionPerformed(ActionEvent event)
+			{
+				tasks.run(new ReadDirectionsTask()); //the directions are read in the background
+			}
+		}
+		
+		item.addActionListener(new DirectionsAction());
+		
+		return item;
+	}
+	
+	/**
+	 * Creates a JPanel with the game name and short directions.
+	 * @return the JPanel
+	 */
+	private JPanel createHeaderPanel()
+	{
+		JPanel panel = new JPanel(new GridLayout(0, 1));
+		
+		JLabel directions = new JLabel("Click the pegs to change the colors, then click \"Guess It!\"");
+		directions.setHorizontalAlignment(JLabel.CENTER);
+		
+		JLabel title = new JLabel("Mastermind"); //until the picture is loaded
+		title.setFont(title.getFont().deriveFont(Font.BOLD, 24f));
+		title.setHorizontalAlignment(JLabel.CENTER);
+		tasks.run(new ImageTask(GameResources.TITLE, title));
+		
+		panel.add(title);
+		panel.add(directions);
+		
+		return panel;
+	}
+	
+	/**
+	 * Shows an error message on the event thread
+	 */
+	private class ShowError implements Runnable
+	{
+		private final String message;
+		
+		/**
+		 * Constructs a ShowError
+		 * @param inMessage the message
+		 */
+		public ShowError(String inMessage)
+		{
+			message = inMessage;
+		}
+		
+		public void run()
+		{
+			JOptionPane.showMessageDialog(MastermindFrame.this, message, "Error", JOptionPane.ERROR_MESSAGE);
+		}
+	}
+	
+	/**
+	 * Adds each finished game to the statistics. Games given up part way through count as incomplete.
+	 */
+	private class StatsRecorder implements GameEventListener
+	{
+		public void gameEvent(GameEvent event)
+		{
+			try
+			{
+				switch (event.getType())
+				{
+					case GAME_WON:
+						stats.addWin();
+						break;
+					case GAME_LOST:
+						stats.addLoss();
+						break;
+					case GAME_ABANDONED:
+						stats.addIncomplete();
+						break;
+					default:
+						break;
+				}
+			}
+			catch (IOException ex)
+			{
+				SwingUtilities.invokeLater(new ShowError("Unable to adjust the statistics due to file error: " + ex.getMessage()));
+			}
+		}
+	}
+	
+	/**
+	 * Adds each finished game to the game history log
+	 */
+	private class LogRecorder implements GameEventListener
+	{
+		public void gameEvent(GameEvent event)
+		{
+			if (event.getRecord() == null)
+			{
+				return; //the game isn't over
+			}
+			
+			try
+			{
+				log.append(event.getRecord());
+				log.flush(); //games are far apart, so there's no point keeping them in the buffer
+			}
+			catch (IOException ex)
+			{
+				SwingUtilities.invokeLater(new ShowError("Unable to save the game history due to file error: " + ex.getMessage()));
+			}
+		}
+	}
+	
+	/**
+	 * Shows the won or lost dialog when a game on the board ends
+	 */
+	private class GameOverDialogs implements GameEventListener
+	{
+		public void gameEvent(final GameEvent event)
+		{
+			if (event.getType() != GameEvent.Type.GAME_WON && event.getType() != GameEvent.Type.GAME_LOST)
+			{
+				return;
+			}
+			
+			class ShowGameOver implements Runnable
+			{
+				public void run()
+				{
+					if (game.getSession() != event.getSession())
+					{
+						return; //the board has moved on to another game
+					}
+					
+					if (event.getType() == GameEvent.Type.GAME_WON)
+					{
+						game.showWonMessage();
+					}
+					else
+					{
+						game.showLostMessage();
+					}
+				}
+			}
+			
+			SwingUtilities.invokeLater(new ShowGameOver());
+		}
+	}
+	
+	/**
+	 * Loads one of the game's pictures in the background and puts it in a label, or makes it the frame's icon
+	 */
+	private class ImageTask extends TaskRunner.Task<BufferedImage>
+	{
+		private final String name;
+		private final JLabel label;
+		
+		/**
+		 * Constructs an ImageTask
+		 * @param inName the name of the picture, from GameResources
+		 * @param inLabel the label to show it in, or null to make it the icon
+		 */
+		public ImageTask(String inName, JLabel inLabel)
+		{
+			name = inName;
+			label = inLabel;
+		}
+		
+		protected BufferedImage compute() throws IOException
+		{
+			BufferedImage image = GameResources.readImage(name);
+			StartupTimer.mark(name + " loaded");
+			return image;
+		}
+		
+		protected void succeeded(BufferedImage image)
+		{
+			if (label == null)
+			{
+				setIconImage(image);
+			}
+			else
+			{
+				label.setText(null);
+				label.setIcon(new ImageIcon(image));
+			}
+		}
+		
+		protected void failed(Throwable cause)
+		{
+			System.err.println("Unable to load " + name + ": " + cause.getMessage()); //the game works without it
+		}
+	}
+}
+	
@@ -0,0 +1,68 @@
+package mastermind;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.management.JMException;
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+import javax.swing.UnsupportedLookAndFeelException;
+
+/**
+ * Displays the Mastermind game.
+ * The GameMetrics are shown over JMX, and with -Dmastermind.metrics=file they are also added to a file every
+ * -Dmastermind.metricsSeconds seconds (10 by default), as CSV if the file name ends in .csv.
+ * @author Y. Stitzer
+ * @version 12/20/2012
+ */
+public class MastermindViewer
+{
+
+	public static void main(String[] args) throws InstantiationException, IllegalAccessException, UnsupportedLookAndFeelException, ClassNotFoundException
+	{
+		StartupTimer.mark("main");
+		UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName()); // thought this was cool
+		StartupTimer.mark("look and feel set");
+		
+		class ShowFrame implements Runnable
+		{
+			public void run()
+			{
+				int FRAME_WIDTH = 350;
+			   int FRAME_HEIGHT = 685;
+				MastermindFrame frame = new MastermindFrame();
+				frame.setSize(FRAME_WIDTH, FRAME_HEIGHT);
+				frame.setVisible(true);
+				frame.setResizable(false);
+				frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+			}
+		}
+		
+		SwingUtilities.invokeLater(new ShowFrame()); //Swing components should only be made on the event thread
+		
+		GameMetrics metrics = GameMetrics.getInstance(); //while the frame is built, since JMX takes a while to start
+		try
+		{
+			metrics.register();
+		}
+		catch (JMException ex)
+		{
+			System.err.println("Unable to show the metrics over JMX: " + ex.getMessage());
+		}
+		
+		String dump = System.getProperty("mastermind.metrics");
+		if (dump != null)
+		{
+			try
+			{
+				metrics.startDump(new File(dump), Long.getLong("mastermind.metricsSeconds", 10));
+			}
+			catch (IOException ex)
+			{
+				System.err.println("Unable to write the metrics to " + dump + ": " + ex.getMessage());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,64 @@
+package mastermind;
+
+/**
+ * Picks the guess whose hint tells the most on average: the one whose split of the remaining codes has the highest
+ * entropy, preferring guesses which could be the answer themselves. It needs fewer guesses on average than Knuth's
+ * minimax rule (4.415 against 4.476 for the classic game) but sometimes one more at worst, and can't give up on a guess
+ * early, so each guess takes longer to choose.
+ * A MaxEntropyStrategy can be shared between threads.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class MaxEntropyStrategy extends PartitionStrategy
+{
+	private static final double SCALE = 1024 / Math.log(2); //keeps ratings of different splits apart once they're ints
+
+	/**
+	 * Constructs a MaxEntropyStrategy for a set of rules, scoring with a FeedbackTable if the codes fit in one.
+	 * @param inRules the rules of the game
+	 */
+	public MaxEntropyStrategy(Rules inRules)
+	{
+		super(inRules);
+	}
+
+	/**
+	 * Constructs a MaxEntropyStrategy which scores with a given engine
+	 * @param inRules the rules of the game
+	 * @param inEngine the engine to score guesses with
+	 */
+	public MaxEntropyStrategy(Rules inRules, ScoringEngine inEngine)
+	{
+		super(inRules, inEngine);
+	}
+
+	/**
+	 * Rates a guess by the sum of n log n over the sizes of its parts. With the same number of codes split up every time,
+	 * the entropy is highest when that sum is lowest.
+	 * @param partitions how many of the remaining codes give each packed hint
+	 * @param worst the size of the biggest part
+	 * @return the sum in 1024ths of a bit
+	 */
+	protected int rate(int[] partitions, int worst)
+	{
+		double sum = 0;
+		for (int i = 0; i < partitions.length; i++)
+		{
+			int size = partitions[i];
+			if (size > 1)
+			{
+				sum += size * Math.log(size);
+			}
+		}
+		return (int) (sum * SCALE);
+	}
+
+	/**
+	 * Gets the name of this strategy
+	 * @return the name
+	 */
+	public String getName()
+	{
+		return "Entropy";
+	}
+}
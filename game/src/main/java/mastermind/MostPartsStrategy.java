@@ -0,0 +1,59 @@
+package mastermind;
+
+/**
+ * Picks the guess which could get the most different hints from the remaining codes, preferring guesses which could be
+ * the answer themselves. For the classic game it needs the fewest guesses on average of the strategies here (4.374),
+ * though sometimes one more at worst than Knuth's minimax rule.
+ * A MostPartsStrategy can be shared between threads.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class MostPartsStrategy extends PartitionStrategy
+{
+	/**
+	 * Constructs a MostPartsStrategy for a set of rules, scoring with a FeedbackTable if the codes fit in one.
+	 * @param inRules the rules of the game
+	 */
+	public MostPartsStrategy(Rules inRules)
+	{
+		super(inRules);
+	}
+
+	/**
+	 * Constructs a MostPartsStrategy which scores with a given engine
+	 * @param inRules the rules of the game
+	 * @param inEngine the engine to score guesses with
+	 */
+	public MostPartsStrategy(Rules inRules, ScoringEngine inEngine)
+	{
+		super(inRules, inEngine);
+	}
+
+	/**
+	 * Rates a guess by how many hints none of the remaining codes would give
+	 * @param partitions how many of the remaining codes give each packed hint
+	 * @param worst the size of the biggest part
+	 * @return the number of empty parts
+	 */
+	protected int rate(int[] partitions, int worst)
+	{
+		int empty = 0;
+		for (int i = 0; i < partitions.length; i++)
+		{
+			if (partitions[i] == 0)
+			{
+				empty++;
+			}
+		}
+		return empty;
+	}
+
+	/**
+	 * Gets the name of this strategy
+	 * @return the name
+	 */
+	public String getName()
+	{
+		return "Most parts";
+	}
+}
@@ -0,0 +1,589 @@
+package mastermind;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A strategy's whole decision tree for a set of rules, worked out once and saved in a file, so a guess can be looked up
+ * instead of worked out. The file is memory-mapped read only and shared by every OpeningBook for it, so any number of
+ * boards and threads can use one copy. Finding the next guess follows one node per guess made so far, and allocates nothing.
+ * A game which leaves the book, because a guess wasn't the book's or the book was built to a limited depth,
+ * goes on with a fallback strategy.
+ *
+ * The file is a header followed by the nodes in breadth first order, 16 bytes each: the packed guess, the index of the
+ * node's first child, and a bit for each packed hint which has a child. The children of a node are next to each other
+ * in hint order, so the child for a hint is the first child plus the number of bits set below the hint's bit.
+ * Hints must fit in 64 bits, so books can be built for up to 7 pegs.
+ *
+ * Usage: java mastermind.OpeningBook [--rules name] [--strategy name] [--depth n] [file]
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class OpeningBook implements Strategy
+{
+	public static final String DEFAULT_DIRECTORY = "resources";
+	public static final int MAX_PEGS = 7; //(pegs + 1)^2 hints must fit in a long
+	private static final int MAGIC = 0x4D4D4F42; //"MMOB"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 40;
+	private static final int NODE_SIZE = 16;
+	private static final int MAX_DEPTH = SimulationStats.MAX_GUESSES; //a strategy which hasn't won by then never will
+	private static final Map<String, ByteBuffer> mapped = new HashMap<String, ByteBuffer>(); //by canonical path
+	private final ByteBuffer book; //only ever read with absolute gets, so it can be shared between threads
+	private final Strategy fallback;
+	private final int pegs;
+	private final int colors;
+	private final boolean repeats;
+	private final int depth;
+	private final int nodeCount;
+	private final int worst;
+	private final long totalGuesses;
+
+	/**
+	 * Opens a book, mapping its file the first time it's opened
+	 * @param file the book's file
+	 * @param inFallback the strategy to use once a game leaves the book, or null to throw an IllegalStateException then
+	 * @throws IOException if the file can't be read or isn't a book
+	 */
+	public OpeningBook(File file, Strategy inFallback) throws IOException
+	{
+		book = map(file);
+		fallback = inFallback;
+
+		if (book.capacity() < HEADER_SIZE || book.getInt(0) != MAGIC)
+		{
+			throw new InvalidFileException(file + " isn't an opening book");
+		}
+		if (book.getInt(4) != VERSION)
+		{
+			throw new InvalidFileException(file + " is version " + book.getInt(4) + " of the opening book, which isn't supported.");
+		}
+		pegs = book.getInt(8);
+		colors = book.getInt(12);
+		repeats = book.getInt(16) != 0;
+		depth = book.getInt(20);
+		nodeCount = book.getInt(24);
+		worst = book.getInt(28);
+		totalGuesses = book.getLong(32);
+		if (nodeCount <= 0 || book.capacity() != HEADER_SIZE + (long) nodeCount * NODE_SIZE)
+		{
+			throw new InvalidFileException(file + " is damaged");
+		}
+	}
+
+	/**
+	 * Maps a file, or gets the mapping made the last time it was opened
+	 * @param file the file
+	 * @return the mapped contents
+	 * @throws IOException if the file can't be read
+	 */
+	private static ByteBuffer map(File file) throws IOException
+	{
+		String key = file.getCanonicalPath();
+		synchronized (mapped)
+		{
+			ByteBuffer buffer = mapped.get(key);
+			if (buffer == null)
+			{
+				RandomAccessFile raf = new RandomAccessFile(file, "r");
+				try
+				{
+					if (raf.length() > Integer.MAX_VALUE)
+					{
+						throw new InvalidFileException(file + " is too big to be an opening book");
+					}
+					buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length()); //stays mapped after closing
+				}
+				finally
+				{
+					raf.close();
+				}
+				mapped.put(key, buffer);
+			}
+			return buffer;
+		}
+	}
+
+	/**
+	 * Gets the file the book for a set of rules is kept in by default, such as resources/4x6.book
+	 * @param rules the rules
+	 * @return the File, which may not exist
+	 */
+	public static File defaultFile(Rules rules)
+	{
+		return new File(DEFAULT_DIRECTORY, rules.getPegs() + "x" + rules.getColors() + (rules.allowsRepeats() ? "" : "-no-repeats") + ".book");
+	}
+
+	/**
+	 * Puts the default book for a set of rules in front of a strategy, if there is one
+	 * @param rules the rules
+	 * @param strategy the strategy to use when there's no book, or once a game leaves it
+	 * @return an OpeningBook, or the strategy itself if there's no usable book
+	 */
+	public static Strategy withBook(Rules rules, Strategy strategy)
+	{
+		File file = defaultFile(rules);
+		if (!file.exists())
+		{
+			return strategy;
+		}
+
+		try
+		{
+			OpeningBook opened = new OpeningBook(file, strategy);
+			if (opened.matches(rules))
+			{
+				return opened;
+			}
+			System.err.println(file + " is for different rules, so it won't be used");
+		}
+		catch (IOException ex)
+		{
+			System.err.println("Unable to open " + file + ": " + ex.getMessage());
+		}
+		return strategy;
+	}
+
+	/**
+	 * Looks up the next guess in the book
+	 * @param guesses the packed guesses made so far
+	 * @param hints the packed hint for each guess
+	 * @param count the number of guesses made so far
+	 * @return the packed code to guess next, or -1 if the game has left the book
+	 */
+	public int lookup(int[] guesses, int[] hints, int count)
+	{
+		int node = 0;
+		for (int i = 0; i < count; i++)
+		{
+			int offset = HEADER_SIZE + node * NODE_SIZE;
+			long children = book.getLong(offset + 8);
+			long bit = 1L << hints[i];
+			if (book.getInt(offset) != guesses[i] || (children & bit) == 0)
+			{
+				return -1;
+			}
+			node = book.getInt(offset + 4) + Long.bitCount(children & (bit - 1));
+		}
+		return book.getInt(HEADER_SIZE + node * NODE_SIZE);
+	}
+
+	/**
+	 * Chooses the next guess from the book, or from the fallback strategy once the game has left the book
+	 * @param guesses the packed guesses made so far
+	 * @param hints the packed hint for each guess
+	 * @param count the number of guesses made so far
+	 * @return the packed code to guess next
+	 */
+	public int nextGuess(int[] guesses, int[] hints, int count)
+	{
+		int guess = lookup(guesses, hints, count);
+		if (guess >= 0)
+		{
+			return guess;
+		}
+		if (fallback == null)
+		{
+			throw new IllegalStateException("The game has left the opening book");
+		}
+		return fallback.nextGuess(guesses, hints, count);
+	}
+
+	/**
+	 * Gets the name of this strategy
+	 * @return the name
+	 */
+	public String getName()
+	{
+		return fallback == null ? "Book" : "Book, then " + fallback.getName();
+	}
+
+	/**
+	 * Checks whether the book is for codes like those of a set of rules. The number of attempts doesn't matter.
+	 * @param rules the rules
+	 * @return true if the pegs, colors and repeats match
+	 */
+	public boolean matches(Rules rules)
+	{
+		return rules.getPegs() == pegs && rules.getColors() == colors && rules.allowsRepeats() == repeats;
+	}
+
+	/**
+	 * Checks whether every answer code can be found without leaving the book
+	 * @return true if the book wasn't cut off at a depth
+	 */
+	public boolean isComplete()
+	{
+		return depth == 0;
+	}
+
+	/**
+	 * Gets the number of nodes in the book
+	 * @return the number of nodes, one for each guess the book can give
+	 */
+	public int getNodeCount()
+	{
+		return nodeCount;
+	}
+
+	/**
+	 * Gets the most guesses the book needs to find any code
+	 * @return the number of guesses, only meaningful for a complete book
+	 */
+	public int getWorst()
+	{
+		return worst;
+	}
+
+	/**
+	 * Gets the average number of guesses the book needs to find a code
+	 * @param rules the rules the book is for
+	 * @return the mean number of guesses, only meaningful for a complete book
+	 */
+	public double getMeanGuesses(Rules rules)
+	{
+		return (double) totalGuesses / rules.getCodeCount();
+	}
+
+	/**
+	 * Works out a strategy's decision tree for every answer code of a set of rules and saves it as a book. The tree is
+	 * worked out a level at a time, with the nodes of each level on the common fork-join pool. The file is written
+	 * under another name and then renamed, so a book that's in use is never half written.
+	 * @param rules the rules
+	 * @param strategy the strategy, which must always guess the same way after the same guesses and hints
+	 * @param maxDepth the most guesses to keep in the book, or 0 to keep going until every code is found
+	 * @param file where to save the book
+	 * @return the number of nodes in the book
+	 * @throws IOException if the file can't be written
+	 */
+	public static int build(Rules rules, Strategy strategy, int maxDepth, File file) throws IOException
+	{
+		if (rules.getPegs() > MAX_PEGS)
+		{
+			throw new IllegalArgumentException("Opening books are only for up to " + MAX_PEGS + " pegs");
+		}
+
+		ScoringEngine engine = rules.createEngine();
+		int[] codes = new int[rules.getCodeCount()];
+		int codeCount = 0;
+		for (int code = rules.firstCode(); code >= 0; code = rules.nextCode(code))
+		{
+			codes[codeCount] = code;
+			codeCount++;
+		}
+
+		List<Node> nodes = new ArrayList<Node>();
+		List<Node> level = new ArrayList<Node>();
+		level.add(new Node(new int[0], new int[0], codes, codes.length));
+		nodes.add(level.get(0));
+		int worst = 0;
+		long totalGuesses = 0;
+		int[] partitions = new int[engine.getHintCount()];
+		int[] scores = new int[codes.length];
+
+		for (int guessNumber = 1; !level.isEmpty(); guessNumber++)
+		{
+			if (guessNumber > MAX_DEPTH)
+			{
+				throw new IllegalStateException(strategy.getName() + " didn't find every code in " + MAX_DEPTH + " guesses");
+			}
+			new GuessTask(strategy, level, 0, level.size()).invoke();
+
+			List<Node> next = new ArrayList<Node>();
+			for (Node node : level)
+			{
+				for (int i = 0; i < partitions.length; i++)
+				{
+					partitions[i] = 0;
+				}
+				for (int i = 0; i < node.candidateCount; i++)
+				{
+					scores[i] = engine.score(node.guess, node.candidates[i]);
+					partitions[scores[i]]++;
+				}
+				if (partitions[engine.getWinningHint()] > 0)
+				{
+					worst = guessNumber;
+					totalGuesses += guessNumber;
+				}
+				if (partitions[engine.getWinningHint()] == node.candidateCount)
+				{
+					node.candidates = null;
+					continue;
+				}
+				if (partitions[engine.getWinningHint()] == 0 && partitions[scores[0]] == node.candidateCount)
+				{
+					throw new IllegalStateException(strategy.getName() + " made a guess which couldn't tell the codes apart");
+				}
+				if (guessNumber == maxDepth)
+				{
+					node.candidates = null; //the rest of the game is left to the fallback
+					continue;
+				}
+
+				node.firstChild = nodes.size();
+				for (int hint = 0; hint < partitions.length; hint++)
+				{
+					if (partitions[hint] == 0 || hint == engine.getWinningHint())
+					{
+						continue;
+					}
+
+					int[] childCandidates = new int[partitions[hint]];
+					int childCount = 0;
+					for (int i = 0; i < node.candidateCount; i++)
+					{
+						if (scores[i] == hint)
+						{
+							childCandidates[childCount] = node.candidates[i];
+							childCount++;
+						}
+					}
+					Node child = new Node(append(node.guesses, node.guess), append(node.hints, hint), childCandidates, childCount);
+					node.children |= 1L << hint;
+					nodes.add(child);
+					next.add(child);
+				}
+				node.candidates = null;
+			}
+
+			if ((long) nodes.size() * NODE_SIZE > Integer.MAX_VALUE - HEADER_SIZE)
+			{
+				throw new IllegalArgumentException("The book for " + rules + " would be too big, so build it to a smaller depth");
+			}
+			level = next;
+		}
+
+		write(file, rules, maxDepth, worst, totalGuesses, nodes);
+		return nodes.size();
+	}
+
+	/**
+	 * Makes a copy of an array with one more number on the end
+	 * @param array the array
+	 * @param value the number to add
+	 * @return the longer copy
+	 */
+	private static int[] append(int[] array, int value)
+	{
+		int[] longer = new int[array.length + 1];
+		System.arraycopy(array, 0, longer, 0, array.length);
+		longer[array.length] = value;
+		return longer;
+	}
+
+	/**
+	 * Saves a book, writing a new file and then renaming it
+	 * @param file where to save it
+	 * @param rules the rules it's for
+	 * @param maxDepth the depth it was cut off at, or 0 if it's complete
+	 * @param worst the most guesses it needs for any code
+	 * @param totalGuesses the guesses it needs for all the codes together
+	 * @param nodes the nodes in breadth first order
+	 * @throws IOException if the file can't be written
+	 */
+	private static void write(File file, Rules rules, int maxDepth, int worst, long totalGuesses, List<Node> nodes)
+			throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + nodes.size() * NODE_SIZE);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(rules.getPegs()).putInt(rules.getColors())
+				.putInt(rules.allowsRepeats() ? 1 : 0).putInt(maxDepth).putInt(nodes.size()).putInt(worst).putLong(totalGuesses);
+		for (Node node : nodes)
+		{
+			buffer.putInt(node.guess).putInt(node.firstChild).putLong(node.children);
+		}
+		buffer.flip();
+
+		File temp = new File(file.getPath() + ".tmp");
+		FileOutputStream out = new FileOutputStream(temp);
+		try
+		{
+			FileChannel channel = out.getChannel();
+			while (buffer.hasRemaining())
+			{
+				channel.write(buffer);
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * One node of a decision tree while it's being built
+	 */
+	private static class Node
+	{
+		private final int[] guesses; //the guesses and hints which lead to this node
+		private final int[] hints;
+		private int[] candidates; //the codes which could still be the answer, dropped once the children are made
+		private final int candidateCount;
+		private int guess;
+		private int firstChild;
+		private long children; //a bit for each hint with a child
+
+		/**
+		 * Constructs a Node
+		 * @param inGuesses the packed guesses which lead to it
+		 * @param inHints the packed hint for each guess
+		 * @param inCandidates the packed codes which could still be the answer
+		 * @param inCandidateCount how many codes are used in inCandidates
+		 */
+		public Node(int[] inGuesses, int[] inHints, int[] inCandidates, int inCandidateCount)
+		{
+			guesses = inGuesses;
+			hints = inHints;
+			candidates = inCandidates;
+			candidateCount = inCandidateCount;
+		}
+	}
+
+	/**
+	 * Asks the strategy for the guess at each node in a range of a level
+	 */
+	private static class GuessTask extends RecursiveAction
+	{
+		private final Strategy strategy;
+		private final List<Node> level;
+		private final int from;
+		private final int to;
+
+		/**
+		 * Constructs a task for the nodes from index "from" (inclusive) to "to" (exclusive)
+		 * @param inStrategy the strategy
+		 * @param inLevel the nodes of the level
+		 * @param inFrom the index of the first node
+		 * @param inTo one past the index of the last node
+		 */
+		public GuessTask(Strategy inStrategy, List<Node> inLevel, int inFrom, int inTo)
+		{
+			strategy = inStrategy;
+			level = inLevel;
+			from = inFrom;
+			to = inTo;
+		}
+
+		protected void compute()
+		{
+			if (to - from > 1)
+			{
+				int middle = (from + to) >>> 1;
+				invokeAll(new GuessTask(strategy, level, from, middle), new GuessTask(strategy, level, middle, to));
+				return;
+			}
+
+			Node node = level.get(from);
+			node.guess = node.candidateCount == 1 ? node.candidates[0]
+					: strategy.nextGuess(node.guesses, node.hints, node.guesses.length);
+		}
+	}
+
+	/**
+	 * Builds a book and checks it by playing every answer code from it.
+	 * Usage: java mastermind.OpeningBook [--rules name] [--strategy name] [--depth n] [file]
+	 * The book is for the classic game with the Knuth strategy unless told otherwise, and goes in the default file for its rules.
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		Rules rules = Rules.CLASSIC;
+		String strategyName = "knuth";
+		int maxDepth = 0;
+		File file = null;
+		Strategy strategy = null;
+
+		try
+		{
+			for (int i = 0; i < args.length; i++)
+			{
+				String arg = args[i];
+				if (i + 1 < args.length && arg.equals("--rules"))
+				{
+					rules = Rules.forName(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--strategy"))
+				{
+					strategyName = args[++i];
+				}
+				else if (i + 1 < args.length && arg.equals("--depth"))
+				{
+					maxDepth = Integer.parseInt(args[++i]);
+				}
+				else if (!arg.startsWith("--") && file == null)
+				{
+					file = new File(arg);
+				}
+				else
+				{
+					throw new IllegalArgumentException("Unknown argument: " + arg);
+				}
+			}
+
+			strategy = Simulator.createStrategy(strategyName, rules);
+		}
+		catch (IllegalArgumentException ex)
+		{
+			System.err.println(ex.getMessage());
+			System.err.println("Usage: java mastermind.OpeningBook [--rules name] [--strategy name] [--depth n] [file]");
+			System.exit(1);
+		}
+		if (file == null)
+		{
+			file = defaultFile(rules);
+		}
+
+		long start = System.nanoTime();
+		int nodes = build(rules, strategy, maxDepth, file);
+		System.out.printf("Built %s for %s with the %s strategy: %d nodes, %d bytes in %.2f s%n", file, rules,
+				strategy.getName(), nodes, file.length(), (System.nanoTime() - start) / 1e9);
+
+		OpeningBook book = new OpeningBook(file, null);
+		ScoringEngine engine = rules.createEngine();
+		int[] guesses = new int[MAX_DEPTH];
+		int[] hints = new int[MAX_DEPTH];
+		long totalGuesses = 0;
+		int worst = 0;
+		int found = 0;
+		for (int secret = rules.firstCode(); secret >= 0; secret = rules.nextCode(secret))
+		{
+			int count = 0;
+			int hint = -1;
+			do
+			{
+				int guess = book.lookup(guesses, hints, count);
+				if (guess < 0)
+				{
+					break; //the rest of this game would be up to the fallback
+				}
+				guesses[count] = guess;
+				hint = engine.score(guess, secret);
+				hints[count] = hint;
+				count++;
+			}
+			while (hint != engine.getWinningHint());
+
+			if (hint == engine.getWinningHint())
+			{
+				found++;
+				totalGuesses += count;
+				worst = Math.max(worst, count);
+			}
+		}
+
+		System.out.printf("Found %d of %d codes in the book, in %.4f guesses on average and %d at worst%n",
+				found, rules.getCodeCount(), (double) totalGuesses / Math.max(found, 1), worst);
+	}
+}
@@ -0,0 +1,1108 @@
+package mastermind;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Works out the strategy which finds the answer in the fewest guesses on average, by searching every guess at every
+ * position with branch and bound. The cost of a set of codes which could still be the answer is the total number of
+ * guesses it takes to find each of them, which is the number of codes plus the cost of every part a guess splits them
+ * into, so the best guess for a position only depends on the codes left and never on how the game got there.
+ *
+ * A part of k codes can't cost less than if every guess found one of them and split the rest as evenly as the hints allow,
+ * so each guess gets a lower bound from the sizes of its parts before any of them is searched. Guesses are searched from
+ * the lowest bound up, the search stops once the lower bounds reach the best cost found, and each part is searched only
+ * while the guess can still beat the best. Positions which are the same but for the names of the colors and the order
+ * of the pegs are only searched once, through a TranspositionCache which remembers the exact cost and best guess of
+ * every position solved and the lower bound of every position given up on. Guesses which are the same as another but for
+ * such a renaming are only tried once: every renaming which leaves the guesses so far as they are is found for each
+ * position, and a guess is skipped if one of them turns an earlier guess into it.
+ * Big positions try their guesses in parallel on the fork-join pool, sharing the best cost so far, after searching the
+ * most promising guess on their own to get a bound.
+ *
+ * The classic 4 peg, 6 color game takes 5625 guesses to find all 1296 codes, 4.3403 on average.
+ * Only rules with up to MAX_PEGS pegs whose codes fit in a FeedbackTable can be solved. An OptimalSolver can be shared between threads, and
+ * is a Strategy which answers from the cache once the first guess has been worked out.
+ *
+ * Usage: java mastermind.OptimalSolver [--rules name] [--threads n,n,...] [--cache n] [--book [file]]
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class OptimalSolver implements Strategy
+{
+	public static final int DEFAULT_CACHE = 1 << 21;
+	public static final int MAX_PEGS = 6; //every order of the pegs is tried, so there can't be too many
+	private static final int PARALLEL_CODES = 96; //positions with this many codes try their guesses in parallel
+	private static final int CACHED_CODES = 5; //smaller positions are quicker to solve again than to look up
+	private static final int GUESSES_PER_TASK = 4;
+	private static final long EXACT = 1L << 32; //marks a cache entry as the exact cost rather than a lower bound
+	private static final long NOT_CANDIDATE = 1L << 32; //sorts a guess which can't be the answer after those which can
+	private static final int ALL_GUESSES = 0;
+	private static final int CANDIDATES = 1;
+	private static final int OTHERS = 2;
+	private final Rules rules;
+	private final ScoringEngine engine;
+	private final int[] codes; //every allowed code, each of which may be guessed
+	private final int[] powers; //colors^i, the place value of peg i in a packed code
+	private final int[][] pegOrders; //every order of the pegs
+	private final int[] lowerBounds; //the least total guesses any strategy needs to find each of k codes
+	private final int winningHint;
+	private final TranspositionCache cache;
+	private final LongAdder nodes;
+	private final LongAdder scored;
+	private final LongAdder searched;
+	private final LongAdder cutOff;
+
+	/**
+	 * Constructs an OptimalSolver with a cache of the default size
+	 * @param inRules the rules of the game, whose codes must fit in a FeedbackTable
+	 */
+	public OptimalSolver(Rules inRules)
+	{
+		this(inRules, DEFAULT_CACHE);
+	}
+
+	/**
+	 * Constructs an OptimalSolver
+	 * @param inRules the rules of the game, whose codes must fit in a FeedbackTable
+	 * @param cacheSize the most positions to remember
+	 */
+	public OptimalSolver(Rules inRules, int cacheSize)
+	{
+		if (!FeedbackTable.fits(inRules.getPegs(), inRules.getColors()) || inRules.getPegs() > MAX_PEGS)
+		{
+			throw new IllegalArgumentException("Too many codes to solve exactly: " + inRules);
+		}
+
+		rules = inRules;
+		engine = FeedbackTable.getInstance(rules.getPegs(), rules.getColors());
+		winningHint = engine.getWinningHint();
+		cache = new TranspositionCache(cacheSize);
+		nodes = new LongAdder();
+		scored = new LongAdder();
+		searched = new LongAdder();
+		cutOff = new LongAdder();
+
+		codes = new int[rules.getCodeCount()];
+		int count = 0;
+		for (int code = rules.firstCode(); code >= 0; code = rules.nextCode(code))
+		{
+			codes[count] = code;
+			count++;
+		}
+
+		int pegs = rules.getPegs();
+		powers = new int[pegs];
+		for (int i = 0, power = 1; i < pegs; i++, power *= rules.getColors())
+		{
+			powers[i] = power;
+		}
+		int orderCount = 1;
+		for (int i = 2; i <= pegs; i++)
+		{
+			orderCount *= i;
+		}
+		pegOrders = new int[orderCount][];
+		int[] order = new int[pegs];
+		for (int i = 0; i < pegs; i++)
+		{
+			order[i] = i;
+		}
+		for (int i = 0; i < orderCount; i++)
+		{
+			pegOrders[i] = order.clone();
+			CodeSymmetry.nextPermutation(order);
+		}
+
+		//a guess can split the codes it doesn't find by at most every hint two codes can give, but the winning one
+		boolean[] seen = new boolean[engine.getHintCount()];
+		int splits = 0;
+		for (int guess : codes)
+		{
+			for (int secret : codes)
+			{
+				int hint = engine.score(guess, secret);
+				if (!seen[hint] && hint != winningHint)
+				{
+					seen[hint] = true;
+					splits++;
+				}
+			}
+		}
+
+		//the best any strategy can do is find one code with each guess, and split the rest into parts as big as each other
+		lowerBounds = new int[codes.length + 1];
+		int level = 1;
+		int levelSize = 1; //how many codes could be found with exactly level guesses
+		int found = 0;
+		for (int k = 1; k <= codes.length; k++)
+		{
+			if (found == levelSize)
+			{
+				level++;
+				levelSize *= Math.max(splits, 1);
+				found = 0;
+			}
+			lowerBounds[k] = lowerBounds[k - 1] + level;
+			found++;
+		}
+	}
+
+	/**
+	 * Works out the best strategy for the whole game, on a given pool
+	 * @param pool the pool to search on
+	 * @return the total number of guesses the best strategy takes to find every code
+	 */
+	public int solve(ForkJoinPool pool)
+	{
+		long best = pool.invoke(new PositionTask(codes.clone(), codes.length, new int[0], 0));
+		return (int) (best >>> 32);
+	}
+
+	/**
+	 * Chooses the best guess to make next, working it out if it isn't in the cache
+	 * @param guesses the packed guesses made so far
+	 * @param hints the packed hint for each guess
+	 * @param count the number of guesses made so far
+	 * @return the packed code to guess next
+	 */
+	public int nextGuess(int[] guesses, int[] hints, int count)
+	{
+		int[] candidates = new int[codes.length];
+		int candidateCount = 0;
+		for (int code : codes)
+		{
+			int i = 0;
+			while (i < count && engine.score(guesses[i], code) == hints[i])
+			{
+				i++;
+			}
+			if (i == count)
+			{
+				candidates[candidateCount] = code;
+				candidateCount++;
+			}
+		}
+
+		if (candidateCount == 0)
+		{
+			throw new IllegalArgumentException("No code matches the given hints");
+		}
+
+		long best = new PositionTask(candidates, candidateCount, Arrays.copyOf(guesses, count), count).invoke();
+		return (int) best;
+	}
+
+	/**
+	 * Gets the name of this strategy
+	 * @return the name
+	 */
+	public String getName()
+	{
+		return "Optimal";
+	}
+
+	/**
+	 * Gets the rules this solver plays by
+	 * @return the Rules
+	 */
+	public Rules getRules()
+	{
+		return rules;
+	}
+
+	/**
+	 * Gets the cache the positions worked out are kept in
+	 * @return the TranspositionCache
+	 */
+	public TranspositionCache getCache()
+	{
+		return cache;
+	}
+
+	/**
+	 * Gets the number of positions searched, not counting those of one or two codes, those found in the cache or those
+	 * whose lower bound alone ruled them out
+	 * @return the number of nodes
+	 */
+	public long getNodes()
+	{
+		return nodes.sum();
+	}
+
+	/**
+	 * Gets the number of guesses split up against a position to find their lower bounds
+	 * @return the number of guesses scored
+	 */
+	public long getScored()
+	{
+		return scored.sum();
+	}
+
+	/**
+	 * Gets the number of guesses whose parts were searched
+	 * @return the number of guesses searched
+	 */
+	public long getSearched()
+	{
+		return searched.sum();
+	}
+
+	/**
+	 * Gets the number of guesses given up on part way through their parts, because they couldn't beat the best any more
+	 * @return the number of guesses cut off
+	 */
+	public long getCutOff()
+	{
+		return cutOff.sum();
+	}
+
+	/**
+	 * Gets the fraction of the guesses scored whose parts never had to be searched in full, because their lower bound
+	 * or the parts searched so far already showed they couldn't beat the best guess
+	 * @return the pruning ratio, from 0 to 1
+	 */
+	public double getPruningRatio()
+	{
+		long all = getScored();
+		return all == 0 ? 0 : 1 - (double) (getSearched() - getCutOff()) / all;
+	}
+
+	/**
+	 * Packs a cost and a guess into one long
+	 * @param cost the total number of guesses
+	 * @param guess the packed guess, or -1 for none
+	 * @return the cost in the high int and the guess in the low int
+	 */
+	private static long pack(int cost, int guess)
+	{
+		return ((long) cost << 32) | (guess & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Searches one position, from its own Searcher
+	 */
+	private class PositionTask extends RecursiveTask<Long>
+	{
+		private final int[] candidates;
+		private final int candidateCount;
+		private final int[] history;
+		private final int depth;
+
+		/**
+		 * Constructs a PositionTask
+		 * @param inCandidates the codes which could still be the answer
+		 * @param inCandidateCount how many codes are used in inCandidates
+		 * @param inHistory the packed guesses which led to the position
+		 * @param inDepth the number of guesses which led to the position
+		 */
+		public PositionTask(int[] inCandidates, int inCandidateCount, int[] inHistory, int inDepth)
+		{
+			candidates = inCandidates;
+			candidateCount = inCandidateCount;
+			history = inHistory;
+			depth = inDepth;
+		}
+
+		protected Long compute()
+		{
+			Searcher searcher = new Searcher(history, depth);
+			long best = searcher.solve(candidates, 0, candidateCount, depth, Integer.MAX_VALUE);
+			searcher.flush();
+			return best;
+		}
+	}
+
+	/**
+	 * Searches a range of the guesses of a big position, sharing the best cost and guess found so far with the other
+	 * ranges. The best is packed as the cost in the high int and the index of the guess in the low int, and a guess only
+	 * has to tie the best to replace it if it comes first, so the same guess wins however the ranges are run.
+	 */
+	private class GuessTask extends RecursiveTask<Long>
+	{
+		private final int[] candidates;
+		private final int candidateCount;
+		private final int[] history;
+		private final int depth;
+		private final long[] guessOrder;
+		private final int from;
+		private final int to;
+		private final AtomicLong best;
+
+		/**
+		 * Constructs a task to search the guesses from index "from" (inclusive) to "to" (exclusive)
+		 * @param inCandidates the codes which could still be the answer
+		 * @param inCandidateCount how many codes are used in inCandidates
+		 * @param inHistory the packed guesses which led to the position
+		 * @param inDepth the number of guesses which led to the position
+		 * @param inGuessOrder the guesses, packed with their lower bounds and sorted by them
+		 * @param inFrom the index of the first guess
+		 * @param inTo one past the index of the last guess
+		 * @param inBest the best cost and guess index so far
+		 */
+		public GuessTask(int[] inCandidates, int inCandidateCount, int[] inHistory, int inDepth, long[] inGuessOrder,
+				int inFrom, int inTo, AtomicLong inBest)
+		{
+			candidates = inCandidates;
+			candidateCount = inCandidateCount;
+			history = inHistory;
+			depth = inDepth;
+			guessOrder = inGuessOrder;
+			from = inFrom;
+			to = inTo;
+			best = inBest;
+		}
+
+		protected Long compute()
+		{
+			if (to - from > GUESSES_PER_TASK)
+			{
+				int middle = (from + to) >>> 1;
+				GuessTask left = new GuessTask(candidates, candidateCount, history, depth, guessOrder, from, middle, best);
+				GuessTask right = new GuessTask(candidates, candidateCount, history, depth, guessOrder, middle, to, best);
+				left.fork();
+				long rightFloor = right.compute();
+				long leftFloor = left.join();
+
+				return Math.min(leftFloor, rightFloor);
+			}
+
+			Searcher searcher = null;
+			long floor = Long.MAX_VALUE; //the least lower bound of a guess given up on
+			for (int index = from; index < to; index++)
+			{
+				long current = best.get();
+				int bound = (int) (current >>> 32) + (index < (int) current ? 1 : 0);
+				int lowerBound = (int) (guessOrder[index] >>> 33);
+				if (lowerBound >= bound)
+				{
+					floor = Math.min(floor, lowerBound);
+					break; //the rest are sorted after this one
+				}
+
+				if (searcher == null)
+				{
+					searcher = new Searcher(history, depth);
+				}
+				int cost = searcher.evaluate((int) guessOrder[index], candidates, 0, candidateCount, depth, bound);
+				if (cost >= bound)
+				{
+					floor = Math.min(floor, cost);
+					continue;
+				}
+
+				long found = pack(cost, index);
+				while (found < current && !best.compareAndSet(current, found))
+				{
+					current = best.get();
+				}
+			}
+
+			if (searcher != null)
+			{
+				searcher.flush();
+			}
+			return floor;
+		}
+	}
+
+	/**
+	 * Searches positions one at a time on one thread, keeping the codes and guesses of each level of the search in arrays
+	 * of its own which are reused from one position to the next
+	 */
+	private class Searcher
+	{
+		private int[] history; //the packed guesses which led to the position at each depth
+		private int[][] parts; //the codes of a position's guess, in parts by hint, at each depth
+		private int[][] partSizes;
+		private int[][] partStarts;
+		private int[][] partOrder; //the hints of the parts, biggest first
+		private long[][] guessOrders; //the guesses tried at each depth, packed with their lower bounds
+		private final boolean[] tried; //the guesses tried already at the current position, and those the same as them
+		private final int[][] symmetries; //the color map of each order of the pegs which leaves the guesses so far as they are
+		private final int[] symmetryOrders; //the index in pegOrders of each of those orders
+		private final int[] renamed;
+		private long guessFloor; //the least lower bound of the guesses scoreGuesses didn't keep
+		private final boolean[] isCandidate;
+		private long nodeCount;
+		private long scoredCount;
+		private long searchedCount;
+		private long cutOffCount;
+
+		/**
+		 * Constructs a Searcher
+		 * @param inHistory the packed guesses which led to the first position it will search
+		 * @param depth the number of guesses which led there
+		 */
+		public Searcher(int[] inHistory, int depth)
+		{
+			history = Arrays.copyOf(inHistory, depth + 8);
+			parts = new int[history.length][];
+			partSizes = new int[history.length][];
+			partStarts = new int[history.length][];
+			partOrder = new int[history.length][];
+			guessOrders = new long[history.length][];
+			tried = new boolean[rules.getCodeSpace()];
+			symmetries = new int[pegOrders.length][rules.getColors()];
+			symmetryOrders = new int[pegOrders.length];
+			renamed = new int[rules.getColors()];
+			isCandidate = new boolean[rules.getCodeSpace()];
+		}
+
+		/**
+		 * Adds what this Searcher counted to the solver's totals
+		 */
+		public void flush()
+		{
+			nodes.add(nodeCount);
+			scored.add(scoredCount);
+			searched.add(searchedCount);
+			cutOff.add(cutOffCount);
+			nodeCount = 0;
+			scoredCount = 0;
+			searchedCount = 0;
+			cutOffCount = 0;
+		}
+
+		/**
+		 * Makes sure there are arrays for the position at a depth and the one below it
+		 * @param depth the depth
+		 */
+		private void reserve(int depth)
+		{
+			if (depth + 1 >= history.length)
+			{
+				int length = history.length * 2;
+				history = Arrays.copyOf(history, length);
+				parts = Arrays.copyOf(parts, length);
+				partSizes = Arrays.copyOf(partSizes, length);
+				partStarts = Arrays.copyOf(partStarts, length);
+				partOrder = Arrays.copyOf(partOrder, length);
+				guessOrders = Arrays.copyOf(guessOrders, length);
+			}
+			if (parts[depth] == null)
+			{
+				parts[depth] = new int[codes.length];
+				partSizes[depth] = new int[engine.getHintCount()];
+				partStarts[depth] = new int[engine.getHintCount()];
+				partOrder[depth] = new int[engine.getHintCount()];
+				guessOrders[depth] = new long[codes.length];
+			}
+		}
+
+		/**
+		 * Finds the best guess for a position
+		 * @param set the array holding the codes which could still be the answer
+		 * @param from the index of the first of them
+		 * @param size the number of them, at least 1
+		 * @param depth the number of guesses which led to the position, which are at the start of history
+		 * @param bound the cost the best guess has to beat
+		 * @return the cost and packed guess, packed as in pack. If the cost is at least bound, it's only a lower bound and the guess is -1.
+		 */
+		public long solve(int[] set, int from, int size, int depth, int bound)
+		{
+			if (size <= 2) //guessing either code finds it with one guess and the other with two
+			{
+				return pack(2 * size - 1, set[from]);
+			}
+
+			int lowerBound = lowerBounds[size];
+			if (lowerBound >= bound)
+			{
+				return pack(lowerBound, -1);
+			}
+
+			CodeSymmetry symmetry = null;
+			long low = 0;
+			long high = 0;
+			if (size >= CACHED_CODES)
+			{
+				symmetry = CodeSymmetry.canonical(rules, history, depth);
+				for (int i = from; i < from + size; i++)
+				{
+					long hash = TranspositionCache.mix(symmetry.apply(set[i]) + 0x9E3779B97F4A7C15L);
+					low += hash;
+					high += TranspositionCache.mix(hash);
+				}
+
+				long cached = cache.get(low, high, size);
+				if (cached != TranspositionCache.MISSING)
+				{
+					int cost = (int) (cached >>> 33);
+					if ((cached & EXACT) != 0)
+					{
+						return pack(cost, symmetry.invert((int) cached));
+					}
+					lowerBound = Math.max(lowerBound, cost);
+					if (lowerBound >= bound)
+					{
+						return pack(lowerBound, -1);
+					}
+				}
+			}
+
+			nodeCount++;
+			long best = search(set, from, size, depth, bound, lowerBound);
+			if (symmetry != null)
+			{
+				int cost = (int) (best >>> 32);
+				if (cost < bound)
+				{
+					cache.put(low, high, size, ((long) cost << 33) | EXACT | symmetry.apply((int) best));
+				}
+				else
+				{
+					cache.put(low, high, size, (long) cost << 33);
+				}
+			}
+			return best;
+		}
+
+		/**
+		 * Finds the best guess for a position which isn't in the cache, trying the guesses with the lowest bounds first.
+		 * Small positions try the codes which could be the answer before the rest, since one of them is usually the best
+		 * and the rest can then be given up on after only a few codes each.
+		 * @param set the array holding the codes which could still be the answer
+		 * @param from the index of the first of them
+		 * @param size the number of them, at least 3
+		 * @param depth the number of guesses which led to the position
+		 * @param bound the cost the best guess has to beat
+		 * @param lowerBound the least the position can cost, so the search can stop if a guess costs that
+		 * @return the cost and packed guess, as in solve
+		 */
+		private long search(int[] set, int from, int size, int depth, int bound, int lowerBound)
+		{
+			reserve(depth);
+			long[] guessOrder = guessOrders[depth];
+			long floor = Long.MAX_VALUE; //the least lower bound of a guess given up on
+
+			if (lowerBound == 2 * size - 1)
+			{
+				//a code which tells all the others apart is as good as it gets, and without one no guess can do better than 2 * size
+				for (int i = from; i < from + size; i++)
+				{
+					if (splitsApart(set[i], set, from, size, partSizes[depth]))
+					{
+						return pack(lowerBound, set[i]);
+					}
+				}
+				lowerBound++;
+				if (lowerBound >= bound)
+				{
+					return pack(lowerBound, -1);
+				}
+			}
+
+			if (size >= PARALLEL_CODES)
+			{
+				int guessCount = scoreGuesses(set, from, size, depth, bound, ALL_GUESSES);
+				floor = Math.min(floor, guessFloor);
+				if (guessCount > 0)
+				{
+					Arrays.sort(guessOrder, 0, guessCount); //lowest bound first, then guesses which could be the answer
+					return searchInParallel(set, from, size, depth, bound, lowerBound, guessOrder, guessCount, floor);
+				}
+			}
+
+			int best = bound;
+			int bestGuess = -1;
+			for (int which = CANDIDATES; which <= OTHERS && best > lowerBound && size < PARALLEL_CODES; which++)
+			{
+				int guessCount = scoreGuesses(set, from, size, depth, best, which);
+				floor = Math.min(floor, guessFloor);
+
+				//few guesses get searched before the bounds catch up with the best, so they're picked out one at a time instead of sorted
+				for (int index = 0; index < guessCount && best > lowerBound; index++)
+				{
+					int lowest = index;
+					for (int i = index + 1; i < guessCount; i++)
+					{
+						if (guessOrder[i] < guessOrder[lowest])
+						{
+							lowest = i;
+						}
+					}
+					long swap = guessOrder[index];
+					guessOrder[index] = guessOrder[lowest];
+					guessOrder[lowest] = swap;
+
+					int guessBound = (int) (guessOrder[index] >>> 33);
+					if (guessBound >= best)
+					{
+						floor = Math.min(floor, guessBound);
+						break;
+					}
+
+					int guess = (int) guessOrder[index];
+					int cost = evaluate(guess, set, from, size, depth, best);
+					if (cost < best)
+					{
+						best = cost;
+						bestGuess = guess;
+					}
+					else
+					{
+						floor = Math.min(floor, cost);
+					}
+				}
+			}
+
+			if (bestGuess < 0)
+			{
+				return pack((int) Math.min(floor, Integer.MAX_VALUE), -1);
+			}
+			return pack(best, bestGuess);
+		}
+
+		/**
+		 * Works out the lower bound of each guess for a position, skipping guesses of a kind already scored, and keeps
+		 * those below a bound in guessOrders[depth]. The least bound of those which aren't kept is left in guessFloor.
+		 * @param set the array holding the codes which could still be the answer
+		 * @param from the index of the first of them
+		 * @param size the number of them
+		 * @param depth the number of guesses which led to the position
+		 * @param bound the cost a guess has to be able to beat to be kept
+		 * @param which ALL_GUESSES, CANDIDATES for only the codes which could be the answer, or OTHERS for only the rest
+		 * @return the number of guesses kept
+		 */
+		private int scoreGuesses(int[] set, int from, int size, int depth, int bound, int which)
+		{
+			long[] guessOrder = guessOrders[depth];
+			int[] sizes = partSizes[depth];
+			int guessCount = 0;
+			guessFloor = Long.MAX_VALUE;
+
+			for (int i = from; i < from + size; i++)
+			{
+				isCandidate[set[i]] = true;
+			}
+			int unused = unusedColors(depth);
+			int symmetryCount = findSymmetries(depth);
+			int[] guesses = which == CANDIDATES ? set : codes;
+			int first = which == CANDIDATES ? from : 0;
+			int last = which == CANDIDATES ? from + size : codes.length;
+			for (int g = first; g < last; g++)
+			{
+				int guess = guesses[g];
+				if ((which == OTHERS && isCandidate[guess]) || !isFirstUnused(guess, unused)
+						|| (symmetryCount > 1 && !isFirstOfKind(guess, symmetryCount, unused)))
+				{
+					continue;
+				}
+
+				//adds up the guess's lower bound as the codes go into their parts, and gives up once it reaches the bound
+				Arrays.fill(sizes, 0);
+				scoredCount++;
+				int guessBound = size;
+				int firstHint = engine.score(guess, set[from]);
+				boolean splits = false;
+				for (int i = from; i < from + size && guessBound < bound; i++)
+				{
+					int hint = engine.score(guess, set[i]);
+					splits |= hint != firstHint;
+					if (hint != winningHint)
+					{
+						int partSize = ++sizes[hint];
+						guessBound += lowerBounds[partSize] - lowerBounds[partSize - 1];
+					}
+				}
+
+				if (!splits && !isCandidate[guess] && guessBound < bound)
+				{
+					continue; //the guess wouldn't tell the codes apart
+				}
+				if (guessBound >= bound)
+				{
+					guessFloor = Math.min(guessFloor, guessBound);
+					continue;
+				}
+				guessOrder[guessCount] = ((long) guessBound << 33) | (isCandidate[guess] ? 0 : NOT_CANDIDATE) | guess;
+				guessCount++;
+			}
+
+			for (int i = from; i < from + size; i++)
+			{
+				isCandidate[set[i]] = false;
+			}
+			if (symmetryCount > 1)
+			{
+				Arrays.fill(tried, false);
+			}
+			return guessCount;
+		}
+
+
+		/**
+		 * Searches the guesses of a big position in parallel, after searching the first one to get a bound for the rest
+		 * @param set the array holding the codes which could still be the answer
+		 * @param from the index of the first of them
+		 * @param size the number of them
+		 * @param depth the number of guesses which led to the position
+		 * @param bound the cost the best guess has to beat
+		 * @param lowerBound the least the position can cost
+		 * @param guessOrder the guesses, packed with their lower bounds and sorted by them
+		 * @param guessCount the number of guesses
+		 * @param floor the least lower bound of the guesses left out of guessOrder
+		 * @return the cost and packed guess, as in solve
+		 */
+		private long searchInParallel(int[] set, int from, int size, int depth, int bound, int lowerBound,
+				long[] guessOrder, int guessCount, long floor)
+		{
+			int first = evaluate((int) guessOrder[0], set, from, size, depth, bound);
+			if (first < bound)
+			{
+				if (first <= lowerBound)
+				{
+					return pack(first, (int) guessOrder[0]);
+				}
+			}
+			else
+			{
+				floor = Math.min(floor, first);
+			}
+
+			//the tasks get copies, since this thread may run other searches with its own arrays while it waits for them
+			AtomicLong best = new AtomicLong(pack(Math.min(first, bound), 0));
+			int[] candidates = Arrays.copyOfRange(set, from, from + size);
+			long[] guesses = Arrays.copyOf(guessOrder, guessCount);
+			floor = Math.min(floor, new GuessTask(candidates, size, Arrays.copyOf(history, depth), depth, guesses,
+					1, guessCount, best).invoke());
+
+			int cost = (int) (best.get() >>> 32);
+			if (cost >= bound)
+			{
+				return pack((int) Math.min(floor, Integer.MAX_VALUE), -1);
+			}
+			return pack(cost, (int) guesses[(int) best.get()]);
+		}
+
+		/**
+		 * Works out what a guess costs for a position, searching its parts biggest first
+		 * @param guess the packed guess
+		 * @param set the array holding the codes which could still be the answer
+		 * @param from the index of the first of them
+		 * @param size the number of them
+		 * @param depth the number of guesses which led to the position
+		 * @param bound the cost the guess has to beat
+		 * @return the total number of guesses it takes to find every code after making this guess, or a lower bound of
+		 * at least bound if it can't beat it
+		 */
+		public int evaluate(int guess, int[] set, int from, int size, int depth, int bound)
+		{
+			reserve(depth);
+			int[] codesByHint = parts[depth];
+			int[] sizes = partSizes[depth];
+			int[] starts = partStarts[depth];
+			int[] order = partOrder[depth];
+			searchedCount++;
+
+			//sorts the codes into their parts by hint
+			Arrays.fill(sizes, 0);
+			for (int i = from; i < from + size; i++)
+			{
+				sizes[engine.score(guess, set[i])]++;
+			}
+			int total = size;
+			int partCount = 0;
+			for (int hint = 0, start = 0; hint < sizes.length; hint++)
+			{
+				starts[hint] = start;
+				start += sizes[hint];
+				if (hint != winningHint && sizes[hint] > 0)
+				{
+					total += lowerBounds[sizes[hint]];
+
+					int at = partCount; //keeps the parts in order, biggest first
+					while (at > 0 && sizes[order[at - 1]] < sizes[hint])
+					{
+						order[at] = order[at - 1];
+						at--;
+					}
+					order[at] = hint;
+					partCount++;
+				}
+			}
+			for (int i = from; i < from + size; i++)
+			{
+				int hint = engine.score(guess, set[i]);
+				codesByHint[starts[hint]] = set[i];
+				starts[hint]++;
+			}
+
+			history[depth] = guess;
+			for (int i = 0; i < partCount && total < bound; i++)
+			{
+				int hint = order[i];
+				int partSize = sizes[hint];
+				int partBound = lowerBounds[partSize];
+				int partLimit = bound - (total - partBound);
+				long part = solve(codesByHint, starts[hint] - partSize, partSize, depth + 1, partLimit);
+				total += (int) (part >>> 32) - partBound;
+			}
+
+			if (total >= bound)
+			{
+				cutOffCount++;
+			}
+			return total;
+		}
+
+		/**
+		 * Checks whether a guess gives every code of a position a different hint
+		 * @param guess the packed guess
+		 * @param set the array holding the codes which could still be the answer
+		 * @param from the index of the first of them
+		 * @param size the number of them
+		 * @param sizes an array with room for every hint, to count them in
+		 * @return true if no two codes get the same hint
+		 */
+		private boolean splitsApart(int guess, int[] set, int from, int size, int[] sizes)
+		{
+			Arrays.fill(sizes, 0);
+			scoredCount++;
+			for (int i = from; i < from + size; i++)
+			{
+				if (++sizes[engine.score(guess, set[i])] > 1)
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Finds the colors none of the guesses so far use, which can be swapped for each other without changing anything
+		 * @param depth the number of guesses made
+		 * @return a bit for each unused color
+		 */
+		private int unusedColors(int depth)
+		{
+			int colors = rules.getColors();
+			int used = 0;
+			for (int g = 0; g < depth; g++)
+			{
+				for (int code = history[g], i = 0; i < rules.getPegs(); i++, code /= colors)
+				{
+					used |= 1 << (code % colors);
+				}
+			}
+			return ((1 << colors) - 1) & ~used;
+		}
+
+		/**
+		 * Checks whether a guess brings in the colors no guess so far uses in order, lowest first, as any guess which
+		 * doesn't is the same as one which does but for their names
+		 * @param guess the packed guess
+		 * @param unused a bit for each unused color
+		 * @return true if the guess should be tried
+		 */
+		private boolean isFirstUnused(int guess, int unused)
+		{
+			int colors = rules.getColors();
+			int seen = 0;
+			for (int code = guess, i = 0; i < rules.getPegs(); i++, code /= colors)
+			{
+				int bit = 1 << (code % colors);
+				if ((unused & bit) != 0 && (seen & bit) == 0)
+				{
+					if (bit != Integer.lowestOneBit(unused & ~seen))
+					{
+						return false;
+					}
+					seen |= bit;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Finds every order of the pegs and renaming of the colors which the guesses so far use that leaves each of those
+		 * guesses as it is. The codes left then turn into themselves too, so a guess costs the same as any it turns into.
+		 * @param depth the number of guesses made
+		 * @return the number found, which includes leaving everything as it is
+		 */
+		private int findSymmetries(int depth)
+		{
+			int colors = rules.getColors();
+			int count = 0;
+			for (int o = 0; o < pegOrders.length; o++)
+			{
+				int[] order = pegOrders[o];
+				int[] map = symmetries[count];
+				Arrays.fill(map, -1);
+				int mapped = 0; //a bit for each color mapped to, which no two colors may share
+				boolean fixes = true;
+				for (int g = 0; g < depth && fixes; g++)
+				{
+					for (int i = 0; i < order.length && fixes; i++)
+					{
+						int color = history[g] / powers[order[i]] % colors;
+						int to = history[g] / powers[i] % colors;
+						if (map[color] < 0)
+						{
+							fixes = (mapped & (1 << to)) == 0;
+							map[color] = to;
+							mapped |= 1 << to;
+						}
+						else
+						{
+							fixes = map[color] == to;
+						}
+					}
+				}
+				if (fixes)
+				{
+					symmetryOrders[count] = o;
+					count++;
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * Checks whether a guess is the first of its kind to be tried at the current position, and marks every guess of
+		 * the same kind as tried. Two guesses are the same kind if one of the symmetries found for the position turns one
+		 * into the other, once the colors no guess so far uses are brought in lowest first.
+		 * @param guess the packed guess, which brings in the unused colors lowest first
+		 * @param symmetryCount the number of symmetries found
+		 * @param unused a bit for each unused color
+		 * @return true if the guess should be tried
+		 */
+		private boolean isFirstOfKind(int guess, int symmetryCount, int unused)
+		{
+			if (tried[guess])
+			{
+				return false;
+			}
+
+			int colors = rules.getColors();
+			for (int s = 0; s < symmetryCount; s++)
+			{
+				int[] order = pegOrders[symmetryOrders[s]];
+				int[] map = symmetries[s];
+				Arrays.fill(renamed, -1);
+				int seen = 0;
+				int turned = 0;
+				for (int i = 0; i < order.length; i++)
+				{
+					int color = guess / powers[order[i]] % colors;
+					int to = map[color];
+					if (to < 0) //an unused color, which keeps its place in the order they're brought in
+					{
+						if (renamed[color] < 0)
+						{
+							renamed[color] = Integer.numberOfTrailingZeros(unused & ~seen);
+							seen |= 1 << renamed[color];
+						}
+						to = renamed[color];
+					}
+					turned += to * powers[i];
+				}
+				tried[turned] = true;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Works out the best strategy for the whole game, once to warm up and then once for each number of threads, and reports
+	 * how long each took and how much of the search was pruned. With --book, the strategy is then saved as an OpeningBook, which auto-play
+	 * uses when it's in the default place for its rules.
+	 * Usage: java mastermind.OptimalSolver [--rules name] [--threads n,n,...] [--cache n] [--book [file]]
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		Rules rules = Rules.CLASSIC;
+		String threadCounts = String.valueOf(Runtime.getRuntime().availableProcessors());
+		int cacheSize = DEFAULT_CACHE;
+		boolean saveBook = false;
+		File file = null;
+
+		try
+		{
+			for (int i = 0; i < args.length; i++)
+			{
+				String arg = args[i];
+				if (i + 1 < args.length && arg.equals("--rules"))
+				{
+					rules = Rules.forName(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--threads"))
+				{
+					threadCounts = args[++i];
+				}
+				else if (i + 1 < args.length && arg.equals("--cache"))
+				{
+					cacheSize = Integer.parseInt(args[++i]);
+				}
+				else if (arg.equals("--book"))
+				{
+					saveBook = true;
+					if (i + 1 < args.length && !args[i + 1].startsWith("--"))
+					{
+						file = new File(args[++i]);
+					}
+				}
+				else
+				{
+					throw new IllegalArgumentException("Unknown argument: " + arg);
+				}
+			}
+			new OptimalSolver(rules, cacheSize); //checks the rules and cache size before the search starts
+		}
+		catch (IllegalArgumentException ex)
+		{
+			System.err.println(ex.getMessage());
+			System.err.println("Usage: java mastermind.OptimalSolver [--rules name] [--threads n,n,...] [--cache n] [--book [file]]");
+			System.exit(1);
+		}
+
+		System.out.printf("%7s %8s %9s %11s %12s %7s %8s %8s%n", "Threads", "Guesses", "Mean", "Nodes", "Nodes/s",
+				"Pruned", "Seconds", "Speedup");
+		//the first search only lets the JIT compile everything, so the timed ones can be compared with each other
+		ForkJoinPool warmUp = new ForkJoinPool(1);
+		new OptimalSolver(rules, cacheSize).solve(warmUp);
+		warmUp.shutdown();
+
+		OptimalSolver solver = null;
+		double firstSeconds = 0;
+		for (String count : threadCounts.split(","))
+		{
+			int threads = Integer.parseInt(count.trim());
+			solver = new OptimalSolver(rules, cacheSize);
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			long start = System.nanoTime();
+			int total = solver.solve(pool);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			pool.shutdown();
+			if (firstSeconds == 0)
+			{
+				firstSeconds = seconds;
+			}
+
+			System.out.printf("%7d %8d %9.4f %11d %12.0f %6.2f%% %8.2f %7.2fx%n", threads, total,
+					(double) total / rules.getCodeCount(), solver.getNodes(), solver.getNodes() / seconds,
+					solver.getPruningRatio() * 100, seconds, firstSeconds / seconds);
+		}
+		System.out.printf("%d guesses scored, %d searched, %d of them cut off part way%n", solver.getScored(),
+				solver.getSearched(), solver.getCutOff());
+		System.out.println(solver.getCache().getSummary());
+
+		if (saveBook)
+		{
+			if (file == null)
+			{
+				file = OpeningBook.defaultFile(rules);
+			}
+			int nodeCount = OpeningBook.build(rules, solver, 0, file);
+			OpeningBook book = new OpeningBook(file, null);
+			System.out.printf("Saved the strategy to %s: %d nodes, %.4f guesses on average and %d at worst%n", file,
+					nodeCount, book.getMeanGuesses(rules), book.getWorst());
+		}
+	}
+}
@@ -0,0 +1,452 @@
+package mastermind;
+
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A strategy which tries guesses against the codes which could still be the answer, splits those codes up by the hint
+ * each guess would get, and picks the guess whose split a subclass rates best, preferring guesses which could be the
+ * answer themselves. The subclasses differ only in how they rate a split: by its biggest part, its entropy or its number of parts.
+ * The guesses are tried against the remaining codes in parallel, on the fork-join pool of the calling thread
+ * or on the common pool if the caller isn't in one.
+ * Games with more than EXACT_CODES codes are too big to try every guess, so the remaining codes are streamed through
+ * a fixed size random sample, and only guesses from the sample are tried against it.
+ * With a TranspositionCache, a guess worked out for one position is reused for any later position with the same
+ * remaining codes, or the same but for the names of the colors and the order of the pegs. The guess it gives then is
+ * rated just as well, but may not be the one that would have been worked out, when guesses tie.
+ * A PartitionStrategy can be shared between threads. If the calling thread is interrupted, as when a TaskRunner cancels
+ * a suggestion, nextGuess soon gives up with a CancellationException, and so do the tasks it forked.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public abstract class PartitionStrategy implements Strategy
+{
+	public static final int EXACT_CODES = 8192;
+	private static final int SAMPLE_SIZE = 4096;
+	private static final int SAMPLE_GUESSES = 512;
+	private static final int GUESSES_PER_TASK = 32;
+	private static final int CHECK_EVERY = 4096; //codes to go through between checks for an interrupt, a power of two
+	private final Rules rules;
+	private final ScoringEngine engine;
+	private volatile int firstGuess;
+	private volatile TranspositionCache cache; //or null to work out every guess
+
+	/**
+	 * Constructs a PartitionStrategy for a set of rules, scoring with a FeedbackTable if the codes fit in one.
+	 * @param inRules the rules of the game
+	 */
+	public PartitionStrategy(Rules inRules)
+	{
+		this(inRules, FeedbackTable.fits(inRules.getPegs(), inRules.getColors())
+				? FeedbackTable.getInstance(inRules.getPegs(), inRules.getColors()) : inRules.createEngine());
+	}
+
+	/**
+	 * Constructs a PartitionStrategy which scores with a given engine
+	 * @param inRules the rules of the game
+	 * @param inEngine the engine to score guesses with
+	 */
+	public PartitionStrategy(Rules inRules, ScoringEngine inEngine)
+	{
+		rules = inRules;
+		engine = inEngine;
+		firstGuess = -1;
+	}
+
+	/**
+	 * Rates how a guess splits up the remaining codes
+	 * @param partitions how many of the remaining codes give each packed hint
+	 * @param worst the size of the biggest part
+	 * @return the rating, at least 0 and less than 2^30, where lower is better
+	 */
+	protected abstract int rate(int[] partitions, int worst);
+
+	/**
+	 * Gets the biggest part a guess can have and still be rated better than the best guess so far, so a guess can be given
+	 * up on before all the codes are split. If a guess is given up on, rate only has to be worse than bestRating.
+	 * @param bestRating the rating of the best guess so far
+	 * @return the size, which is Integer.MAX_VALUE unless a subclass knows better
+	 */
+	protected int giveUpAbove(int bestRating)
+	{
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Chooses the next guess to make
+	 * @param guesses the packed guesses made so far
+	 * @param hints the packed hint for each guess
+	 * @param count the number of guesses made so far
+	 * @return the packed code to guess next
+	 */
+	public int nextGuess(int[] guesses, int[] hints, int count)
+	{
+		if (count == 0 && firstGuess >= 0) //the first guess never changes
+		{
+			return firstGuess;
+		}
+
+		TranspositionCache positions = cache;
+		if (positions != null && count > 0)
+		{
+			return nextCachedGuess(positions, guesses, hints, count);
+		}
+
+		int guess = nextUncachedGuess(guesses, hints, count);
+		if (count == 0)
+		{
+			firstGuess = guess;
+		}
+
+		return guess;
+	}
+
+	/**
+	 * Looks up the next guess in the cache, or works it out and adds it to the cache.
+	 * The guess is kept in the cache turned by the canonical symmetry of the guesses, and turned back when it's found.
+	 * The remaining codes are only found once, for both the lookup and working out the guess.
+	 * @param positions the cache
+	 * @param guesses the packed guesses made so far
+	 * @param hints the packed hint for each guess
+	 * @param count the number of guesses made so far
+	 * @return the packed code to guess next
+	 */
+	private int nextCachedGuess(TranspositionCache positions, int[] guesses, int[] hints, int count)
+	{
+		CodeSymmetry symmetry = CodeSymmetry.canonical(rules, guesses, count);
+		boolean exact = rules.getCodeSpace() <= EXACT_CODES;
+		int[] candidates = new int[exact ? rules.getCodeCount() : SAMPLE_SIZE];
+		Random rand = new Random(count); //the same history always gets the same guess
+		long low = 0;
+		long high = 0;
+		long candidateCount = 0;
+		int checked = 0;
+		for (int code = rules.firstCode(); code >= 0; code = rules.nextCode(code))
+		{
+			if ((++checked & (CHECK_EVERY - 1)) == 0)
+			{
+				TaskRunner.checkInterrupted();
+			}
+			if (isConsistent(code, guesses, hints, count))
+			{
+				long hash = TranspositionCache.mix(symmetry.apply(code) + 0x9E3779B97F4A7C15L);
+				low += hash;
+				high += TranspositionCache.mix(hash);
+				if (exact)
+				{
+					candidates[(int) candidateCount] = code;
+				}
+				else
+				{
+					addToSample(candidates, candidateCount, code, rand);
+				}
+				candidateCount++;
+			}
+		}
+
+		int size = (int) Math.min(candidateCount, Integer.MAX_VALUE);
+		long cached = positions.get(low, high, size);
+		if (cached != TranspositionCache.MISSING)
+		{
+			return symmetry.invert((int) cached);
+		}
+
+		int guess = exact ? nextExactGuess(candidates, size) : nextSampledGuess(candidates, candidateCount);
+		positions.put(low, high, size, symmetry.apply(guess));
+		return guess;
+	}
+
+	/**
+	 * Works out the next guess
+	 * @param guesses the packed guesses made so far
+	 * @param hints the packed hint for each guess
+	 * @param count the number of guesses made so far
+	 * @return the packed code to guess next
+	 */
+	private int nextUncachedGuess(int[] guesses, int[] hints, int count)
+	{
+		if (rules.getCodeSpace() <= EXACT_CODES) //few enough codes to go through without checking for an interrupt
+		{
+			int[] candidates = new int[rules.getCodeCount()];
+			int candidateCount = 0;
+			for (int code = rules.firstCode(); code >= 0; code = rules.nextCode(code))
+			{
+				if (isConsistent(code, guesses, hints, count))
+				{
+					candidates[candidateCount] = code;
+					candidateCount++;
+				}
+			}
+			return nextExactGuess(candidates, candidateCount);
+		}
+
+		int[] sample = new int[SAMPLE_SIZE];
+		long candidateCount = 0;
+		Random rand = new Random(count); //the same history always gets the same guess
+		int checked = 0;
+		for (int code = rules.firstCode(); code >= 0; code = rules.nextCode(code))
+		{
+			if ((++checked & (CHECK_EVERY - 1)) == 0)
+			{
+				TaskRunner.checkInterrupted();
+			}
+			if (isConsistent(code, guesses, hints, count))
+			{
+				addToSample(sample, candidateCount, code, rand);
+				candidateCount++;
+			}
+		}
+		return nextSampledGuess(sample, candidateCount);
+	}
+
+	/**
+	 * Chooses the next guess by trying every allowed code against every remaining code
+	 * @param candidates the codes which could still be the answer
+	 * @param candidateCount how many codes are used in candidates
+	 * @return the packed code to guess next
+	 */
+	private int nextExactGuess(int[] candidates, int candidateCount)
+	{
+		if (candidateCount == 0)
+		{
+			throw new IllegalArgumentException("No code matches the given hints");
+		}
+		if (candidateCount <= 2) //guessing either one is as good as it gets
+		{
+			return candidates[0];
+		}
+
+		int[] codes = new int[rules.getCodeCount()];
+		boolean[] isCandidate = new boolean[rules.getCodeSpace()];
+		int codeCount = 0;
+		for (int code = rules.firstCode(); code >= 0; code = rules.nextCode(code))
+		{
+			codes[codeCount] = code;
+			codeCount++;
+		}
+		for (int i = 0; i < candidateCount; i++)
+		{
+			isCandidate[candidates[i]] = true;
+		}
+
+		long best = new PartitionTask(Thread.currentThread(), codes, isCandidate, candidates, candidateCount, 0, codeCount).invoke();
+		return codes[(int) best];
+	}
+
+	/**
+	 * Adds a remaining code to a fixed size random sample of them, using constant memory however big the game is.
+	 * Reservoir sampling keeps every remaining code equally likely to be in the sample.
+	 * @param sample the sample
+	 * @param candidateCount how many remaining codes came before this one
+	 * @param code the packed code
+	 * @param rand where to get random numbers
+	 */
+	private static void addToSample(int[] sample, long candidateCount, int code, Random rand)
+	{
+		if (candidateCount < sample.length)
+		{
+			sample[(int) candidateCount] = code;
+		}
+		else
+		{
+			long index = (long) (rand.nextDouble() * (candidateCount + 1));
+			if (index < sample.length)
+			{
+				sample[(int) index] = code;
+			}
+		}
+	}
+
+	/**
+	 * Chooses the next guess from a random sample of the remaining codes
+	 * @param sample the sample, filled in by addToSample
+	 * @param candidateCount how many codes could still be the answer
+	 * @return the packed code to guess next
+	 */
+	private int nextSampledGuess(int[] sample, long candidateCount)
+	{
+		if (candidateCount == 0)
+		{
+			throw new IllegalArgumentException("No code matches the given hints");
+		}
+
+		int sampleCount = (int) Math.min(candidateCount, SAMPLE_SIZE);
+		if (sampleCount <= 2)
+		{
+			return sample[0];
+		}
+
+		int guessCount = Math.min(sampleCount, SAMPLE_GUESSES);
+		long best = new PartitionTask(Thread.currentThread(), sample, null, sample, sampleCount, 0, guessCount).invoke();
+		return sample[(int) best];
+	}
+
+	/**
+	 * Plays a whole game against a given answer code
+	 * @param secret the packed answer code
+	 * @param guesses filled in with the packed guesses made, must have room for every guess
+	 * @param hints filled in with the packed hint for each guess
+	 * @return the number of guesses it took
+	 */
+	public int play(int secret, int[] guesses, int[] hints)
+	{
+		int count = 0;
+		do
+		{
+			guesses[count] = nextGuess(guesses, hints, count);
+			hints[count] = engine.score(guesses[count], secret);
+			count++;
+		}
+		while (hints[count - 1] != engine.getWinningHint());
+
+		return count;
+	}
+
+	/**
+	 * Sets a cache to keep the guesses worked out in, which can be shared with other strategies of the same kind and rules
+	 * @param inCache the TranspositionCache, or null to work out every guess
+	 */
+	public void setCache(TranspositionCache inCache)
+	{
+		cache = inCache;
+	}
+
+	/**
+	 * Gets the cache the guesses worked out are kept in
+	 * @return the TranspositionCache, or null if there isn't one
+	 */
+	public TranspositionCache getCache()
+	{
+		return cache;
+	}
+
+	/**
+	 * Gets the rules this strategy plays by
+	 * @return the Rules
+	 */
+	public Rules getRules()
+	{
+		return rules;
+	}
+
+	/**
+	 * Gets the engine this strategy scores with
+	 * @return the ScoringEngine
+	 */
+	public ScoringEngine getEngine()
+	{
+		return engine;
+	}
+
+	/**
+	 * Checks whether a code could still be the answer
+	 * @param code the packed code
+	 * @param guesses the packed guesses made so far
+	 * @param hints the packed hint for each guess
+	 * @param count the number of guesses made so far
+	 * @return true if the code gives the same hint for every guess, and false if not
+	 */
+	private boolean isConsistent(int code, int[] guesses, int[] hints, int count)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			if (engine.score(guesses[i], code) != hints[i])
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Finds the best guess in a range of an array of guesses. The result is packed in a long so results can be compared as numbers:
+	 * the rating and whether the guess isn't a candidate in the high int, and the guess's index in the low int.
+	 */
+	private class PartitionTask extends RecursiveTask<Long>
+	{
+		private final Thread caller; //the thread which asked for the guess, which cancels every task by being interrupted
+		private final int[] guessCodes;
+		private final boolean[] isCandidate;
+		private final int[] candidates;
+		private final int candidateCount;
+		private final int from;
+		private final int to;
+
+		/**
+		 * Constructs a task to try the guesses from index "from" (inclusive) to "to" (exclusive)
+		 * @param inCaller the thread which asked for the guess
+		 * @param inGuessCodes the codes to try as guesses
+		 * @param inIsCandidate whether each code is one of the candidates, or null if every guess is a candidate
+		 * @param inCandidates the codes which could still be the answer
+		 * @param inCandidateCount how many codes are used in inCandidates
+		 * @param inFrom the index of the first guess
+		 * @param inTo one past the index of the last guess
+		 */
+		public PartitionTask(Thread inCaller, int[] inGuessCodes, boolean[] inIsCandidate, int[] inCandidates, int inCandidateCount,
+				int inFrom, int inTo)
+		{
+			caller = inCaller;
+			guessCodes = inGuessCodes;
+			isCandidate = inIsCandidate;
+			candidates = inCandidates;
+			candidateCount = inCandidateCount;
+			from = inFrom;
+			to = inTo;
+		}
+
+		protected Long compute()
+		{
+			if (to - from > GUESSES_PER_TASK)
+			{
+				int middle = (from + to) >>> 1;
+				PartitionTask left = new PartitionTask(caller, guessCodes, isCandidate, candidates, candidateCount, from, middle);
+				PartitionTask right = new PartitionTask(caller, guessCodes, isCandidate, candidates, candidateCount, middle, to);
+				left.fork();
+				long rightBest = right.compute();
+				long leftBest = left.join();
+
+				return Math.min(leftBest, rightBest);
+			}
+
+			int[] partitions = new int[engine.getHintCount()];
+			long best = Long.MAX_VALUE;
+
+			for (int index = from; index < to; index++)
+			{
+				if (caller.isInterrupted())
+				{
+					throw new CancellationException("Interrupted");
+				}
+
+				int guess = guessCodes[index];
+				int notCandidate = isCandidate == null || isCandidate[guess] ? 0 : 1;
+				int limit = giveUpAbove((int) (best >>> 33)); //used to give up on a guess early
+				int worst = 0;
+
+				for (int i = 0; i < partitions.length; i++)
+				{
+					partitions[i] = 0;
+				}
+
+				for (int i = 0; i < candidateCount && worst <= limit; i++)
+				{
+					int size = ++partitions[engine.score(guess, candidates[i])];
+					if (size > worst)
+					{
+						worst = size;
+					}
+				}
+
+				long key = ((long) (rate(partitions, worst) * 2 + notCandidate) << 32) | index;
+				if (key < best)
+				{
+					best = key;
+				}
+			}
+
+			return best;
+		}
+	}
+}
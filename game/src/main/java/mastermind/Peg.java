@@ -1,8 +1,8 @@
-import java.awt.BasicStroke;
+package mastermind;
+
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.geom.Rectangle2D;
 
 import javax.swing.JComponent;
 
@@ -13,38 +13,29 @@ import javax.swing.JComponent;
  */
 public class Peg extends JComponent
 {
-	private Rectangle2D.Double square;
 	private Color color;
+	private int width;
 	private int border;
-	private final Color BORDER_COLOR = Color.BLACK;
 	private final Color EMPTY_COLOR = Color.GRAY;
 
 	/**
 	 * Constructs a square Peg object with a specified width to display an empty peg hole.
-	 * @param width the width (and height) of the peg
+	 * @param inWidth the width (and height) of the peg
 	 * @param inBorder the border thickness of the peg "hole"
 	 */
-	public Peg(int width, int inBorder)
+	public Peg(int inWidth, int inBorder)
 	{
 		color = EMPTY_COLOR;
+		width = inWidth;
 		border = inBorder;
-		square = new Rectangle2D.Double(border / 2, border / 2, width, width);
 	}
 
 	/**
-	 * Paints a square to represent the peg.
+	 * Paints a square to represent the peg, from an image shared by every peg of the same size and color.
 	 */
 	public void paintComponent(Graphics g)
 	{
-		Graphics2D g2 = (Graphics2D) g;
-
-		//draw the peg hole
-		g2.setColor(BORDER_COLOR);
-		g2.setStroke(new BasicStroke(border));
-		g2.draw(square);
-		//draw the peg color
-		g2.setColor(color);
-		g2.fill(square);
+		PegSprites.paint((Graphics2D) g, width, border, color);
 	}
 
 	/**
@@ -0,0 +1,141 @@
+package mastermind;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Draws pegs from images which are made once for each size, border and color and then shared by every Peg,
+ * so repainting the board just copies pixels instead of stroking and filling each peg again.
+ * The images are made at the screen's scale, so pegs stay sharp on HiDPI screens, and they are copied without
+ * scaling. Pegs drawn with a rotated or sheared transform, or too big to cache, are drawn the old way.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class PegSprites
+{
+	private static final int MAX_SPRITES = 256; //far more than a board uses, so only odd scales would fill it
+	private static final int MAX_WIDTH = 1 << 10;
+	private static final int MAX_BORDER = 1 << 6;
+	private static final ConcurrentHashMap<Long, BufferedImage> sprites = new ConcurrentHashMap<Long, BufferedImage>();
+
+	/**
+	 * Draws a peg, from its cached image if it can be
+	 * @param g2 the graphics to draw on, with the peg's corner at 0, 0
+	 * @param width the width (and height) of the peg
+	 * @param border the border thickness of the peg hole
+	 * @param color the color of the peg
+	 */
+	public static void paint(Graphics2D g2, int width, int border, Color color)
+	{
+		AffineTransform transform = g2.getTransform();
+		double scale = transform.getScaleX();
+		int percent = (int) Math.round(scale * 100);
+		if (transform.getShearX() != 0 || transform.getShearY() != 0 || transform.getScaleY() != scale
+				|| percent <= 0 || percent >= 1 << 16 || width >= MAX_WIDTH || border >= MAX_BORDER)
+		{
+			draw(g2, width, border, color);
+			return;
+		}
+
+		BufferedImage sprite = getSprite(width, border, color, percent);
+		g2.setTransform(new AffineTransform(1, 0, 0, 1, Math.round(transform.getTranslateX()), Math.round(transform.getTranslateY())));
+		g2.drawImage(sprite, 0, 0, null); //one pixel of the image for each pixel of the screen
+		g2.setTransform(transform);
+	}
+
+	/**
+	 * Draws a peg with shapes, the way every peg was drawn before the images
+	 * @param g2 the graphics to draw on, with the peg's corner at 0, 0
+	 * @param width the width (and height) of the peg
+	 * @param border the border thickness of the peg hole
+	 * @param color the color of the peg
+	 */
+	public static void draw(Graphics2D g2, int width, int border, Color color)
+	{
+		Rectangle2D.Double square = new Rectangle2D.Double(border / 2, border / 2, width, width);
+
+		//draw the peg hole
+		g2.setColor(Color.BLACK);
+		g2.setStroke(new BasicStroke(border));
+		g2.draw(square);
+		//draw the peg color
+		g2.setColor(color);
+		g2.fill(square);
+	}
+
+	/**
+	 * Gets the image of a peg, making it the first time it's asked for
+	 * @param width the width (and height) of the peg
+	 * @param border the border thickness of the peg hole
+	 * @param color the color of the peg
+	 * @param percent the screen's scale, in percent
+	 * @return the image, which must not be changed
+	 */
+	static BufferedImage getSprite(int width, int border, Color color, int percent)
+	{
+		long key = (long) color.getRGB() << 32 | (long) width << 22 | border << 16 | percent;
+		BufferedImage sprite = sprites.get(key);
+		if (sprite != null)
+		{
+			return sprite;
+		}
+
+		double scale = percent / 100.0;
+		int size = (int) Math.ceil((width + border + 1) * scale); //the stroke reaches border / 2 past each side
+		sprite = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2 = sprite.createGraphics();
+		g2.scale(scale, scale);
+		draw(g2, width, border, color);
+		g2.dispose();
+		sprite = makeOpaque(sprite);
+
+		if (sprites.size() >= MAX_SPRITES)
+		{
+			sprites.clear(); //start over rather than keep track of which ones are used
+		}
+		BufferedImage made = sprites.putIfAbsent(key, sprite);
+		return made == null ? sprite : made;
+	}
+
+	/**
+	 * Crops the see-through edge off a peg's image, since copying an opaque image is much faster than blending one.
+	 * Pegs are solid squares, so this works unless the scale leaves a partly covered pixel on the edge.
+	 * @param sprite the image, with the peg in its top left corner
+	 * @return an opaque copy of the peg, or the image itself if the peg isn't opaque
+	 */
+	private static BufferedImage makeOpaque(BufferedImage sprite)
+	{
+		int width = 0;
+		int height = 0;
+		while (width < sprite.getWidth() && (sprite.getRGB(width, 0) >>> 24) != 0)
+		{
+			width++;
+		}
+		while (height < sprite.getHeight() && (sprite.getRGB(0, height) >>> 24) != 0)
+		{
+			height++;
+		}
+		if (width == 0 || height == 0)
+		{
+			return sprite;
+		}
+
+		int[] pixels = sprite.getRGB(0, 0, width, height, null, 0, width);
+		for (int pixel : pixels)
+		{
+			if ((pixel >>> 24) != 0xFF)
+			{
+				return sprite;
+			}
+		}
+
+		BufferedImage opaque = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		opaque.setRGB(0, 0, width, height, pixels, 0, width);
+		return opaque;
+	}
+}
@@ -0,0 +1,93 @@
+package mastermind;
+
+/**
+ * Guesses a random one of the codes which could still be the answer. It's nearly as quick as the SimpleStrategy and
+ * needs no memory either, but doesn't keep guessing codes near the start of the order, so it usually takes fewer guesses.
+ * The choice is random but depends only on the seed and the guesses and hints so far, so the same game is always
+ * played the same way and one object can play any number of games at once from different threads.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class RandomConsistentStrategy implements Strategy
+{
+	private final Rules rules;
+	private final ScoringEngine engine;
+	private final long seed;
+
+	/**
+	 * Constructs a RandomConsistentStrategy for a set of rules
+	 * @param inRules the rules of the game
+	 * @param inSeed the seed, so a run can be repeated
+	 */
+	public RandomConsistentStrategy(Rules inRules, long inSeed)
+	{
+		rules = inRules;
+		engine = inRules.createEngine();
+		seed = inSeed;
+	}
+
+	/**
+	 * Chooses a random code which gives the same hint for every guess made so far.
+	 * The remaining codes are streamed through a reservoir of one, so every one of them is equally likely.
+	 * @param guesses the packed guesses made so far
+	 * @param hints the packed hint for each guess
+	 * @param count the number of guesses made so far
+	 * @return the packed code to guess next
+	 */
+	public int nextGuess(int[] guesses, int[] hints, int count)
+	{
+		long state = seed;
+		for (int i = 0; i < count; i++)
+		{
+			state = mix(state + ((long) guesses[i] << 8 | hints[i]));
+		}
+
+		int chosen = -1;
+		int found = 0;
+		for (int code = rules.firstCode(); code >= 0; code = rules.nextCode(code))
+		{
+			int i = 0;
+			while (i < count && engine.score(guesses[i], code) == hints[i])
+			{
+				i++;
+			}
+
+			if (i == count)
+			{
+				found++;
+				state += 0x9E3779B97F4A7C15L;
+				if ((mix(state) >>> 1) % found == 0) //keeps this code with a chance of 1 in found
+				{
+					chosen = code;
+				}
+			}
+		}
+
+		if (chosen < 0)
+		{
+			throw new IllegalArgumentException("No code matches the given hints");
+		}
+		return chosen;
+	}
+
+	/**
+	 * Scrambles the bits of a number, as in SplitMix64
+	 * @param z the number
+	 * @return the scrambled number
+	 */
+	private static long mix(long z)
+	{
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Gets the name of this strategy
+	 * @return the name
+	 */
+	public String getName()
+	{
+		return "Random";
+	}
+}
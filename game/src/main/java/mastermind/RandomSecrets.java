@@ -0,0 +1,87 @@
+package mastermind;
+
+import java.util.SplittableRandom;
+
+/**
+ * Makes independent random answer codes, each allowed code being equally likely.
+ * Codes with repeated colors are one random number below the size of the code space. Codes without repeats pick
+ * each peg from the colors not used yet, instead of throwing away codes with repeats until one doesn't have any.
+ * Built on SplittableRandom, so splitting a source for another thread is cheap and the two never contend.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class RandomSecrets implements SecretSource
+{
+	private final Rules rules;
+	private final SplittableRandom rand;
+	private final int[] unused; //the colors, shuffled in place when picking codes without repeats
+
+	/**
+	 * Constructs a RandomSecrets with a seed of its own, which is different every time
+	 * @param inRules the rules the codes must follow
+	 */
+	public RandomSecrets(Rules inRules)
+	{
+		this(inRules, new SplittableRandom());
+	}
+
+	/**
+	 * Constructs a RandomSecrets which makes the same codes every time for a seed
+	 * @param inRules the rules the codes must follow
+	 * @param seed the seed
+	 */
+	public RandomSecrets(Rules inRules, long seed)
+	{
+		this(inRules, new SplittableRandom(seed));
+	}
+
+	/**
+	 * Constructs a RandomSecrets from a generator
+	 * @param inRules the rules the codes must follow
+	 * @param inRand the generator, which isn't shared
+	 */
+	private RandomSecrets(Rules inRules, SplittableRandom inRand)
+	{
+		rules = inRules;
+		rand = inRand;
+		unused = new int[rules.getColors()];
+		for (int i = 0; i < unused.length; i++)
+		{
+			unused[i] = i;
+		}
+	}
+
+	public int nextSecret()
+	{
+		if (rules.allowsRepeats())
+		{
+			return rand.nextInt(rules.getCodeSpace()); //every packed code is allowed
+		}
+
+		//a partial shuffle: peg i takes a random one of the colors from i on, which haven't been used yet
+		int colors = unused.length;
+		int code = 0;
+		int place = 1;
+		for (int i = 0; i < rules.getPegs(); i++)
+		{
+			int pick = i + rand.nextInt(colors - i);
+			int color = unused[pick];
+			unused[pick] = unused[i];
+			unused[i] = color;
+			code += color * place;
+			place *= colors;
+		}
+
+		return code;
+	}
+
+	public SecretSource split()
+	{
+		return new RandomSecrets(rules, rand.split());
+	}
+
+	public String getName()
+	{
+		return "random";
+	}
+}
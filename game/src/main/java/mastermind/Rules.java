@@ -0,0 +1,327 @@
+package mastermind;
+
+import java.util.Random;
+
+/**
+ * The rules of a game of Mastermind: how many pegs are in a code, how many colors they can be,
+ * how many guesses the player gets and whether the answer code may repeat colors.
+ * Codes are packed the same way as in the ScoringEngine, and are enumerated one at a time
+ * so even very large games never need all of their codes in memory.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class Rules
+{
+	public static final Rules CLASSIC = new Rules("Classic", 4, 6, 10, true);
+	public static final Rules CLASSIC_NO_REPEATS = new Rules("Classic, no repeats", 4, 6, 10, false);
+	public static final Rules SUPER = new Rules("Super Mastermind", 5, 8, 12, true);
+	public static final Rules GRAND = new Rules("Grand", 6, 10, 15, true);
+	private final String name;
+	private final int pegs;
+	private final int colors;
+	private final int attempts;
+	private final boolean repeats;
+	private final int codeSpace;
+
+	/**
+	 * Constructs a set of rules
+	 * @param inName the name of the rules
+	 * @param inPegs the number of pegs in a code
+	 * @param inColors the number of colors each peg can be
+	 * @param inAttempts the number of guesses the player gets
+	 * @param inRepeats true if a color may appear more than once in the answer code, and false if not
+	 */
+	public Rules(String inName, int inPegs, int inColors, int inAttempts, boolean inRepeats)
+	{
+		if (inAttempts < 1)
+		{
+			throw new IllegalArgumentException("Attempts must be at least 1: " + inAttempts);
+		}
+		if (!inRepeats && inPegs > inColors)
+		{
+			throw new IllegalArgumentException("Not enough colors for " + inPegs + " pegs without repeats: " + inColors);
+		}
+
+		name = inName;
+		pegs = inPegs;
+		colors = inColors;
+		attempts = inAttempts;
+		repeats = inRepeats;
+		codeSpace = new ScoringEngine(pegs, colors).getCodeCount(); //also checks pegs and colors
+	}
+
+	/**
+	 * Gets the rules players can choose from
+	 * @return the preset rules
+	 */
+	public static Rules[] getPresets()
+	{
+		return new Rules[] {CLASSIC, CLASSIC_NO_REPEATS, SUPER, GRAND};
+	}
+
+	/**
+	 * Finds the preset rules with a given name. The name is matched ignoring case and punctuation,
+	 * so "super" or "classic-no-repeats" will do.
+	 * @param key the name of the rules
+	 * @return the preset Rules
+	 */
+	public static Rules forName(String key)
+	{
+		key = normalize(key);
+		for (Rules rules : getPresets())
+		{
+			if (normalize(rules.getName()).equals(key))
+			{
+				return rules;
+			}
+		}
+		for (Rules rules : getPresets())
+		{
+			if (normalize(rules.getName()).startsWith(key + "-"))
+			{
+				return rules;
+			}
+		}
+
+		throw new IllegalArgumentException("No rules named " + key);
+	}
+
+	/**
+	 * Finds the preset rules with given settings, or makes new rules if none of the presets match
+	 * @param pegs the number of pegs in a code
+	 * @param colors the number of colors each peg can be
+	 * @param attempts the number of guesses the player gets
+	 * @param repeats true if a color may appear more than once in the answer code
+	 * @return the Rules
+	 */
+	public static Rules find(int pegs, int colors, int attempts, boolean repeats)
+	{
+		for (Rules rules : getPresets())
+		{
+			if (rules.pegs == pegs && rules.colors == colors && rules.attempts == attempts && rules.repeats == repeats)
+			{
+				return rules;
+			}
+		}
+
+		return new Rules("Custom", pegs, colors, attempts, repeats);
+	}
+
+	/**
+	 * Makes a name lower case with dashes between the words
+	 * @param name the name
+	 * @return the normalized name
+	 */
+	private static String normalize(String name)
+	{
+		return name.toLowerCase().replaceAll("[^a-z0-9]+", "-");
+	}
+
+	/**
+	 * Gets an engine to score the codes of these rules
+	 * @return the ScoringEngine
+	 */
+	public ScoringEngine createEngine()
+	{
+		return ScoringEngine.create(pegs, colors);
+	}
+
+	/**
+	 * Checks whether a packed code is allowed as an answer code
+	 * @param code the packed code
+	 * @return true if the code is allowed, and false if not
+	 */
+	public boolean isValid(int code)
+	{
+		if (code < 0 || code >= codeSpace)
+		{
+			return false;
+		}
+
+		if (!repeats)
+		{
+			int used = 0; //one bit per color
+			for (int i = 0; i < pegs; i++)
+			{
+				int bit = 1 << (code % colors);
+				if ((used & bit) != 0)
+				{
+					return false;
+				}
+				used |= bit;
+				code /= colors;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Gets the first allowed code
+	 * @return the smallest packed code which is allowed
+	 */
+	public int firstCode()
+	{
+		return nextCode(-1);
+	}
+
+	/**
+	 * Gets the next allowed code, so all the codes can be walked through without storing them
+	 * @param code the packed code to start after
+	 * @return the next packed code which is allowed, or -1 if there are no more
+	 */
+	public int nextCode(int code)
+	{
+		do
+		{
+			code++;
+		}
+		while (code < codeSpace && !isValid(code));
+
+		return code < codeSpace ? code : -1;
+	}
+
+	/**
+	 * Makes a random answer code
+	 * @param rand the random number generator to use
+	 * @return the packed code
+	 */
+	public int randomCode(Random rand)
+	{
+		int code;
+		do
+		{
+			code = rand.nextInt(codeSpace);
+		}
+		while (!isValid(code));
+
+		return code;
+	}
+
+	/**
+	 * Writes a packed code as a letter for each peg, starting from "A" for the first color
+	 * @param code the packed code
+	 * @return the code's letters
+	 */
+	public String format(int code)
+	{
+		char[] letters = new char[pegs];
+		for (int i = 0; i < pegs; i++)
+		{
+			letters[i] = (char) ('A' + code % colors);
+			code /= colors;
+		}
+
+		return new String(letters);
+	}
+
+	/**
+	 * Reads a code written as a letter for each peg, as by format
+	 * @param letters the code's letters
+	 * @return the packed code
+	 */
+	public int parse(String letters)
+	{
+		letters = letters.trim().toUpperCase();
+		if (letters.length() != pegs)
+		{
+			throw new IllegalArgumentException("A code must have " + pegs + " pegs: " + letters);
+		}
+
+		int code = 0;
+		for (int i = pegs - 1; i >= 0; i--)
+		{
+			int color = letters.charAt(i) - 'A';
+			if (color < 0 || color >= colors)
+			{
+				throw new IllegalArgumentException("Colors must be A to " + (char) ('A' + colors - 1) + ": " + letters);
+			}
+			code = code * colors + color;
+		}
+
+		return code;
+	}
+
+	/**
+	 * Gets the number of allowed answer codes
+	 * @return the number of codes
+	 */
+	public int getCodeCount()
+	{
+		if (repeats)
+		{
+			return codeSpace;
+		}
+
+		int count = 1;
+		for (int i = 0; i < pegs; i++)
+		{
+			count *= colors - i;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Gets the number of packed code values, including ones which aren't allowed
+	 * @return one more than the largest packed code
+	 */
+	public int getCodeSpace()
+	{
+		return codeSpace;
+	}
+
+	/**
+	 * Gets the name of these rules
+	 * @return the name
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Gets the number of pegs in a code
+	 * @return the code length
+	 */
+	public int getPegs()
+	{
+		return pegs;
+	}
+
+	/**
+	 * Gets the number of colors a peg can be
+	 * @return the number of colors
+	 */
+	public int getColors()
+	{
+		return colors;
+	}
+
+	/**
+	 * Gets the number of guesses the player gets
+	 * @return the number of attempts
+	 */
+	public int getAttempts()
+	{
+		return attempts;
+	}
+
+	/**
+	 * Checks whether the answer code may repeat colors
+	 * @return true if colors may repeat, and false if not
+	 */
+	public boolean allowsRepeats()
+	{
+		return repeats;
+	}
+
+	/**
+	 * Gets a string describing these rules
+	 * @return the description String
+	 */
+	public String toString()
+	{
+		return name + " (" + pegs + " pegs, " + colors + " colors, " + attempts + " attempts" + (repeats ? "" : ", no repeats") + ")";
+	}
+}
@@ -0,0 +1,216 @@
+package mastermind;
+
+/**
+ * Scores Mastermind guesses without using any Swing components.
+ * A code is packed into a single int, with the (zero based) color of peg i stored as the i-th digit in base "colors",
+ * and a hint is packed into a single int as (correct position * (pegs + 1) + incorrect position).
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class ScoringEngine
+{
+	public static final int MAX_PEGS = 15; //a color count must fit in 4 bits
+	public static final int MAX_COLORS = 16; //all the color counts must fit in one long
+	public static final String TABLE_PROPERTY = "mastermind.feedbackTable";
+	private final int pegs;
+	private final int colors;
+	private final int codeCount;
+
+	/**
+	 * Constructs a ScoringEngine for codes of a given length and number of colors
+	 * @param inPegs the number of pegs in a code
+	 * @param inColors the number of colors each peg can be
+	 */
+	public ScoringEngine(int inPegs, int inColors)
+	{
+		if (inPegs < 1 || inPegs > MAX_PEGS)
+		{
+			throw new IllegalArgumentException("Pegs must be between 1 and " + MAX_PEGS + ": " + inPegs);
+		}
+		if (inColors < 1 || inColors > MAX_COLORS)
+		{
+			throw new IllegalArgumentException("Colors must be between 1 and " + MAX_COLORS + ": " + inColors);
+		}
+
+		long count = 1;
+		for (int i = 0; i < inPegs; i++)
+		{
+			count *= inColors;
+			if (count > Integer.MAX_VALUE)
+			{
+				throw new IllegalArgumentException(inColors + "^" + inPegs + " codes don't fit in an int");
+			}
+		}
+
+		pegs = inPegs;
+		colors = inColors;
+		codeCount = (int) count;
+	}
+
+	/**
+	 * Gets the engine to score codes of a given length and number of colors with.
+	 * This is the shared FeedbackTable if the "mastermind.feedbackTable" system property is true and the codes fit in a table.
+	 * @param pegs the number of pegs in a code
+	 * @param colors the number of colors each peg can be
+	 * @return the ScoringEngine
+	 */
+	public static ScoringEngine create(int pegs, int colors)
+	{
+		if (Boolean.getBoolean(TABLE_PROPERTY) && FeedbackTable.fits(pegs, colors))
+		{
+			return FeedbackTable.getInstance(pegs, colors);
+		}
+
+		return new ScoringEngine(pegs, colors);
+	}
+
+	/**
+	 * Scores a guess against the answer code.
+	 * @param guess the packed guess code
+	 * @param secret the packed answer code
+	 * @return the packed hint
+	 */
+	public int score(int guess, int secret)
+	{
+		int correctPosition = 0;
+		long guessCounts = 0; //how many of each color are in the unmatched guess pegs, 4 bits per color
+		long secretCounts = 0; //same for the unmatched answer pegs
+
+		for (int i = 0; i < pegs; i++)
+		{
+			int guessColor = guess % colors;
+			int secretColor = secret % colors;
+			guess /= colors;
+			secret /= colors;
+
+			if (guessColor == secretColor)
+			{
+				correctPosition++;
+			}
+			else
+			{
+				guessCounts += 1L << (guessColor << 2);
+				secretCounts += 1L << (secretColor << 2);
+			}
+		}
+
+		//every color which is left over in both codes is worth one incorrect position hint per matching pair
+		int incorrectPosition = 0;
+		while (guessCounts != 0 && secretCounts != 0)
+		{
+			incorrectPosition += Math.min((int) (guessCounts & 0xF), (int) (secretCounts & 0xF));
+			guessCounts >>>= 4;
+			secretCounts >>>= 4;
+		}
+
+		return correctPosition * (pegs + 1) + incorrectPosition;
+	}
+
+	/**
+	 * Packs a hint into an int
+	 * @param correctPosition the number of pegs of the correct color and position
+	 * @param incorrectPosition the number of pegs of the correct color but incorrect position
+	 * @return the packed hint
+	 */
+	public int hint(int correctPosition, int incorrectPosition)
+	{
+		return correctPosition * (pegs + 1) + incorrectPosition;
+	}
+
+	/**
+	 * Gets the number of correct position pegs in a hint
+	 * @param hint the packed hint
+	 * @return the number of pegs of the correct color and position
+	 */
+	public int getCorrectPosition(int hint)
+	{
+		return hint / (pegs + 1);
+	}
+
+	/**
+	 * Gets the number of incorrect position pegs in a hint
+	 * @param hint the packed hint
+	 * @return the number of pegs of the correct color but incorrect position
+	 */
+	public int getIncorrectPosition(int hint)
+	{
+		return hint % (pegs + 1);
+	}
+
+	/**
+	 * Gets the hint given for guessing the answer code
+	 * @return the packed winning hint
+	 */
+	public int getWinningHint()
+	{
+		return pegs * (pegs + 1);
+	}
+
+	/**
+	 * Gets the number of possible packed hint values, so hints can be used as array indexes.
+	 * @return one more than the largest packed hint
+	 */
+	public int getHintCount()
+	{
+		return (pegs + 1) * (pegs + 1);
+	}
+
+	/**
+	 * Packs the colors of a code into an int
+	 * @param values the zero based color of each peg
+	 * @return the packed code
+	 */
+	public int encode(int[] values)
+	{
+		int code = 0;
+		for (int i = values.length - 1; i >= 0; i--)
+		{
+			code = code * colors + values[i];
+		}
+
+		return code;
+	}
+
+	/**
+	 * Gets the color of one peg in a packed code
+	 * @param code the packed code
+	 * @param index the index of the peg
+	 * @return the zero based color of the peg
+	 */
+	public int getValue(int code, int index)
+	{
+		for (int i = 0; i < index; i++)
+		{
+			code /= colors;
+		}
+
+		return code % colors;
+	}
+
+	/**
+	 * Gets the number of pegs in a code
+	 * @return the code length
+	 */
+	public int getPegs()
+	{
+		return pegs;
+	}
+
+	/**
+	 * Gets the number of colors a peg can be
+	 * @return the number of colors
+	 */
+	public int getColors()
+	{
+		return colors;
+	}
+
+	/**
+	 * Gets the number of different codes, which are packed as 0 to getCodeCount() - 1
+	 * @return the number of codes
+	 */
+	public int getCodeCount()
+	{
+		return codeCount;
+	}
+}
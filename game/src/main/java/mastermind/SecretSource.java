@@ -0,0 +1,30 @@
+package mastermind;
+
+/**
+ * Where the answer codes of new games come from. Codes are packed as in the ScoringEngine.
+ * A SecretSource isn't thread safe. Instead, each thread gets its own with split(), so threads making codes
+ * never wait for each other. A source made with a seed gives the same codes every time, so games can be played again.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public interface SecretSource
+{
+	/**
+	 * Makes the answer code for the next game
+	 * @return the packed code, which is allowed by the rules
+	 */
+	int nextSecret();
+
+	/**
+	 * Makes a new source for another thread, which doesn't share anything with this one.
+	 * Splitting a source made with a seed gives the same new sources, in the same order, every time.
+	 * @return the new SecretSource
+	 */
+	SecretSource split();
+
+	/**
+	 * Gets the name of this kind of source, to show in reports
+	 * @return the name
+	 */
+	String getName();
+}
@@ -0,0 +1,224 @@
+package mastermind;
+
+/**
+ * Makes SecretSources by name, and checks how fast and how evenly they make codes.
+ * The check makes a large number of codes on several threads, each with its own split of the source, counts how often
+ * each allowed code came up, and runs a chi-squared test of the counts against every code being equally likely.
+ *
+ * Usage: java mastermind.SecretSources [--rules name] [--secrets random|shuffle] [--samples n] [--seed n] [--threads n]
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class SecretSources
+{
+	/**
+	 * Gets a source by name
+	 * @param name "random" or "shuffle"
+	 * @param rules the rules the codes must follow
+	 * @param seed the seed, so the same codes can be made again
+	 * @return the SecretSource
+	 */
+	public static SecretSource create(String name, Rules rules, long seed)
+	{
+		if (name.equalsIgnoreCase("random"))
+		{
+			return new RandomSecrets(rules, seed);
+		}
+		else if (name.equalsIgnoreCase("shuffle"))
+		{
+			return new ShuffleBag(rules, seed);
+		}
+
+		throw new IllegalArgumentException("Unknown secret source: " + name);
+	}
+
+	/**
+	 * Works out the chi-squared statistic of code counts against every allowed code being equally likely
+	 * @param counts how often each packed code came up
+	 * @param rules the rules which say which codes are allowed
+	 * @return the statistic, which has one less degree of freedom than there are allowed codes
+	 */
+	public static double chiSquared(long[] counts, Rules rules)
+	{
+		long total = 0;
+		for (int code = rules.firstCode(); code >= 0; code = rules.nextCode(code))
+		{
+			total += counts[code];
+		}
+
+		double expected = (double) total / rules.getCodeCount();
+		double sum = 0;
+		for (int code = rules.firstCode(); code >= 0; code = rules.nextCode(code))
+		{
+			double difference = counts[code] - expected;
+			sum += difference * difference / expected;
+		}
+		return sum;
+	}
+
+	/**
+	 * Gets the chance of a chi-squared statistic at least this big if the codes really were evenly spread,
+	 * using the Wilson-Hilferty approximation, which is very close for the thousands of degrees of freedom here
+	 * @param statistic the chi-squared statistic
+	 * @param freedom the degrees of freedom
+	 * @return the p-value, near 0 if the codes are uneven and near 1 if they are more even than chance
+	 */
+	public static double pValue(double statistic, long freedom)
+	{
+		double spread = 2.0 / (9 * freedom);
+		double z = (Math.cbrt(statistic / freedom) - (1 - spread)) / Math.sqrt(spread);
+		return 1 - normal(z);
+	}
+
+	/**
+	 * Gets the chance of a standard normal value being at most z (Abramowitz and Stegun 26.2.17)
+	 * @param z the value
+	 * @return the chance
+	 */
+	private static double normal(double z)
+	{
+		double t = 1 / (1 + 0.2316419 * Math.abs(z));
+		double tail = Math.exp(-z * z / 2) / Math.sqrt(2 * Math.PI)
+				* t * (0.319381530 + t * (-0.356563782 + t * (1.781477937 + t * (-1.821255978 + t * 1.330274429))));
+		return z >= 0 ? 1 - tail : tail;
+	}
+
+	/**
+	 * Counts the codes made by one thread's source
+	 */
+	private static class Counter implements Runnable
+	{
+		private final SecretSource source;
+		private final long samples;
+		private final long[] counts;
+
+		/**
+		 * Constructs a Counter
+		 * @param inSource the source, which only this counter uses
+		 * @param inSamples how many codes to make
+		 * @param codeSpace the size of the code space
+		 */
+		public Counter(SecretSource inSource, long inSamples, int codeSpace)
+		{
+			source = inSource;
+			samples = inSamples;
+			counts = new long[codeSpace];
+		}
+
+		public void run()
+		{
+			for (long i = 0; i < samples; i++)
+			{
+				counts[source.nextSecret()]++;
+			}
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException
+	{
+		Rules rules = Rules.CLASSIC;
+		String name = "random";
+		long samples = 100000000;
+		long seed = System.nanoTime();
+		int threads = Runtime.getRuntime().availableProcessors();
+		SecretSource source = null;
+
+		try
+		{
+			for (int i = 0; i < args.length; i++)
+			{
+				String arg = args[i];
+				if (i + 1 < args.length && arg.equals("--rules"))
+				{
+					rules = Rules.forName(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--secrets"))
+				{
+					name = args[++i];
+				}
+				else if (i + 1 < args.length && arg.equals("--samples"))
+				{
+					samples = Long.parseLong(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--seed"))
+				{
+					seed = Long.parseLong(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--threads"))
+				{
+					threads = Integer.parseInt(args[++i]);
+				}
+				else
+				{
+					throw new IllegalArgumentException("Unknown argument: " + arg);
+				}
+			}
+
+			source = create(name, rules, seed);
+		}
+		catch (IllegalArgumentException ex)
+		{
+			System.err.println(ex.getMessage());
+			System.err.println("Usage: java mastermind.SecretSources [--rules name] [--secrets random|shuffle] [--samples n] [--seed n] [--threads n]");
+			System.exit(1);
+		}
+
+		System.out.println("Making " + samples + " " + source.getName() + " codes for " + rules + " on " + threads
+				+ " threads, seed " + seed);
+
+		Counter[] counters = new Counter[threads];
+		Thread[] workers = new Thread[threads];
+		for (int i = 0; i < threads; i++)
+		{
+			long share = samples / threads + (i < samples % threads ? 1 : 0);
+			counters[i] = new Counter(source.split(), share, rules.getCodeSpace());
+			workers[i] = new Thread(counters[i], "SecretSources " + i);
+		}
+
+		long start = System.nanoTime();
+		for (Thread worker : workers)
+		{
+			worker.start();
+		}
+		for (Thread worker : workers)
+		{
+			worker.join();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		long[] counts = new long[rules.getCodeSpace()];
+		for (Counter counter : counters)
+		{
+			for (int code = 0; code < counts.length; code++)
+			{
+				counts[code] += counter.counts[code];
+			}
+		}
+
+		long fewest = Long.MAX_VALUE;
+		long most = 0;
+		long invalid = 0;
+		for (int code = 0; code < counts.length; code++)
+		{
+			if (rules.isValid(code))
+			{
+				fewest = Math.min(fewest, counts[code]);
+				most = Math.max(most, counts[code]);
+			}
+			else
+			{
+				invalid += counts[code];
+			}
+		}
+
+		long freedom = rules.getCodeCount() - 1;
+		double statistic = chiSquared(counts, rules);
+		System.out.printf("%.2f seconds, %.1f million codes/second%n", seconds, samples / seconds / 1e6);
+		System.out.printf("Each code came up %d to %d times, %.1f expected%n", fewest, most, (double) samples / rules.getCodeCount());
+		System.out.printf("Chi-squared %.1f with %d degrees of freedom, p = %.4f%n", statistic, freedom, pValue(statistic, freedom));
+		if (invalid > 0)
+		{
+			System.out.println(invalid + " codes weren't allowed by the rules");
+		}
+	}
+}
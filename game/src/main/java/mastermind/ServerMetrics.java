@@ -0,0 +1,145 @@
+package mastermind;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the requests a GameServer handles and how long they take, and how many connections and games it has.
+ * Latencies are kept in a LatencyHistogram, so any number of threads can record them without blocking each other,
+ * and percentiles are accurate to within a factor of two.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class ServerMetrics
+{
+	private final LongAdder errors;
+	private final LatencyHistogram latency; //of each request
+	private final AtomicLong connections;
+	private final AtomicLong sessions;
+	private final LongAdder[] finished; //games which ended, by GameState
+
+	/**
+	 * Constructs a ServerMetrics with everything at 0
+	 */
+	public ServerMetrics()
+	{
+		errors = new LongAdder();
+		latency = new LatencyHistogram();
+		connections = new AtomicLong();
+		sessions = new AtomicLong();
+		finished = new LongAdder[GameState.values().length];
+		for (int i = 0; i < finished.length; i++)
+		{
+			finished[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Records a handled request
+	 * @param nanos how long it took
+	 * @param error true if it failed
+	 */
+	public void request(long nanos, boolean error)
+	{
+		if (error)
+		{
+			errors.increment();
+		}
+		latency.record(nanos);
+	}
+
+	/**
+	 * Records a connection being opened (1) or closed (-1)
+	 * @param change the change in the number of connections
+	 */
+	public void connection(int change)
+	{
+		connections.addAndGet(change);
+	}
+
+	/**
+	 * Records a game being started
+	 */
+	public void sessionStarted()
+	{
+		sessions.incrementAndGet();
+	}
+
+	/**
+	 * Records games being picked up from a snapshot
+	 * @param count the number of games
+	 */
+	public void sessionsRestored(int count)
+	{
+		sessions.addAndGet(count);
+	}
+
+	/**
+	 * Records a game ending
+	 * @param outcome how it ended
+	 */
+	public void sessionEnded(GameState outcome)
+	{
+		sessions.decrementAndGet();
+		finished[outcome.ordinal()].increment();
+	}
+
+	/**
+	 * Gets the number of requests handled
+	 * @return the number of requests
+	 */
+	public long getRequests()
+	{
+		return latency.getCount();
+	}
+
+	/**
+	 * Gets the number of open connections
+	 * @return the number of connections
+	 */
+	public long getConnections()
+	{
+		return connections.get();
+	}
+
+	/**
+	 * Gets the number of games in progress
+	 * @return the number of sessions
+	 */
+	public long getSessions()
+	{
+		return sessions.get();
+	}
+
+	/**
+	 * Gets the number of games which ended a certain way
+	 * @param outcome how they ended
+	 * @return the number of games
+	 */
+	public long getFinished(GameState outcome)
+	{
+		return finished[outcome.ordinal()].sum();
+	}
+
+	/**
+	 * Gets a latency which a given fraction of requests took no longer than
+	 * @param fraction the fraction of requests, such as 0.99
+	 * @return the latency in microseconds, rounded up to a power of two nanoseconds but no more than the longest
+	 */
+	public long getPercentileMicros(double fraction)
+	{
+		return latency.getPercentileNanos(fraction) / 1000;
+	}
+
+	/**
+	 * Gets a one line summary of the metrics
+	 * @return the summary
+	 */
+	public String toString()
+	{
+		return String.format("connections=%d sessions=%d requests=%d errors=%d meanMicros=%.1f p50Micros=%d p99Micros=%d maxMicros=%d won=%d lost=%d abandoned=%d",
+				connections.get(), sessions.get(), latency.getCount(), errors.sum(), latency.getMeanNanos() / 1000,
+				getPercentileMicros(0.5), getPercentileMicros(0.99), latency.getMaxNanos() / 1000,
+				getFinished(GameState.WON), getFinished(GameState.LOST), getFinished(GameState.ABANDONED));
+	}
+}
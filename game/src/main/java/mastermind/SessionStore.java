@@ -0,0 +1,727 @@
+package mastermind;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Holds a large number of games in progress, all with the same rules, without an object per game.
+ * Each game is packed into a few longs in big shared arrays: its session id, when it started and was last played,
+ * and a bit field with the answer code, the number of guesses, the GameState, and each guess, hint and the seconds
+ * since the guess before using only as many bits as the rules need. A classic game takes seven longs, plus about two
+ * more for the id lookup table.
+ *
+ * The games are split into segments by session id, each with its own lock, lookup table and arrays,
+ * so threads working on different games seldom wait for each other.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class SessionStore
+{
+	public static final int MAGIC = 0x4D4D5353; //"MMSS"
+	public static final int VERSION = 2;
+	private static final int SEGMENTS = 64; //must be a power of two
+	private static final int PAGE_SLOTS = 4096; //games per array
+	private static final int ID = 0;
+	private static final int TIMES = 1; //start and last used, in seconds since the store was made
+	private static final int BITS = 2; //where the bit field starts
+	private static final int ATTEMPTED_BITS = 6;
+	private static final int STATE_BITS = 2;
+	private static final int GUESS_TIME_BITS = 12; //seconds since the guess before, up to about an hour
+	private final Rules rules;
+	private final ScoringEngine engine;
+	private final int codeBits;
+	private final int hintBits;
+	private final int words; //longs per game
+	private final long epoch;
+	private final Segment[] segments;
+
+	/**
+	 * Constructs an empty SessionStore
+	 * @param inRules the rules of every game in the store
+	 * @param inEngine the engine to score the rules' codes with
+	 */
+	public SessionStore(Rules inRules, ScoringEngine inEngine)
+	{
+		if (inRules.getAttempts() >= 1 << ATTEMPTED_BITS)
+		{
+			throw new IllegalArgumentException("Too many attempts to pack: " + inRules);
+		}
+
+		rules = inRules;
+		engine = inEngine;
+		codeBits = bitsFor(rules.getCodeSpace() - 1);
+		hintBits = bitsFor(engine.getHintCount() - 1);
+		int gameBits = codeBits + ATTEMPTED_BITS + STATE_BITS + rules.getAttempts() * (codeBits + hintBits + GUESS_TIME_BITS);
+		words = BITS + (gameBits + 63) / 64;
+		epoch = System.currentTimeMillis();
+
+		segments = new Segment[SEGMENTS];
+		for (int i = 0; i < SEGMENTS; i++)
+		{
+			segments[i] = new Segment();
+		}
+	}
+
+	/**
+	 * Gets the number of bits needed to hold a number
+	 * @param max the largest number
+	 * @return the number of bits
+	 */
+	private static int bitsFor(int max)
+	{
+		return Math.max(1, 32 - Integer.numberOfLeadingZeros(max));
+	}
+
+	/**
+	 * Starts a new game with a random answer code
+	 * @param rand where to get the answer code and session id from
+	 * @return the session id, which is never 0
+	 */
+	public long create(Random rand)
+	{
+		int secret = rules.randomCode(rand);
+		while (true)
+		{
+			long id = rand.nextLong() & Long.MAX_VALUE;
+			if (id != 0 && segmentFor(id).create(id, secret))
+			{
+				return id;
+			}
+		}
+	}
+
+	/**
+	 * Scores a guess in a game, and moves it on to the next attempt or ends it
+	 * @param id the session id
+	 * @param guess the packed guess
+	 * @return the packed hint and the GameState after the guess, to be read with getHint and getState
+	 * @throws IllegalArgumentException if there is no such game
+	 * @throws IllegalStateException if the game is over
+	 */
+	public long guess(long id, int guess)
+	{
+		if (guess < 0 || guess >= rules.getCodeSpace())
+		{
+			throw new IllegalArgumentException("Not a code: " + guess);
+		}
+		return segmentFor(id).guess(id, guess);
+	}
+
+	/**
+	 * Gets the hint from the result of guess
+	 * @param result the result
+	 * @return the packed hint
+	 */
+	public static int getHint(long result)
+	{
+		return (int) result;
+	}
+
+	/**
+	 * Gets the GameState from the result of guess
+	 * @param result the result
+	 * @return the state of the game after the guess
+	 */
+	public static GameState getState(long result)
+	{
+		return GameState.values()[(int) (result >>> 32)];
+	}
+
+	/**
+	 * Finds the answer codes which are still possible in a game. Most games start with one of a few guesses,
+	 * and the codes left after those come from a cache shared by every game, so usually only the later guesses cost anything.
+	 * @param id the session id
+	 * @return the CandidateSet
+	 * @throws IllegalArgumentException if there is no such game
+	 */
+	public CandidateSet getCandidates(long id)
+	{
+		int[] guesses = new int[rules.getAttempts()];
+		int[] hints = new int[rules.getAttempts()];
+		int count = segmentFor(id).history(id, guesses, hints);
+		return new CandidateSet(rules, engine, guesses, hints, count);
+	}
+
+	/**
+	 * Takes a game out of the store, marking it abandoned if it was still in progress
+	 * @param id the session id
+	 * @return the game, or null if there is no such game
+	 */
+	public GameRecord remove(long id)
+	{
+		return segmentFor(id).remove(id);
+	}
+
+	/**
+	 * Takes every game which hasn't been played for a while out of the store, marking them abandoned
+	 * @param idleMillis how long a game can go without a guess
+	 * @param removed where to add the removed games
+	 */
+	public void removeIdle(long idleMillis, List<GameRecord> removed)
+	{
+		long oldest = (System.currentTimeMillis() - idleMillis - epoch) / 1000;
+		for (Segment segment : segments)
+		{
+			segment.removeIdle(oldest, removed);
+		}
+	}
+
+	/**
+	 * Writes every game in the store, with its session id, so they can be picked up again after a restart.
+	 * The games are written just as they are packed, so this is about as fast as the disk.
+	 * @param out where to write
+	 * @throws IOException
+	 */
+	public void save(DataOutputStream out) throws IOException
+	{
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeByte(rules.getPegs());
+		out.writeByte(rules.getColors());
+		out.writeByte(rules.getAttempts());
+		out.writeBoolean(rules.allowsRepeats());
+		out.writeInt(words);
+		out.writeLong(epoch);
+		for (Segment segment : segments)
+		{
+			segment.save(out);
+		}
+		out.writeLong(0); //no game has session id 0
+	}
+
+	/**
+	 * Adds the games written by save to this store, keeping their session ids
+	 * @param in where to read from
+	 * @return the number of games added
+	 * @throws IOException if the games are for different rules or the data is damaged
+	 */
+	public int load(DataInputStream in) throws IOException
+	{
+		if (in.readInt() != MAGIC || in.readInt() != VERSION)
+		{
+			throw new InvalidFileException("Not a saved session store");
+		}
+		if (in.readByte() != rules.getPegs() || in.readByte() != rules.getColors() || in.readByte() != rules.getAttempts()
+				|| in.readBoolean() != rules.allowsRepeats() || in.readInt() != words)
+		{
+			throw new InvalidFileException("The saved games aren't for " + rules);
+		}
+		long shift = (in.readLong() - epoch) / 1000; //the times are in seconds since the saved store was made
+
+		int count = 0;
+		long[] game = new long[words];
+		for (long id = in.readLong(); id != 0; id = in.readLong())
+		{
+			game[ID] = id;
+			for (int i = TIMES; i < words; i++)
+			{
+				game[i] = in.readLong();
+			}
+			long start = Math.max(0, (game[TIMES] >>> 32) + shift);
+			long last = Math.max(0, (game[TIMES] & 0xFFFFFFFFL) + shift);
+			game[TIMES] = start << 32 | last;
+
+			if (id < 0 || !segmentFor(id).restore(game))
+			{
+				throw new InvalidFileException("Damaged or repeated session " + id);
+			}
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Gets the number of games in the store
+	 * @return the number of games
+	 */
+	public int size()
+	{
+		int size = 0;
+		for (Segment segment : segments)
+		{
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Gets the rules of the games in the store
+	 * @return the Rules
+	 */
+	public Rules getRules()
+	{
+		return rules;
+	}
+
+	/**
+	 * Gets the engine the guesses are scored with
+	 * @return the ScoringEngine
+	 */
+	public ScoringEngine getEngine()
+	{
+		return engine;
+	}
+
+	/**
+	 * Gets the number of longs each game takes, not counting the lookup table
+	 * @return the number of longs
+	 */
+	public int getWordsPerGame()
+	{
+		return words;
+	}
+
+	/**
+	 * Finds the segment which holds a session id
+	 * @param id the session id
+	 * @return the Segment
+	 */
+	private Segment segmentFor(long id)
+	{
+		return segments[(int) (mix(id) >>> 58) & (SEGMENTS - 1)];
+	}
+
+	/**
+	 * Scrambles the bits of a session id, so ids which are alike still spread out
+	 * @param id the session id
+	 * @return the scrambled bits
+	 */
+	private static long mix(long id)
+	{
+		long h = id * 0x9E3779B97F4A7C15L;
+		return h ^ (h >>> 32);
+	}
+
+	/**
+	 * Gets the seconds since the store was made
+	 * @return the time
+	 */
+	private long now()
+	{
+		return (System.currentTimeMillis() - epoch) / 1000;
+	}
+
+	/**
+	 * Some of the games, with their own lock, lookup table and arrays
+	 */
+	private class Segment
+	{
+		private long[][] pages; //the games, PAGE_SLOTS per array
+		private int slots; //slots used so far, including free ones
+		private int[] free; //slots of removed games, to be used again
+		private int freeCount;
+		private long[] keys; //lookup table from session id to slot, with 0 for an empty entry
+		private int[] values;
+		private int size;
+
+		/**
+		 * Constructs an empty Segment
+		 */
+		public Segment()
+		{
+			pages = new long[0][];
+			free = new int[16];
+			keys = new long[16];
+			values = new int[16];
+		}
+
+		/**
+		 * Adds a game
+		 * @param id the session id
+		 * @param secret the packed answer code
+		 * @return false if the id is already used
+		 */
+		public synchronized boolean create(long id, int secret)
+		{
+			if (find(id) >= 0)
+			{
+				return false;
+			}
+
+			int slot = freeCount > 0 ? free[--freeCount] : newSlot();
+			long[] page = pages[slot / PAGE_SLOTS];
+			int base = (slot % PAGE_SLOTS) * words;
+			for (int i = 0; i < words; i++)
+			{
+				page[base + i] = 0;
+			}
+
+			long time = now();
+			page[base + ID] = id;
+			page[base + TIMES] = time << 32 | time;
+			setBits(page, base, 0, codeBits, secret);
+			setBits(page, base, codeBits + ATTEMPTED_BITS, STATE_BITS, GameState.IN_PROGRESS.ordinal());
+
+			put(id, slot);
+			return true;
+		}
+
+		/**
+		 * Adds a game just as it was packed
+		 * @param game the game's longs
+		 * @return false if the session id is already used
+		 */
+		public synchronized boolean restore(long[] game)
+		{
+			if (find(game[ID]) >= 0)
+			{
+				return false;
+			}
+
+			int slot = freeCount > 0 ? free[--freeCount] : newSlot();
+			System.arraycopy(game, 0, pages[slot / PAGE_SLOTS], (slot % PAGE_SLOTS) * words, words);
+			put(game[ID], slot);
+			return true;
+		}
+
+		/**
+		 * Writes every game in the segment just as it is packed
+		 * @param out where to write
+		 * @throws IOException
+		 */
+		public synchronized void save(DataOutputStream out) throws IOException
+		{
+			for (int index = 0; index < keys.length; index++)
+			{
+				if (keys[index] != 0)
+				{
+					int slot = values[index];
+					long[] page = pages[slot / PAGE_SLOTS];
+					int base = (slot % PAGE_SLOTS) * words;
+					for (int i = 0; i < words; i++)
+					{
+						out.writeLong(page[base + i]);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Scores a guess
+		 * @param id the session id
+		 * @param guess the packed guess
+		 * @return the packed hint and GameState
+		 */
+		public synchronized long guess(long id, int guess)
+		{
+			int slot = slotOf(id);
+			long[] page = pages[slot / PAGE_SLOTS];
+			int base = (slot % PAGE_SLOTS) * words;
+
+			GameState state = GameState.values()[(int) getBits(page, base, codeBits + ATTEMPTED_BITS, STATE_BITS)];
+			if (state != GameState.IN_PROGRESS)
+			{
+				throw new IllegalStateException("The game is over");
+			}
+
+			int secret = (int) getBits(page, base, 0, codeBits);
+			int attempted = (int) getBits(page, base, codeBits, ATTEMPTED_BITS);
+			int hint = engine.score(guess, secret);
+			int at = codeBits + ATTEMPTED_BITS + STATE_BITS + attempted * (codeBits + hintBits + GUESS_TIME_BITS);
+			long now = now();
+			long waited = Math.min(now - (page[base + TIMES] & 0xFFFFFFFFL), (1 << GUESS_TIME_BITS) - 1);
+			setBits(page, base, at, codeBits, guess);
+			setBits(page, base, at + codeBits, hintBits, hint);
+			setBits(page, base, at + codeBits + hintBits, GUESS_TIME_BITS, waited);
+			attempted++;
+			setBits(page, base, codeBits, ATTEMPTED_BITS, attempted);
+
+			if (hint == engine.getWinningHint())
+			{
+				state = GameState.WON;
+			}
+			else if (attempted == rules.getAttempts())
+			{
+				state = GameState.LOST;
+			}
+			setBits(page, base, codeBits + ATTEMPTED_BITS, STATE_BITS, state.ordinal());
+			page[base + TIMES] = (page[base + TIMES] & 0xFFFFFFFF00000000L) | now;
+
+			return (long) state.ordinal() << 32 | hint;
+		}
+
+		/**
+		 * Gets the guesses and hints of a game so far
+		 * @param id the session id
+		 * @param guesses where to put the guesses
+		 * @param hints where to put the hints
+		 * @return the number of guesses
+		 */
+		public synchronized int history(long id, int[] guesses, int[] hints)
+		{
+			int slot = slotOf(id);
+			long[] page = pages[slot / PAGE_SLOTS];
+			int base = (slot % PAGE_SLOTS) * words;
+
+			int attempted = (int) getBits(page, base, codeBits, ATTEMPTED_BITS);
+			int at = codeBits + ATTEMPTED_BITS + STATE_BITS;
+			for (int i = 0; i < attempted; i++)
+			{
+				guesses[i] = (int) getBits(page, base, at, codeBits);
+				hints[i] = (int) getBits(page, base, at + codeBits, hintBits);
+				at += codeBits + hintBits + GUESS_TIME_BITS;
+			}
+			return attempted;
+		}
+
+		/**
+		 * Takes a game out of the segment
+		 * @param id the session id
+		 * @return the game, or null if there is no such game
+		 */
+		public synchronized GameRecord remove(long id)
+		{
+			int index = find(id);
+			if (index < 0)
+			{
+				return null;
+			}
+
+			return removeAt(index);
+		}
+
+		/**
+		 * Takes out the games which were last played before a given time
+		 * @param oldest the time, in seconds since the store was made
+		 * @param removed where to add the removed games
+		 */
+		public synchronized void removeIdle(long oldest, List<GameRecord> removed)
+		{
+			int index = 0;
+			while (index < keys.length)
+			{
+				if (keys[index] != 0)
+				{
+					int slot = values[index];
+					long times = pages[slot / PAGE_SLOTS][(slot % PAGE_SLOTS) * words + TIMES];
+					if ((times & 0xFFFFFFFFL) < oldest)
+					{
+						removed.add(removeAt(index));
+						continue; //removing can move another entry into this one
+					}
+				}
+				index++;
+			}
+		}
+
+		/**
+		 * Gets the number of games in the segment
+		 * @return the number of games
+		 */
+		public synchronized int size()
+		{
+			return size;
+		}
+
+		/**
+		 * Takes out the game at an entry of the lookup table
+		 * @param index the entry
+		 * @return the game
+		 */
+		private GameRecord removeAt(int index)
+		{
+			int slot = values[index];
+			long[] page = pages[slot / PAGE_SLOTS];
+			int base = (slot % PAGE_SLOTS) * words;
+
+			int secret = (int) getBits(page, base, 0, codeBits);
+			int attempted = (int) getBits(page, base, codeBits, ATTEMPTED_BITS);
+			GameState state = GameState.values()[(int) getBits(page, base, codeBits + ATTEMPTED_BITS, STATE_BITS)];
+			if (state == GameState.IN_PROGRESS)
+			{
+				state = GameState.ABANDONED;
+			}
+
+			int[] guesses = new int[attempted];
+			int[] hints = new int[attempted];
+			long[] times = new long[attempted];
+			long elapsed = 0;
+			int at = codeBits + ATTEMPTED_BITS + STATE_BITS;
+			for (int i = 0; i < attempted; i++)
+			{
+				guesses[i] = (int) getBits(page, base, at, codeBits);
+				hints[i] = (int) getBits(page, base, at + codeBits, hintBits);
+				elapsed += getBits(page, base, at + codeBits + hintBits, GUESS_TIME_BITS) * 1000;
+				times[i] = elapsed;
+				at += codeBits + hintBits + GUESS_TIME_BITS;
+			}
+
+			long start = epoch + (page[base + TIMES] >>> 32) * 1000;
+			long now = System.currentTimeMillis();
+			page[base + ID] = 0;
+
+			deleteEntry(index);
+			if (freeCount == free.length)
+			{
+				int[] bigger = new int[free.length * 2];
+				System.arraycopy(free, 0, bigger, 0, freeCount);
+				free = bigger;
+			}
+			free[freeCount++] = slot;
+
+			return new GameRecord(rules, secret, guesses, hints, times, attempted, state, now, now - start);
+		}
+
+		/**
+		 * Gets a slot which has never been used, adding a page if needed
+		 * @return the slot
+		 */
+		private int newSlot()
+		{
+			if (slots == pages.length * PAGE_SLOTS)
+			{
+				long[][] bigger = new long[pages.length + 1][];
+				System.arraycopy(pages, 0, bigger, 0, pages.length);
+				bigger[pages.length] = new long[PAGE_SLOTS * words];
+				pages = bigger;
+			}
+			return slots++;
+		}
+
+		/**
+		 * Finds the slot of a game
+		 * @param id the session id
+		 * @return the slot
+		 * @throws IllegalArgumentException if there is no such game
+		 */
+		private int slotOf(long id)
+		{
+			int index = find(id);
+			if (index < 0)
+			{
+				throw new IllegalArgumentException("No game " + Long.toString(id, 36));
+			}
+			return values[index];
+		}
+
+		/**
+		 * Finds a session id in the lookup table
+		 * @param id the session id
+		 * @return the entry, or -1 if it isn't there
+		 */
+		private int find(long id)
+		{
+			int mask = keys.length - 1;
+			for (int index = (int) mix(id) & mask; keys[index] != 0; index = (index + 1) & mask)
+			{
+				if (keys[index] == id)
+				{
+					return index;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Adds a session id to the lookup table, which is kept at most three quarters full
+		 * @param id the session id
+		 * @param slot the game's slot
+		 */
+		private void put(long id, int slot)
+		{
+			if ((size + 1) * 4 > keys.length * 3)
+			{
+				long[] oldKeys = keys;
+				int[] oldValues = values;
+				keys = new long[oldKeys.length * 2];
+				values = new int[oldKeys.length * 2];
+				for (int i = 0; i < oldKeys.length; i++)
+				{
+					if (oldKeys[i] != 0)
+					{
+						insert(oldKeys[i], oldValues[i]);
+					}
+				}
+			}
+
+			insert(id, slot);
+			size++;
+		}
+
+		/**
+		 * Puts an entry in the first free place from where its id hashes to
+		 * @param id the session id
+		 * @param slot the game's slot
+		 */
+		private void insert(long id, int slot)
+		{
+			int mask = keys.length - 1;
+			int index = (int) mix(id) & mask;
+			while (keys[index] != 0)
+			{
+				index = (index + 1) & mask;
+			}
+			keys[index] = id;
+			values[index] = slot;
+		}
+
+		/**
+		 * Deletes an entry of the lookup table, moving later entries back so none of them become unreachable
+		 * @param index the entry
+		 */
+		private void deleteEntry(int index)
+		{
+			int mask = keys.length - 1;
+			int next = (index + 1) & mask;
+			while (keys[next] != 0)
+			{
+				int home = (int) mix(keys[next]) & mask;
+				if (((next - home) & mask) >= ((next - index) & mask)) //the entry can move back to the gap
+				{
+					keys[index] = keys[next];
+					values[index] = values[next];
+					index = next;
+				}
+				next = (next + 1) & mask;
+			}
+			keys[index] = 0;
+			size--;
+		}
+	}
+
+	/**
+	 * Reads a bit field of a game
+	 * @param page the array holding the game
+	 * @param base where the game starts in the array
+	 * @param at the first bit of the field, counting from the start of the game's bits
+	 * @param length the number of bits, at most 32
+	 * @return the field
+	 */
+	private static long getBits(long[] page, int base, int at, int length)
+	{
+		int word = base + BITS + (at >>> 6);
+		int shift = at & 63;
+		long value = page[word] >>> shift;
+		if (shift + length > 64)
+		{
+			value |= page[word + 1] << (64 - shift);
+		}
+		return value & ((1L << length) - 1);
+	}
+
+	/**
+	 * Writes a bit field of a game
+	 * @param page the array holding the game
+	 * @param base where the game starts in the array
+	 * @param at the first bit of the field, counting from the start of the game's bits
+	 * @param length the number of bits, at most 32
+	 * @param value the field
+	 */
+	private static void setBits(long[] page, int base, int at, int length, long value)
+	{
+		long mask = (1L << length) - 1;
+		value &= mask;
+		int word = base + BITS + (at >>> 6);
+		int shift = at & 63;
+		page[word] = (page[word] & ~(mask << shift)) | (value << shift);
+		if (shift + length > 64)
+		{
+			int spill = 64 - shift;
+			page[word + 1] = (page[word + 1] & ~(mask >>> spill)) | (value >>> spill);
+		}
+	}
+}
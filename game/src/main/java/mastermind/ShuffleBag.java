@@ -0,0 +1,176 @@
+package mastermind;
+
+/**
+ * Deals out every allowed code once, in a random order, before any code comes up again, like drawing tiles from a bag
+ * and only refilling it when it's empty. Each refill is shuffled differently.
+ *
+ * The bag is never stored. The allowed codes are numbered from 0, and the n-th code dealt in a round is the code
+ * numbered by a random permutation of n. The permutation is a small Feistel network over enough bits to hold the
+ * numbers, and numbers past the last code are put through it again until they land on one, which keeps it a
+ * permutation of just the codes. So a bag only needs its position and seed, and can start from any position at once.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class ShuffleBag implements SecretSource
+{
+	private static final int ROUNDS = 4;
+	private final Rules rules;
+	private final long seed;
+	private final long count; //the number of allowed codes, which is one round
+	private final int highBits; //the numbers are split into a high part and a low part, which may be a bit longer
+	private final int lowBits;
+	private final long[] keys;
+	private long round;
+	private long position; //in the round
+	private long splits;
+
+	/**
+	 * Constructs a ShuffleBag which deals the same codes every time for a seed
+	 * @param inRules the rules the codes must follow
+	 * @param inSeed the seed
+	 */
+	public ShuffleBag(Rules inRules, long inSeed)
+	{
+		this(inRules, inSeed, 0);
+	}
+
+	/**
+	 * Constructs a ShuffleBag part way through the codes it deals for a seed
+	 * @param inRules the rules the codes must follow
+	 * @param inSeed the seed
+	 * @param start how many codes to skip, across as many rounds as that takes
+	 */
+	public ShuffleBag(Rules inRules, long inSeed, long start)
+	{
+		if (start < 0)
+		{
+			throw new IllegalArgumentException("Can't start before the first code: " + start);
+		}
+
+		rules = inRules;
+		seed = inSeed;
+		count = rules.getCodeCount();
+		int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(count - 1));
+		highBits = bits / 2;
+		lowBits = bits - highBits;
+		keys = new long[ROUNDS];
+		round = start / count;
+		position = start % count;
+		setKeys();
+	}
+
+	public int nextSecret()
+	{
+		if (position == count)
+		{
+			round++;
+			position = 0;
+			setKeys(); //a new shuffle for every round
+		}
+
+		long number = position;
+		do
+		{
+			number = permute(number);
+		}
+		while (number >= count); //cycle walking: under two steps on average, since count is over half the range
+		position++;
+
+		return toCode(number);
+	}
+
+	public SecretSource split()
+	{
+		splits++;
+		return new ShuffleBag(rules, mix(seed + splits * 0x5851F42D4C957F2DL));
+	}
+
+	public String getName()
+	{
+		return "shuffle";
+	}
+
+	/**
+	 * Makes the keys for this round's shuffle from the seed
+	 */
+	private void setKeys()
+	{
+		for (int i = 0; i < ROUNDS; i++)
+		{
+			keys[i] = mix(seed + round * 0x9E3779B97F4A7C15L + i);
+		}
+	}
+
+	/**
+	 * Puts a number through the Feistel network. Each step mixes a hash of the right part into the left part and swaps
+	 * them, so the parts trade lengths when the number of bits is odd, and are back to their own lengths after ROUNDS steps.
+	 * @param number the number, which fits in highBits + lowBits bits
+	 * @return the permuted number, which fits in the same bits
+	 */
+	private long permute(long number)
+	{
+		long left = number >>> lowBits;
+		long right = number & (1L << lowBits) - 1;
+		int leftBits = highBits;
+		int rightBits = lowBits;
+		for (int i = 0; i < ROUNDS; i++)
+		{
+			long next = left ^ (right ^ keys[i]) * 0x9E3779B97F4A7C15L >>> 64 - leftBits; //multiply-shift hash of the right part
+			left = right;
+			right = next;
+			int bits = leftBits;
+			leftBits = rightBits;
+			rightBits = bits;
+		}
+		return left << lowBits | right;
+	}
+
+	/**
+	 * Turns the number of an allowed code into the packed code. With repeats the number is the code.
+	 * Without them, each digit of the number in a falling base picks one of the colors not used yet.
+	 * @param number the number, from 0 to the number of allowed codes
+	 * @return the packed code
+	 */
+	private int toCode(long number)
+	{
+		int rest = (int) number; //fits, since the codes are packed into ints
+		if (rules.allowsRepeats())
+		{
+			return rest;
+		}
+
+		int colors = rules.getColors();
+		int used = 0; //one bit per color
+		int code = 0;
+		int place = 1;
+		for (int i = 0; i < rules.getPegs(); i++)
+		{
+			int pick = rest % (colors - i);
+			rest /= colors - i;
+
+			int free = ~used;
+			for (int j = 0; j < pick; j++)
+			{
+				free &= free - 1; //drops the lowest color which isn't used
+			}
+			int color = Integer.numberOfTrailingZeros(free); //the pick-th color which isn't used
+			used |= 1 << color;
+			code += color * place;
+			place *= colors;
+		}
+
+		return code;
+	}
+
+	/**
+	 * Scrambles the bits of a number, so that similar numbers give unrelated results (the SplitMix64 finalizer)
+	 * @param value the number
+	 * @return the scrambled number
+	 */
+	private static long mix(long value)
+	{
+		value = (value ^ value >>> 30) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ value >>> 27) * 0x94D049BB133111EBL;
+		return value ^ value >>> 31;
+	}
+}
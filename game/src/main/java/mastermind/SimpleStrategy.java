@@ -0,0 +1,58 @@
+package mastermind;
+
+/**
+ * Always guesses the first code which could still be the answer. 
+ * It's quick and needs no memory, but usually takes more guesses than the other strategies.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class SimpleStrategy implements Strategy
+{
+	private final Rules rules;
+	private final ScoringEngine engine;
+	
+	/**
+	 * Constructs a SimpleStrategy for a set of rules
+	 * @param inRules the rules of the game
+	 */
+	public SimpleStrategy(Rules inRules)
+	{
+		rules = inRules;
+		engine = inRules.createEngine();
+	}
+	
+	/**
+	 * Chooses the first code which gives the same hint for every guess made so far
+	 * @param guesses the packed guesses made so far
+	 * @param hints the packed hint for each guess
+	 * @param count the number of guesses made so far
+	 * @return the packed code to guess next
+	 */
+	public int nextGuess(int[] guesses, int[] hints, int count)
+	{
+		for (int code = rules.firstCode(); code >= 0; code = rules.nextCode(code))
+		{
+			int i = 0;
+			while (i < count && engine.score(guesses[i], code) == hints[i])
+			{
+				i++;
+			}
+			
+			if (i == count)
+			{
+				return code;
+			}
+		}
+		
+		throw new IllegalArgumentException("No code matches the given hints");
+	}
+	
+	/**
+	 * Gets the name of this strategy
+	 * @return the name
+	 */
+	public String getName()
+	{
+		return "Simple";
+	}
+}
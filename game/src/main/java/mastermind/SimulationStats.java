@@ -0,0 +1,211 @@
+package mastermind;
+
+import java.io.PrintStream;
+import java.util.Properties;
+
+/**
+ * Keeps track of how many guesses it took to solve a batch of simulated games.
+ * Results from different threads are kept in separate objects and merged at the end.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class SimulationStats
+{
+	public static final int MAX_GUESSES = 64; //a game which isn't solved by then counts as taking this many
+	private static final int WORST_GAMES = 10;
+	private long games;
+	private long totalGuesses;
+	private long lost;
+	private long[] histogram;
+	private int worst;
+	private int[] worstSecrets;
+	private int worstCount;
+
+	/**
+	 * Constructs an empty SimulationStats
+	 */
+	public SimulationStats()
+	{
+		histogram = new long[MAX_GUESSES + 1];
+		worstSecrets = new int[WORST_GAMES];
+	}
+
+	/**
+	 * Adds the result of one game
+	 * @param secret the packed answer code of the game
+	 * @param guesses the number of guesses it took
+	 * @param won true if the code was guessed within the allowed attempts, and false if not
+	 */
+	public void add(int secret, int guesses, boolean won)
+	{
+		games++;
+		totalGuesses += guesses;
+		histogram[guesses]++;
+		if (!won)
+		{
+			lost++;
+		}
+
+		if (guesses > worst)
+		{
+			worst = guesses;
+			worstCount = 0;
+		}
+		if (guesses == worst && worstCount < WORST_GAMES)
+		{
+			worstSecrets[worstCount] = secret;
+			worstCount++;
+		}
+	}
+
+	/**
+	 * Adds all the results of another SimulationStats to this one
+	 * @param other the results to add
+	 */
+	public void merge(SimulationStats other)
+	{
+		games += other.games;
+		totalGuesses += other.totalGuesses;
+		lost += other.lost;
+		for (int i = 0; i < histogram.length; i++)
+		{
+			histogram[i] += other.histogram[i];
+		}
+
+		if (other.worst > worst)
+		{
+			worst = other.worst;
+			worstCount = 0;
+		}
+		if (other.worst == worst)
+		{
+			for (int i = 0; i < other.worstCount && worstCount < WORST_GAMES; i++)
+			{
+				worstSecrets[worstCount] = other.worstSecrets[i];
+				worstCount++;
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of games played
+	 * @return the number of games
+	 */
+	public long getGames()
+	{
+		return games;
+	}
+
+	/**
+	 * Gets the average number of guesses it took to solve a game
+	 * @return the mean number of guesses, or 0 if no games were played
+	 */
+	public double getMeanGuesses()
+	{
+		return games == 0 ? 0 : (double) totalGuesses / games;
+	}
+
+	/**
+	 * Gets the most guesses any game took
+	 * @return the worst number of guesses
+	 */
+	public int getWorst()
+	{
+		return worst;
+	}
+
+	/**
+	 * Gets the number of games which weren't solved within the allowed attempts
+	 * @return the number of lost games
+	 */
+	public long getLost()
+	{
+		return lost;
+	}
+
+	/**
+	 * Stores these results in a Properties object, with each key starting with a prefix
+	 * @param properties where to store the results
+	 * @param prefix the start of each key
+	 */
+	public void save(Properties properties, String prefix)
+	{
+		properties.setProperty(prefix + "games", Long.toString(games));
+		properties.setProperty(prefix + "totalGuesses", Long.toString(totalGuesses));
+		properties.setProperty(prefix + "lost", Long.toString(lost));
+		properties.setProperty(prefix + "worst", Integer.toString(worst));
+
+		StringBuilder counts = new StringBuilder();
+		for (int i = 0; i < histogram.length; i++)
+		{
+			counts.append(i == 0 ? "" : ",").append(histogram[i]);
+		}
+		properties.setProperty(prefix + "histogram", counts.toString());
+
+		StringBuilder secrets = new StringBuilder();
+		for (int i = 0; i < worstCount; i++)
+		{
+			secrets.append(i == 0 ? "" : ",").append(worstSecrets[i]);
+		}
+		properties.setProperty(prefix + "worstSecrets", secrets.toString());
+	}
+
+	/**
+	 * Reads results stored by save
+	 * @param properties where the results were stored
+	 * @param prefix the start of each key
+	 * @return the results
+	 */
+	public static SimulationStats load(Properties properties, String prefix)
+	{
+		SimulationStats stats = new SimulationStats();
+		stats.games = Long.parseLong(properties.getProperty(prefix + "games"));
+		stats.totalGuesses = Long.parseLong(properties.getProperty(prefix + "totalGuesses"));
+		stats.lost = Long.parseLong(properties.getProperty(prefix + "lost"));
+		stats.worst = Integer.parseInt(properties.getProperty(prefix + "worst"));
+
+		String[] counts = properties.getProperty(prefix + "histogram").split(",");
+		for (int i = 0; i < counts.length && i < stats.histogram.length; i++)
+		{
+			stats.histogram[i] = Long.parseLong(counts[i]);
+		}
+
+		String secrets = properties.getProperty(prefix + "worstSecrets");
+		if (!secrets.isEmpty())
+		{
+			for (String secret : secrets.split(","))
+			{
+				stats.worstSecrets[stats.worstCount] = Integer.parseInt(secret);
+				stats.worstCount++;
+			}
+		}
+
+		return stats;
+	}
+
+	/**
+	 * Prints the mean, distribution and worst cases of the number of guesses
+	 * @param out where to print
+	 * @param rules the rules the games were played by, to write out the worst answer codes
+	 */
+	public void report(PrintStream out, Rules rules)
+	{
+		out.printf("Games: %d, lost: %d%n", games, lost);
+		out.printf("Mean guesses: %.4f%n", getMeanGuesses());
+		out.println("Guesses  Games");
+		for (int i = 1; i < histogram.length; i++)
+		{
+			if (histogram[i] > 0)
+			{
+				out.printf("%7d  %d (%.2f%%)%n", i, histogram[i], 100.0 * histogram[i] / games);
+			}
+		}
+
+		out.print("Worst: " + worst + " guesses, for");
+		for (int i = 0; i < worstCount; i++)
+		{
+			out.print(" " + rules.format(worstSecrets[i]));
+		}
+		out.println();
+	}
+}
@@ -0,0 +1,574 @@
+package mastermind;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays a large number of games with a guessing strategy, without any Swing components, and reports how well it did.
+ * The games are split into chunks which are played on a fork-join pool using every core.
+ * Every so often the results of all the chunks finished so far are saved to a checkpoint file,
+ * so a run which is stopped can be picked up again from there. Chunks which finished before an earlier one are saved
+ * on their own, so they aren't played (and logged) again.
+ *
+ * The answer codes are random, or with --secrets shuffle every code comes up once before any comes up again.
+ * Either way each chunk gets the same codes every run with the same seed.
+ *
+ * With --cache n, the knuth, entropy and parts strategies keep up to n of the guesses they work out in a
+ * TranspositionCache, and reuse them for positions which come up again in later games.
+ *
+ * Usage: java mastermind.Simulator [--rules name] [--strategy knuth|entropy|parts|random|simple|optimal] [--games n | --exhaustive]
+ *        [--secrets random|shuffle] [--seed n] [--threads n] [--checkpoint file] [--checkpoint-seconds n] [--log file]
+ *        [--cache n]
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class Simulator
+{
+	private static final int CHUNK = 256; //games per chunk
+	private static final int CHUNKS_PER_THREAD = 4; //how many chunks to keep queued for each thread
+	private final Rules rules;
+	private final Strategy strategy;
+	private final ScoringEngine engine;
+	private final long games;
+	private final boolean exhaustive;
+	private final long seed;
+	private final int threads;
+	private final File checkpoint;
+	private final long checkpointNanos;
+	private final long chunkCount;
+	private GameLog log; //where to add every game played, or null
+	private String secrets; //"random" or "shuffle"
+	private long finishedChunks; //every chunk before this one is in "results"
+	private SimulationStats results;
+	private Map<Long, SimulationStats> waiting; //chunks which finished before an earlier one
+	private long previousNanos; //time spent before the run was picked up from a checkpoint
+	private RuntimeException failure; //thrown by a chunk, which stops the run
+
+	/**
+	 * Constructs a Simulator
+	 * @param inRules the rules to play by
+	 * @param inStrategy the strategy to guess with
+	 * @param inGames how many games to play with random answer codes, ignored if inExhaustive is true
+	 * @param inExhaustive true to play one game for every allowed answer code
+	 * @param inSeed the seed for the random answer codes, so a run can be repeated
+	 * @param inThreads how many threads to play on
+	 * @param inCheckpoint the file to save progress in, or null to not save it
+	 * @param checkpointSeconds how often to save progress
+	 */
+	public Simulator(Rules inRules, Strategy inStrategy, long inGames, boolean inExhaustive, long inSeed,
+			int inThreads, File inCheckpoint, int checkpointSeconds)
+	{
+		rules = inRules;
+		strategy = inStrategy;
+		engine = inRules.createEngine();
+		games = inExhaustive ? inRules.getCodeCount() : inGames;
+		exhaustive = inExhaustive;
+		seed = inSeed;
+		threads = inThreads;
+		checkpoint = inCheckpoint;
+		checkpointNanos = checkpointSeconds * 1000000000L;
+
+		long space = exhaustive ? rules.getCodeSpace() : games; //exhaustive chunks are ranges of packed codes
+		chunkCount = (space + CHUNK - 1) / CHUNK;
+		secrets = "random";
+	}
+
+	/**
+	 * Sets how the answer codes are chosen when the games aren't exhaustive
+	 * @param name "random" for independent random codes, or "shuffle" to deal every code before any comes up again
+	 */
+	public void setSecrets(String name)
+	{
+		SecretSources.create(name, rules, seed); //checks the name
+		secrets = name.toLowerCase();
+	}
+
+	/**
+	 * Sets a log which every game played is added to
+	 * @param inLog the GameLog, or null to not keep one
+	 */
+	public void setLog(GameLog inLog)
+	{
+		log = inLog;
+	}
+
+	/**
+	 * Plays all the games which haven't been played yet
+	 * @return the results of all the games
+	 * @throws IOException if the checkpoint file can't be read or written
+	 * @throws InterruptedException if the thread is interrupted while waiting for the games
+	 */
+	public SimulationStats run() throws IOException, InterruptedException
+	{
+		synchronized (this)
+		{
+			finishedChunks = 0;
+			results = new SimulationStats();
+			waiting = new HashMap<Long, SimulationStats>();
+			previousNanos = 0;
+			failure = null;
+		}
+		if (checkpoint != null && checkpoint.exists())
+		{
+			loadCheckpoint();
+		}
+
+		long startGames = results.getGames();
+		long start = System.nanoTime();
+		long lastCheckpoint = start;
+		long nextChunk = finishedChunks;
+		ForkJoinPool pool = new ForkJoinPool(threads);
+
+		try
+		{
+			synchronized (this)
+			{
+				while (finishedChunks < chunkCount)
+				{
+					//keep a few chunks queued for each thread, without queuing millions of them at once
+					while (nextChunk < chunkCount && nextChunk - finishedChunks - waiting.size() < threads * CHUNKS_PER_THREAD)
+					{
+						if (!waiting.containsKey(nextChunk)) //chunks from the checkpoint are already done
+						{
+							pool.execute(new ChunkTask(nextChunk));
+						}
+						nextChunk++;
+					}
+
+					wait(1000);
+					
+					if (failure != null)
+					{
+						throw failure;
+					}
+
+					long now = System.nanoTime();
+					if (now - lastCheckpoint >= checkpointNanos)
+					{
+						lastCheckpoint = now;
+						saveCheckpoint(now - start);
+						reportProgress(startGames, now - start);
+					}
+				}
+			}
+		}
+		finally
+		{
+			pool.shutdownNow();
+		}
+
+		long elapsed = System.nanoTime() - start;
+		saveCheckpoint(elapsed);
+		reportProgress(startGames, elapsed);
+
+		return results;
+	}
+
+	/**
+	 * Plays every game of one chunk
+	 * @param chunk the index of the chunk
+	 * @return the results of the chunk's games
+	 */
+	private SimulationStats playChunk(long chunk)
+	{
+		SimulationStats stats = new SimulationStats();
+		int[] guesses = new int[SimulationStats.MAX_GUESSES];
+		int[] hints = new int[SimulationStats.MAX_GUESSES];
+
+		if (exhaustive)
+		{
+			int first = (int) (chunk * CHUNK);
+			int last = Math.min(first + CHUNK, rules.getCodeSpace());
+			for (int secret = first; secret < last; secret++)
+			{
+				if (rules.isValid(secret))
+				{
+					playGame(secret, guesses, hints, stats);
+				}
+			}
+		}
+		else
+		{
+			SecretSource source;
+			if (secrets.equals("shuffle"))
+			{
+				source = new ShuffleBag(rules, seed, chunk * CHUNK); //the chunk's part of one bag dealt for the whole run
+			}
+			else
+			{
+				source = new RandomSecrets(rules, TranspositionCache.mix(seed + chunk)); //mixed, so the chunks get unrelated codes, the same every run
+			}
+			long count = Math.min(CHUNK, games - chunk * CHUNK);
+			for (int i = 0; i < count; i++)
+			{
+				playGame(source.nextSecret(), guesses, hints, stats);
+			}
+		}
+
+		return stats;
+	}
+
+	/**
+	 * Plays one game and adds its result
+	 * @param secret the packed answer code
+	 * @param guesses room for the guesses
+	 * @param hints room for the hints
+	 * @param stats where to add the result
+	 */
+	private void playGame(int secret, int[] guesses, int[] hints, SimulationStats stats)
+	{
+		long start = log == null ? 0 : System.nanoTime();
+		int winningHint = engine.getWinningHint();
+		int count = 0;
+		do
+		{
+			guesses[count] = strategy.nextGuess(guesses, hints, count);
+			hints[count] = engine.score(guesses[count], secret);
+			count++;
+		}
+		while (hints[count - 1] != winningHint && count < guesses.length);
+
+		boolean won = hints[count - 1] == winningHint && count <= rules.getAttempts();
+		stats.add(secret, count, won);
+
+		if (log != null)
+		{
+			try
+			{
+				log.append(rules, secret, guesses, hints, Math.min(count, GameLog.MAX_GUESSES),
+						won ? GameState.WON : GameState.LOST, System.currentTimeMillis(), (System.nanoTime() - start) / 1000000);
+			}
+			catch (IOException ex)
+			{
+				throw new UncheckedIOException(ex);
+			}
+		}
+	}
+
+	/**
+	 * Adds the results of a finished chunk. Results are only added in order, so the checkpoint never has gaps.
+	 * @param chunk the index of the chunk
+	 * @param stats the results of the chunk's games
+	 */
+	private synchronized void chunkDone(long chunk, SimulationStats stats)
+	{
+		waiting.put(chunk, stats);
+
+		SimulationStats next = waiting.remove(finishedChunks);
+		while (next != null)
+		{
+			results.merge(next);
+			finishedChunks++;
+			next = waiting.remove(finishedChunks);
+		}
+
+		notifyAll();
+	}
+
+	/**
+	 * Saves the results finished so far, writing a new file and then renaming it so a crash can't leave half a checkpoint
+	 * @param elapsed the time this run has taken so far, in nanoseconds
+	 * @throws IOException if the file can't be written
+	 */
+	private synchronized void saveCheckpoint(long elapsed) throws IOException
+	{
+		if (checkpoint == null)
+		{
+			return;
+		}
+
+		Properties properties = new Properties();
+		properties.setProperty("run", describeRun());
+		properties.setProperty("finishedChunks", Long.toString(finishedChunks));
+		properties.setProperty("nanos", Long.toString(previousNanos + elapsed));
+		results.save(properties, "results.");
+		StringBuilder chunks = new StringBuilder();
+		for (Map.Entry<Long, SimulationStats> entry : waiting.entrySet())
+		{
+			chunks.append(chunks.length() == 0 ? "" : ",").append(entry.getKey());
+			entry.getValue().save(properties, "waiting." + entry.getKey() + ".");
+		}
+		properties.setProperty("waitingChunks", chunks.toString());
+
+		File temp = new File(checkpoint.getPath() + ".tmp");
+		OutputStream out = new FileOutputStream(temp);
+		try
+		{
+			properties.store(out, "Mastermind simulation checkpoint");
+		}
+		finally
+		{
+			out.close();
+		}
+
+		Files.move(temp.toPath(), checkpoint.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Picks up the results saved in the checkpoint file
+	 * @throws IOException if the file can't be read or is for a different run
+	 */
+	private synchronized void loadCheckpoint() throws IOException
+	{
+		Properties properties = new Properties();
+		InputStream in = new FileInputStream(checkpoint);
+		try
+		{
+			properties.load(in);
+		}
+		finally
+		{
+			in.close();
+		}
+
+		if (!describeRun().equals(properties.getProperty("run")))
+		{
+			throw new InvalidFileException("Checkpoint " + checkpoint + " is for a different run: " + properties.getProperty("run"));
+		}
+
+		try
+		{
+			finishedChunks = Long.parseLong(properties.getProperty("finishedChunks"));
+			previousNanos = Long.parseLong(properties.getProperty("nanos"));
+			results = SimulationStats.load(properties, "results.");
+			String chunks = properties.getProperty("waitingChunks", "");
+			for (String chunk : chunks.isEmpty() ? new String[0] : chunks.split(","))
+			{
+				long index = Long.parseLong(chunk);
+				if (index <= finishedChunks || index >= chunkCount)
+				{
+					throw new IllegalArgumentException("chunk " + index + " can't be waiting");
+				}
+				waiting.put(index, SimulationStats.load(properties, "waiting." + index + "."));
+			}
+		}
+		catch (RuntimeException ex)
+		{
+			throw new InvalidFileException("Checkpoint " + checkpoint + " is damaged: " + ex);
+		}
+	}
+
+	/**
+	 * Describes the settings of this run, so a checkpoint is only picked up by the same run
+	 * @return the description
+	 */
+	private String describeRun()
+	{
+		return rules + ", " + strategy.getName() + ", "
+				+ (exhaustive ? "exhaustive" : games + " games, " + secrets + " secrets, seed " + seed);
+	}
+
+	/**
+	 * Prints how many games have been played and how fast
+	 * @param startGames how many games were already played when this run started
+	 * @param elapsed the time this run has taken so far, in nanoseconds
+	 */
+	private synchronized void reportProgress(long startGames, long elapsed)
+	{
+		double seconds = elapsed / 1e9;
+		System.out.printf("%d of %d games, %.0f games/second%n", results.getGames(), games,
+				(results.getGames() - startGames) / Math.max(seconds, 1e-9));
+	}
+
+	/**
+	 * Gets a strategy by name
+	 * @param name the name of the strategy
+	 * @param rules the rules to play by
+	 * @return the Strategy
+	 */
+	public static Strategy createStrategy(String name, Rules rules)
+	{
+		return createStrategy(name, rules, 0);
+	}
+
+	/**
+	 * Gets a strategy by name
+	 * @param name "knuth", "entropy", "parts", "random", "simple" or "optimal"
+	 * @param rules the rules to play by
+	 * @param seed the seed for the random strategy, so a run can be repeated
+	 * @return the Strategy
+	 */
+	public static Strategy createStrategy(String name, Rules rules, long seed)
+	{
+		if (name.equalsIgnoreCase("knuth"))
+		{
+			return new KnuthSolver(rules);
+		}
+		else if (name.equalsIgnoreCase("entropy"))
+		{
+			return new MaxEntropyStrategy(rules);
+		}
+		else if (name.equalsIgnoreCase("parts"))
+		{
+			return new MostPartsStrategy(rules);
+		}
+		else if (name.equalsIgnoreCase("random"))
+		{
+			return new RandomConsistentStrategy(rules, seed);
+		}
+		else if (name.equalsIgnoreCase("simple"))
+		{
+			return new SimpleStrategy(rules);
+		}
+		else if (name.equalsIgnoreCase("optimal"))
+		{
+			return new OptimalSolver(rules);
+		}
+
+		throw new IllegalArgumentException("Unknown strategy: " + name);
+	}
+
+	/**
+	 * Plays one chunk of games on the pool
+	 */
+	private class ChunkTask extends RecursiveAction
+	{
+		private final long chunk;
+
+		/**
+		 * Constructs a task to play a chunk
+		 * @param inChunk the index of the chunk
+		 */
+		public ChunkTask(long inChunk)
+		{
+			chunk = inChunk;
+		}
+
+		protected void compute()
+		{
+			try
+			{
+				chunkDone(chunk, playChunk(chunk));
+			}
+			catch (RuntimeException ex)
+			{
+				synchronized (Simulator.this)
+				{
+					failure = ex;
+					Simulator.this.notifyAll();
+				}
+			}
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		Rules rules = Rules.CLASSIC;
+		String strategyName = "knuth";
+		long games = 100000;
+		boolean exhaustive = false;
+		long seed = 0;
+		int threads = Runtime.getRuntime().availableProcessors();
+		File checkpoint = null;
+		int checkpointSeconds = 60;
+		File logFile = null;
+		String secrets = "random";
+		int cacheSize = 0;
+		Strategy strategy = null;
+
+		try
+		{
+			for (int i = 0; i < args.length; i++)
+			{
+				String arg = args[i];
+				if (arg.equals("--exhaustive"))
+				{
+					exhaustive = true;
+				}
+				else if (i + 1 < args.length && arg.equals("--rules"))
+				{
+					rules = Rules.forName(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--strategy"))
+				{
+					strategyName = args[++i];
+				}
+				else if (i + 1 < args.length && arg.equals("--games"))
+				{
+					games = Long.parseLong(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--secrets"))
+				{
+					secrets = args[++i];
+				}
+				else if (i + 1 < args.length && arg.equals("--seed"))
+				{
+					seed = Long.parseLong(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--threads"))
+				{
+					threads = Integer.parseInt(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--checkpoint"))
+				{
+					checkpoint = new File(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--checkpoint-seconds"))
+				{
+					checkpointSeconds = Integer.parseInt(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--log"))
+				{
+					logFile = new File(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--cache"))
+				{
+					cacheSize = Integer.parseInt(args[++i]);
+				}
+				else
+				{
+					throw new IllegalArgumentException("Unknown argument: " + arg);
+				}
+			}
+			
+			strategy = createStrategy(strategyName, rules, seed);
+			if (cacheSize > 0 && strategy instanceof PartitionStrategy)
+			{
+				((PartitionStrategy) strategy).setCache(new TranspositionCache(cacheSize));
+			}
+			SecretSources.create(secrets, rules, seed); //checks the name before the games start
+		}
+		catch (IllegalArgumentException ex)
+		{
+			System.err.println(ex.getMessage());
+			System.err.println("Usage: java mastermind.Simulator [--rules name] [--strategy knuth|entropy|parts|random|simple|optimal] [--games n | --exhaustive]");
+			System.err.println("       [--secrets random|shuffle] [--seed n] [--threads n] [--checkpoint file] [--checkpoint-seconds n] [--log file]");
+			System.err.println("       [--cache n]");
+			System.exit(1);
+		}
+
+		System.out.println("Playing " + rules + " with the " + strategy.getName() + " strategy on " + threads + " threads");
+
+		Simulator simulator = new Simulator(rules, strategy, games, exhaustive, seed, threads, checkpoint, checkpointSeconds);
+		simulator.setSecrets(secrets);
+		GameLog log = logFile == null ? null : new GameLog(logFile);
+		simulator.setLog(log);
+		try
+		{
+			simulator.run().report(System.out, rules);
+			if (strategy instanceof PartitionStrategy && ((PartitionStrategy) strategy).getCache() != null)
+			{
+				System.out.println(((PartitionStrategy) strategy).getCache().getSummary());
+			}
+		}
+		finally
+		{
+			if (log != null)
+			{
+				log.close();
+			}
+		}
+	}
+}
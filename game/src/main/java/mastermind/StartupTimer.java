@@ -0,0 +1,77 @@
+package mastermind;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps track of how long each step of starting the game takes, up to the first time the frame is painted.
+ * Marking a step is cheap and always done. The times are only printed, to System.err, when the game is run with
+ * -Dmastermind.timing=true. Steps marked after the report, like pictures which finish loading late, are printed
+ * as they happen.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class StartupTimer
+{
+	private static final long START = System.nanoTime();
+	private static final boolean ENABLED = Boolean.getBoolean("mastermind.timing");
+	private static final List<String> steps = new ArrayList<String>();
+	private static final List<Long> times = new ArrayList<Long>();
+	private static boolean reported;
+
+	/**
+	 * Records that a step of starting up has finished
+	 * @param step what was done
+	 */
+	public static synchronized void mark(String step)
+	{
+		long now = System.nanoTime();
+		steps.add(step + " [" + Thread.currentThread().getName() + "]");
+		times.add(now);
+		if (reported && ENABLED)
+		{
+			System.err.println(format(steps.size() - 1));
+		}
+	}
+
+	/**
+	 * Records that the frame was painted for the first time and prints the times, if they were asked for.
+	 * Only the first call does anything.
+	 */
+	public static synchronized void firstFrame()
+	{
+		if (reported)
+		{
+			return;
+		}
+
+		mark("first frame painted");
+		reported = true;
+		if (!ENABLED)
+		{
+			return;
+		}
+
+		//the JVM's start time is only looked up when timing, since loading the management classes takes a while
+		long beforeMain = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime()
+				- (System.nanoTime() - START) / 1000000;
+		System.err.println("Startup: " + beforeMain + " ms from starting the JVM to the game's first class");
+		for (int i = 0; i < steps.size(); i++)
+		{
+			System.err.println(format(i));
+		}
+	}
+
+	/**
+	 * Formats a step as its time since starting and since the step before
+	 * @param index which step
+	 * @return the line to print
+	 */
+	private static String format(int index)
+	{
+		long at = times.get(index) - START;
+		long took = at - (index == 0 ? 0 : times.get(index - 1) - START);
+		return String.format("Startup: %6.1f ms (+%6.1f ms) %s", at / 1e6, took / 1e6, steps.get(index));
+	}
+}
@@ -0,0 +1,410 @@
+package mastermind;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class keeps the score of played games.
+ * There is one StatsCounter per statistics file, shared by everything in the program which uses that file.
+ * Updates are added to striped counters so threads don't block each other, and a background thread merges them into
+ * the file a moment later, so a burst of updates only costs one write. The file is locked while it is merged,
+ * and the updates are added to whatever the file holds at that time, so other programs can update the same file.
+ * The new values are written to a file next to it which then replaces it, so a crash can't leave it half written.
+ * @author Y. Stitzer
+ * @version 12/20/2012
+ */
+public class StatsCounter
+{
+	private static final String DEFAULT_FILENAME = "resources/Statistics.txt";
+	private static final long WRITE_DELAY = 500; //milliseconds to wait for more updates before writing
+	private static final Map<String, StatsCounter> counters = new HashMap<String, StatsCounter>();
+	private final File file;
+	private final LongAdder[] pending; //updates which aren't in the file yet
+	private final AtomicBoolean dirty; //true if the writer thread should merge the updates
+	private final AtomicReference<IOException> writeError; //the last background write failure, reported by the next update
+	private final Thread writerThread;
+	public static final int VALUES = 3;
+	public static final int WINS = 0;
+	public static final int LOSSES = 1;
+	public static final int INCOMPLETES = 2;
+
+	/**
+	 * Constructs a StatsCounter which keeps the statistics in a given file
+	 * @param inFile the statistics file
+	 */
+	private StatsCounter(File inFile)
+	{
+		file = inFile;
+		pending = new LongAdder[VALUES];
+		for (int i = 0; i < VALUES; i++)
+		{
+			pending[i] = new LongAdder();
+		}
+		dirty = new AtomicBoolean();
+		writeError = new AtomicReference<IOException>();
+
+		writerThread = new Thread(new Writer(), "StatsCounter writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+
+		Runtime.getRuntime().addShutdownHook(new Thread(new FlushOnExit()));
+	}
+
+	/**
+	 * Gets the StatsCounter which keeps the statistics in the default file
+	 * @return the shared StatsCounter
+	 */
+	public static StatsCounter getInstance()
+	{
+		return getInstance(DEFAULT_FILENAME);
+	}
+
+	/**
+	 * Gets the StatsCounter which keeps the statistics in a given file
+	 * @param filename the name of the statistics file
+	 * @return the shared StatsCounter
+	 */
+	public static StatsCounter getInstance(String filename)
+	{
+		File file = new File(filename).getAbsoluteFile();
+		String key;
+		try
+		{
+			key = file.getCanonicalPath();
+		}
+		catch (IOException ex)
+		{
+			key = file.getPath();
+		}
+
+		synchronized (counters)
+		{
+			StatsCounter counter = counters.get(key);
+			if (counter == null)
+			{
+				counter = new StatsCounter(file);
+				counters.put(key, counter);
+			}
+
+			return counter;
+		}
+	}
+
+	/**
+	 * Gets the statistics, including updates from other programs
+	 * @return the array with the statistics
+	 * @throws IOException
+	 */
+	public int[] getStats() throws IOException
+	{
+		long[] values = merge();
+
+		int[] stats = new int[VALUES];
+		for (int i = 0; i < VALUES; i++)
+		{
+			stats[i] = (int) (values[i] + pending[i].sum()); //counts updates made while merging
+		}
+
+		return stats;
+	}
+
+	/**
+	 * adds a win count
+	 * @throws IOException
+	 */
+	public void addWin() throws IOException
+	{
+		add(WINS);
+	}
+
+	/**
+	 * adds a loss count
+	 * @throws IOException
+	 */
+	public void addLoss() throws IOException
+	{
+		add(LOSSES);
+	}
+
+	/**
+	 * adds an incomplete count
+	 * @throws IOException
+	 */
+	public void addIncomplete() throws IOException
+	{
+		add(INCOMPLETES);
+	}
+
+	/**
+	 * adds one to a count and wakes up the background thread if it's sleeping
+	 * @param index which count to add to
+	 * @throws IOException if the last background write failed
+	 */
+	private void add(int index) throws IOException
+	{
+		pending[index].increment();
+
+		if (dirty.compareAndSet(false, true)) //only the first update since the last write needs to wake the writer
+		{
+			LockSupport.unpark(writerThread);
+		}
+
+		IOException error = writeError.getAndSet(null);
+		if (error != null)
+		{
+			throw error;
+		}
+	}
+
+	/**
+	 * Writes any updates to the file right away
+	 * @throws IOException
+	 */
+	public void flush() throws IOException
+	{
+		for (LongAdder count : pending)
+		{
+			if (count.sum() != 0)
+			{
+				merge();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Merges the pending updates into the file, recording how long it took in the GameMetrics
+	 * @return the values now in the file
+	 * @throws IOException
+	 */
+	private synchronized long[] merge() throws IOException
+	{
+		long start = System.nanoTime();
+		try
+		{
+			return mergeFile();
+		}
+		finally
+		{
+			GameMetrics.getInstance().statsFileOperation(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Adds the pending updates to the values in the file while it is locked, so no one else's updates are lost
+	 * @return the values now in the file
+	 * @throws IOException
+	 */
+	private long[] mergeFile() throws IOException
+	{
+		if (!file.exists()) //opening it would create an empty one
+		{
+			throw new FileNotFoundException(file + " (No such file)");
+		}
+
+		while (true)
+		{
+			Object key = fileKey();
+			RandomAccessFile raf = new RandomAccessFile(file, "rw");
+			try
+			{
+				FileChannel channel = raf.getChannel();
+				FileLock lock = channel.lock(); //waits for other programs using the file
+				try
+				{
+					if (key != null && !key.equals(fileKey()))
+					{
+						continue; //another program replaced the file while this one waited, so lock the new one
+					}
+
+					long[] values = readFile(channel);
+
+					long[] taken = new long[VALUES];
+					boolean changed = false;
+					for (int i = 0; i < VALUES; i++)
+					{
+						taken[i] = pending[i].sum();
+						pending[i].add(-taken[i]); //leaves anything added since the sum for next time
+						values[i] += taken[i];
+						changed = changed || taken[i] != 0;
+					}
+
+					if (changed)
+					{
+						try
+						{
+							updateFile(values);
+						}
+						catch (IOException ex)
+						{
+							for (int i = 0; i < VALUES; i++)
+							{
+								pending[i].add(taken[i]); //try again next time
+							}
+							throw ex;
+						}
+					}
+
+					return values;
+				}
+				finally
+				{
+					lock.release();
+				}
+			}
+			finally
+			{
+				raf.close();
+			}
+		}
+	}
+
+	/**
+	 * gets what identifies the file on its file system, which changes when the file is replaced
+	 * @return the key, or null if the file system doesn't have one
+	 * @throws IOException
+	 */
+	private Object fileKey() throws IOException
+	{
+		return Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+	}
+
+	/**
+	 * gets the values from the file
+	 * @param channel the open statistics file
+	 * @return the values
+	 * @throws IOException
+	 */
+	private long[] readFile(FileChannel channel) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+		channel.position(0);
+		while (buffer.hasRemaining() && channel.read(buffer) >= 0)
+		{
+			//keep reading
+		}
+
+		Scanner reader = new Scanner(new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+		long[] values = new long[VALUES];
+		try
+		{
+			try
+			{
+				values[WINS] = reader.nextLong();
+				values[LOSSES] = reader.nextLong();
+				values[INCOMPLETES] = reader.nextLong();
+			}
+			catch (Exception ex)
+			{
+				throw new InvalidFileException("File doesn't contain " + VALUES + " integer values.");
+			}
+
+			if (reader.hasNext())
+			{
+				throw new InvalidFileException("File has more than " + VALUES + " values.");
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+
+		return values;
+	}
+
+	/**
+	 * rewrites the statistics, writing a new file and then renaming it so a crash can't leave half a file
+	 * @param values the statistics to write
+	 * @throws IOException
+	 */
+	private void updateFile(long[] values) throws IOException
+	{
+		String text = String.format("%d%n%d%n%d%n", values[WINS], values[LOSSES], values[INCOMPLETES]);
+
+		File temp = new File(file.getPath() + ".tmp"); //only written while the file is locked
+		FileOutputStream out = new FileOutputStream(temp);
+		try
+		{
+			out.write(text.getBytes(StandardCharsets.US_ASCII));
+			out.getFD().sync();
+		}
+		finally
+		{
+			out.close();
+		}
+
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Merges the updates into the file a moment after they are made
+	 */
+	private class Writer implements Runnable
+	{
+		public void run()
+		{
+			try
+			{
+				while (true)
+				{
+					while (!dirty.get())
+					{
+						LockSupport.park(this);
+					}
+
+					Thread.sleep(WRITE_DELAY); //let more updates pile up
+					dirty.set(false); //updates made from here on wake the writer again
+
+					try
+					{
+						merge();
+					}
+					catch (IOException ex)
+					{
+						writeError.set(ex);
+						dirty.set(true); //the updates are still pending, so try again
+					}
+				}
+			}
+			catch (InterruptedException ex)
+			{
+				//stopped
+			}
+		}
+	}
+
+	/**
+	 * Writes any updates which are left when the program exits
+	 */
+	private class FlushOnExit implements Runnable
+	{
+		public void run()
+		{
+			try
+			{
+				flush();
+			}
+			catch (IOException ex)
+			{
+				System.err.println("Unable to save the statistics to " + file + ": " + ex.getMessage());
+			}
+		}
+	}
+}
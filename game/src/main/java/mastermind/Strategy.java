@@ -0,0 +1,25 @@
+package mastermind;
+
+/**
+ * A way of choosing guesses. Guesses and hints are packed as in the ScoringEngine.
+ * A Strategy keeps no state between calls, so one object can play any number of games at once from different threads.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public interface Strategy
+{
+	/**
+	 * Chooses the next guess to make
+	 * @param guesses the packed guesses made so far
+	 * @param hints the packed hint for each guess
+	 * @param count the number of guesses made so far
+	 * @return the packed code to guess next
+	 */
+	int nextGuess(int[] guesses, int[] hints, int count);
+	
+	/**
+	 * Gets the name of this strategy, to show in reports
+	 * @return the name
+	 */
+	String getName();
+}
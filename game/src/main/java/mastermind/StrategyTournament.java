@@ -0,0 +1,353 @@
+package mastermind;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays several strategies against every allowed answer code of a set of rules, one strategy after another, and reports
+ * how many guesses each took against what each guess cost to choose: the mean and worst number of guesses, the time
+ * per decision and the memory allocated per decision.
+ *
+ * Each strategy's games are shared out in chunks between plain threads rather than a fork-join pool, so that a
+ * strategy which forks work of its own can't end up playing other games while it waits, which would count their time
+ * as part of its decision. Allocation is counted by each player thread for itself, plus whatever the other threads
+ * in the program allocated meanwhile, so it includes any fork-join workers a strategy uses; it needs a JVM which can
+ * count allocation per thread, and is shown as n/a otherwise.
+ *
+ * With --cache n, each strategy which can keeps up to n of the guesses it works out in a TranspositionCache of its own.
+ *
+ * Usage: java mastermind.StrategyTournament [--rules name] [--strategies name,name,...] [--seed n] [--threads n] [--cache n]
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class StrategyTournament
+{
+	public static final String ALL_STRATEGIES = "knuth,entropy,parts,random,simple";
+	private static final int CHUNK = 16; //games per chunk
+	private final Rules rules;
+	private final ScoringEngine engine;
+	private final int[] secrets;
+	private final int threads;
+
+	/**
+	 * Constructs a StrategyTournament
+	 * @param inRules the rules to play by
+	 * @param inThreads how many threads to play on
+	 */
+	public StrategyTournament(Rules inRules, int inThreads)
+	{
+		rules = inRules;
+		engine = inRules.createEngine();
+		threads = inThreads;
+
+		secrets = new int[rules.getCodeCount()];
+		int count = 0;
+		for (int code = rules.firstCode(); code >= 0; code = rules.nextCode(code))
+		{
+			secrets[count] = code;
+			count++;
+		}
+	}
+
+	/**
+	 * Plays a strategy against every answer code
+	 * @param strategy the strategy
+	 * @return how it did
+	 * @throws InterruptedException if the thread is interrupted while waiting for the games
+	 */
+	public Result play(Strategy strategy) throws InterruptedException
+	{
+		Result result = new Result(strategy.getName());
+		AtomicInteger nextChunk = new AtomicInteger();
+		Player[] players = new Player[threads];
+		Thread[] workers = new Thread[threads];
+
+		long allocated = allocatedBytes();
+		long start = System.nanoTime();
+		for (int i = 0; i < threads; i++)
+		{
+			players[i] = new Player(strategy, nextChunk, result.decisions);
+			workers[i] = new Thread(players[i], "Tournament " + strategy.getName() + " " + i);
+			workers[i].start();
+		}
+		for (int i = 0; i < threads; i++)
+		{
+			workers[i].join();
+		}
+		result.nanos = System.nanoTime() - start;
+		if (allocated >= 0)
+		{
+			result.allocated = allocatedBytes() - allocated; //the players have ended, so this is only the other threads
+		}
+
+		for (Player player : players)
+		{
+			if (player.failure != null)
+			{
+				throw player.failure;
+			}
+			result.stats.merge(player.stats);
+			if (result.allocated >= 0)
+			{
+				result.allocated = player.allocated < 0 ? -1 : result.allocated + player.allocated;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the bean which counts the memory each thread allocates
+	 * @return the bean, or null if the JVM can't count it
+	 */
+	private static com.sun.management.ThreadMXBean allocationCounter()
+	{
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean))
+		{
+			return null;
+		}
+
+		com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) bean;
+		if (!counter.isThreadAllocatedMemorySupported() || !counter.isThreadAllocatedMemoryEnabled())
+		{
+			return null;
+		}
+		return counter;
+	}
+
+	/**
+	 * Adds up the memory every live thread has allocated. Threads which have ended aren't counted.
+	 * @return the bytes, or -1 if the JVM can't count them
+	 */
+	private static long allocatedBytes()
+	{
+		com.sun.management.ThreadMXBean counter = allocationCounter();
+		if (counter == null)
+		{
+			return -1;
+		}
+
+		long total = 0;
+		for (long bytes : counter.getThreadAllocatedBytes(counter.getAllThreadIds()))
+		{
+			if (bytes > 0) //-1 for a thread which has ended
+			{
+				total += bytes;
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Plays chunks of games on one thread until there are none left
+	 */
+	private class Player implements Runnable
+	{
+		private final Strategy strategy;
+		private final AtomicInteger nextChunk;
+		private final LatencyHistogram decisions;
+		private final SimulationStats stats;
+		private long allocated; //bytes this player's thread allocated, or -1 if they couldn't be counted
+		private RuntimeException failure;
+
+		/**
+		 * Constructs a Player
+		 * @param inStrategy the strategy to guess with
+		 * @param inNextChunk the next chunk no thread has taken yet
+		 * @param inDecisions where to record how long each guess took to choose
+		 */
+		public Player(Strategy inStrategy, AtomicInteger inNextChunk, LatencyHistogram inDecisions)
+		{
+			strategy = inStrategy;
+			nextChunk = inNextChunk;
+			decisions = inDecisions;
+			stats = new SimulationStats();
+			allocated = -1;
+		}
+
+		public void run()
+		{
+			com.sun.management.ThreadMXBean counter = allocationCounter();
+			long id = Thread.currentThread().getId();
+			long startBytes = counter == null ? -1 : counter.getThreadAllocatedBytes(id);
+			int[] guesses = new int[SimulationStats.MAX_GUESSES];
+			int[] hints = new int[SimulationStats.MAX_GUESSES];
+			int winningHint = engine.getWinningHint();
+			try
+			{
+				for (int first = nextChunk.getAndIncrement() * CHUNK; first < secrets.length;
+						first = nextChunk.getAndIncrement() * CHUNK)
+				{
+					int last = Math.min(first + CHUNK, secrets.length);
+					for (int game = first; game < last; game++)
+					{
+						int secret = secrets[game];
+						int count = 0;
+						do
+						{
+							long start = System.nanoTime();
+							guesses[count] = strategy.nextGuess(guesses, hints, count);
+							decisions.record(System.nanoTime() - start);
+							hints[count] = engine.score(guesses[count], secret);
+							count++;
+						}
+						while (hints[count - 1] != winningHint && count < guesses.length);
+
+						stats.add(secret, count, hints[count - 1] == winningHint && count <= rules.getAttempts());
+					}
+				}
+			}
+			catch (RuntimeException ex)
+			{
+				failure = ex;
+			}
+
+			if (startBytes >= 0)
+			{
+				allocated = counter.getThreadAllocatedBytes(id) - startBytes;
+			}
+		}
+	}
+
+	/**
+	 * How one strategy did in a tournament
+	 */
+	public static class Result
+	{
+		private final String name;
+		private final SimulationStats stats;
+		private final LatencyHistogram decisions;
+		private long nanos;
+		private long allocated;
+
+		/**
+		 * Constructs an empty Result
+		 * @param inName the name of the strategy
+		 */
+		private Result(String inName)
+		{
+			name = inName;
+			stats = new SimulationStats();
+			decisions = new LatencyHistogram();
+			allocated = -1;
+		}
+
+		/**
+		 * Gets the number of guesses each game took
+		 * @return the SimulationStats
+		 */
+		public SimulationStats getStats()
+		{
+			return stats;
+		}
+
+		/**
+		 * Gets how long each guess took to choose
+		 * @return the LatencyHistogram
+		 */
+		public LatencyHistogram getDecisions()
+		{
+			return decisions;
+		}
+
+		/**
+		 * Gets the memory allocated for each guess chosen, counting everything the program allocated while it played
+		 * @return the mean bytes, or -1 if they couldn't be counted
+		 */
+		public double getBytesPerDecision()
+		{
+			return allocated < 0 ? -1 : (double) allocated / Math.max(decisions.getCount(), 1);
+		}
+
+		/**
+		 * Prints the result as a row of the tournament table
+		 * @param out where to print
+		 */
+		public void report(PrintStream out)
+		{
+			double bytes = getBytesPerDecision();
+			out.printf("%-12s %6.4f %5d %5d %9d %11.1f %10.1f %10s %8.2f%n", name, stats.getMeanGuesses(), stats.getWorst(),
+					stats.getLost(), decisions.getCount(), decisions.getMeanNanos() / 1000,
+					decisions.getPercentileNanos(0.99) / 1000.0, bytes < 0 ? "n/a" : String.format("%.0f", bytes), nanos / 1e9);
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException
+	{
+		Rules rules = Rules.CLASSIC;
+		String names = ALL_STRATEGIES;
+		long seed = 0;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int cacheSize = 0;
+		List<Strategy> strategies = new ArrayList<Strategy>();
+
+		try
+		{
+			for (int i = 0; i < args.length; i++)
+			{
+				String arg = args[i];
+				if (i + 1 < args.length && arg.equals("--rules"))
+				{
+					rules = Rules.forName(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--strategies"))
+				{
+					names = args[++i];
+				}
+				else if (i + 1 < args.length && arg.equals("--seed"))
+				{
+					seed = Long.parseLong(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--threads"))
+				{
+					threads = Integer.parseInt(args[++i]);
+				}
+				else if (i + 1 < args.length && arg.equals("--cache"))
+				{
+					cacheSize = Integer.parseInt(args[++i]);
+				}
+				else
+				{
+					throw new IllegalArgumentException("Unknown argument: " + arg);
+				}
+			}
+
+			for (String name : names.split(","))
+			{
+				Strategy strategy = Simulator.createStrategy(name.trim(), rules, seed);
+				if (cacheSize > 0 && strategy instanceof PartitionStrategy)
+				{
+					((PartitionStrategy) strategy).setCache(new TranspositionCache(cacheSize));
+				}
+				strategies.add(strategy);
+			}
+		}
+		catch (IllegalArgumentException ex)
+		{
+			System.err.println(ex.getMessage());
+			System.err.println("Usage: java mastermind.StrategyTournament [--rules name] [--strategies name,name,...] [--seed n] [--threads n] [--cache n]");
+			System.err.println("       where the names are from " + ALL_STRATEGIES + ",optimal");
+			System.exit(1);
+		}
+
+		StrategyTournament tournament = new StrategyTournament(rules, threads);
+		System.out.println("Playing every code of " + rules + " on " + threads + " threads");
+		System.out.printf("%-12s %6s %5s %5s %9s %11s %10s %10s %8s%n", "Strategy", "Mean", "Worst", "Lost", "Decisions",
+				"Mean us", "p99 us", "Bytes", "Seconds");
+		for (Strategy strategy : strategies)
+		{
+			tournament.play(strategy).report(System.out);
+		}
+		for (Strategy strategy : strategies)
+		{
+			if (strategy instanceof PartitionStrategy && ((PartitionStrategy) strategy).getCache() != null)
+			{
+				System.out.println(strategy.getName() + " " + ((PartitionStrategy) strategy).getCache().getSummary());
+			}
+		}
+	}
+}
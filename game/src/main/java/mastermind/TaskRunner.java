@@ -0,0 +1,185 @@
+package mastermind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingWorker;
+
+/**
+ * Runs slow work for the game, like finding a suggested guess, on background threads so the board stays responsive,
+ * and hands the results back on the Swing event thread. Each board has its own TaskRunner, and when the player moves
+ * on to a new game every task still running for the old one is cancelled, so its results never show up on the new one.
+ * A cancelled task's thread is interrupted, and the long loops it runs, such as in CandidateSet and PartitionStrategy,
+ * call checkInterrupted now and then so they give the thread back instead of finishing work no one will see.
+ * All the TaskRunners share one small pool of daemon threads.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class TaskRunner
+{
+	private static final ExecutorService pool = createPool();
+	private final List<Task<?>> running;
+
+	/**
+	 * Constructs a TaskRunner with no tasks
+	 */
+	public TaskRunner()
+	{
+		running = new ArrayList<Task<?>>();
+	}
+
+	/**
+	 * Makes the shared pool, with a thread for each core but one, so the event thread always has a core
+	 * @return the pool
+	 */
+	private static ExecutorService createPool()
+	{
+		int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), new BackgroundThreads());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Starts a task in the background
+	 * @param task the task, which can only be run once
+	 */
+	public void run(Task<?> task)
+	{
+		task.runner = this;
+		synchronized (running)
+		{
+			running.add(task);
+		}
+		pool.execute(task);
+	}
+
+	/**
+	 * Cancels every task which hasn't finished, interrupting the ones which have started. Their results are thrown away.
+	 */
+	public void cancelAll()
+	{
+		List<Task<?>> cancelled;
+		synchronized (running)
+		{
+			cancelled = new ArrayList<Task<?>>(running);
+			running.clear();
+		}
+		for (Task<?> task : cancelled) //a task which hasn't started is done as soon as it's cancelled, so not while holding the list
+		{
+			task.cancel(true);
+		}
+	}
+
+	/**
+	 * Gives up on the work the thread is doing if it has been interrupted, as a cancelled task is.
+	 * Costs next to nothing, so long loops can call it every few thousand steps wherever they are run from.
+	 * @throws CancellationException if the thread has been interrupted, which is left set
+	 */
+	public static void checkInterrupted()
+	{
+		if (Thread.currentThread().isInterrupted())
+		{
+			throw new CancellationException("Interrupted");
+		}
+	}
+
+	/**
+	 * Checks if any task is still running
+	 * @return true if a task hasn't finished
+	 */
+	public boolean isBusy()
+	{
+		synchronized (running)
+		{
+			return !running.isEmpty();
+		}
+	}
+
+	/**
+	 * Work to do in the background, with what to do with its result on the event thread
+	 * @param <T> the type of the result
+	 */
+	public abstract static class Task<T> extends SwingWorker<T, Void>
+	{
+		private TaskRunner runner;
+
+		/**
+		 * Does the work on a background thread. Long work should give up when the thread is interrupted,
+		 * by calling checkInterrupted now and then.
+		 * @return the result
+		 * @throws Exception if the work fails
+		 */
+		protected abstract T compute() throws Exception;
+
+		/**
+		 * Uses the result on the event thread. Not called if the task was cancelled.
+		 * @param result the result of compute
+		 */
+		protected abstract void succeeded(T result);
+
+		/**
+		 * Handles a failure on the event thread. Prints it unless overridden.
+		 * @param cause what compute threw
+		 */
+		protected void failed(Throwable cause)
+		{
+			cause.printStackTrace();
+		}
+
+		protected final T doInBackground() throws Exception
+		{
+			return compute();
+		}
+
+		protected final void done()
+		{
+			synchronized (runner.running)
+			{
+				runner.running.remove(this);
+			}
+			if (isCancelled())
+			{
+				return;
+			}
+
+			try
+			{
+				succeeded(get());
+			}
+			catch (ExecutionException ex)
+			{
+				failed(ex.getCause());
+			}
+			catch (InterruptedException ex)
+			{
+				//can't happen, since the task is done
+			}
+		}
+	}
+
+	/**
+	 * Makes low priority daemon threads, so background work never keeps the program running or slows the event thread
+	 */
+	private static class BackgroundThreads implements ThreadFactory
+	{
+		private int count;
+
+		public synchronized Thread newThread(Runnable task)
+		{
+			count++;
+			Thread thread = new Thread(task, "Mastermind background " + count);
+			thread.setDaemon(true);
+			thread.setPriority(Thread.NORM_PRIORITY - 1);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,258 @@
+package mastermind;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers what a solver worked out for the positions it has seen, so it doesn't have to work it out again when another
+ * game, or another branch of a search, gets to the same position. A position is keyed by a fingerprint of the codes which
+ * could still be the answer, after they've been turned by the CodeSymmetry of the guesses which led there, so positions
+ * which are the same but for the names of the colors or the order of the pegs share an entry.
+ *
+ * The fingerprint is two 64 bit sums of a hash of each code, which don't depend on the order the codes are found in,
+ * and the number of codes. The cache holds a fixed number of entries, split into segments which each throw out the
+ * entry used longest ago, so threads rarely wait for each other. Hits, misses and evictions are counted.
+ * @author Y. Stitzer
+ * @version 10/18/2026
+ */
+public class TranspositionCache
+{
+	public static final long MISSING = Long.MIN_VALUE; //returned by get for a position which isn't in the cache
+	private static final int SEGMENTS = 16;
+	private final Segment[] segments;
+	private final int capacity;
+	private final LongAdder hits;
+	private final LongAdder misses;
+	private final LongAdder evictions;
+
+	/**
+	 * Constructs an empty TranspositionCache
+	 * @param inCapacity the most entries to keep
+	 */
+	public TranspositionCache(int inCapacity)
+	{
+		if (inCapacity < SEGMENTS)
+		{
+			throw new IllegalArgumentException("The cache must hold at least " + SEGMENTS + " entries: " + inCapacity);
+		}
+
+		capacity = inCapacity;
+		segments = new Segment[SEGMENTS];
+		for (int i = 0; i < SEGMENTS; i++)
+		{
+			segments[i] = new Segment(capacity / SEGMENTS);
+		}
+		hits = new LongAdder();
+		misses = new LongAdder();
+		evictions = new LongAdder();
+	}
+
+	/**
+	 * Scrambles the bits of a number, as in SplitMix64, to hash a code into a fingerprint
+	 * @param z the number
+	 * @return the scrambled number
+	 */
+	public static long mix(long z)
+	{
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Gets what was remembered for a position
+	 * @param low the first sum of the position's fingerprint
+	 * @param high the second sum
+	 * @param size the number of codes in the position
+	 * @return the value, or MISSING if the position isn't in the cache
+	 */
+	public long get(long low, long high, int size)
+	{
+		Key key = new Key(low, high, size);
+		Long value = segmentFor(key).get(key);
+		if (value == null)
+		{
+			misses.increment();
+			return MISSING;
+		}
+
+		hits.increment();
+		return value.longValue();
+	}
+
+	/**
+	 * Remembers a value for a position, throwing out the entry of its segment used longest ago if the segment is full
+	 * @param low the first sum of the position's fingerprint
+	 * @param high the second sum
+	 * @param size the number of codes in the position
+	 * @param value the value, anything but MISSING
+	 */
+	public void put(long low, long high, int size, long value)
+	{
+		Key key = new Key(low, high, size);
+		segmentFor(key).put(key, value);
+	}
+
+	/**
+	 * Gets the segment a key belongs in
+	 * @param key the key
+	 * @return the Segment
+	 */
+	private Segment segmentFor(Key key)
+	{
+		return segments[(int) (key.low >>> 60) & (SEGMENTS - 1)];
+	}
+
+	/**
+	 * Gets the number of entries in the cache
+	 * @return the number of entries
+	 */
+	public int size()
+	{
+		int size = 0;
+		for (Segment segment : segments)
+		{
+			synchronized (segment)
+			{
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Gets the most entries the cache keeps
+	 * @return the capacity
+	 */
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * Gets the number of lookups which found their position
+	 * @return the number of hits
+	 */
+	public long getHits()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of lookups which didn't find their position
+	 * @return the number of misses
+	 */
+	public long getMisses()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the number of entries thrown out to make room for new ones
+	 * @return the number of evictions
+	 */
+	public long getEvictions()
+	{
+		return evictions.sum();
+	}
+
+	/**
+	 * Gets the fraction of lookups which found their position
+	 * @return the hit rate, or 0 if there haven't been any lookups
+	 */
+	public double getHitRate()
+	{
+		long found = getHits();
+		long lookups = found + getMisses();
+		return lookups == 0 ? 0 : (double) found / lookups;
+	}
+
+	/**
+	 * Describes how well the cache is doing
+	 * @return a line with the hits, misses, hit rate, evictions and size
+	 */
+	public String getSummary()
+	{
+		return String.format("cache hits=%d misses=%d hitRate=%.3f evictions=%d size=%d/%d", getHits(), getMisses(),
+				getHitRate(), getEvictions(), size(), capacity);
+	}
+
+	/**
+	 * The fingerprint of a position
+	 */
+	private static class Key
+	{
+		private final long low;
+		private final long high;
+		private final int size;
+
+		/**
+		 * Constructs a Key
+		 * @param inLow the first sum
+		 * @param inHigh the second sum
+		 * @param inSize the number of codes
+		 */
+		public Key(long inLow, long inHigh, int inSize)
+		{
+			low = inLow;
+			high = inHigh;
+			size = inSize;
+		}
+
+		public boolean equals(Object other)
+		{
+			if (!(other instanceof Key))
+			{
+				return false;
+			}
+
+			Key key = (Key) other;
+			return low == key.low && high == key.high && size == key.size;
+		}
+
+		public int hashCode()
+		{
+			return (int) (high ^ (high >>> 32)) ^ size;
+		}
+	}
+
+	/**
+	 * One segment of the cache, which keeps its entries in the order they were last used
+	 */
+	private class Segment extends LinkedHashMap<Key, Long>
+	{
+		private static final long serialVersionUID = 1L;
+		private final int limit;
+
+		/**
+		 * Constructs an empty Segment
+		 * @param inLimit the most entries to keep
+		 */
+		public Segment(int inLimit)
+		{
+			super(16, 0.75f, true);
+			limit = inLimit;
+		}
+
+		public synchronized Long get(Object key)
+		{
+			return super.get(key);
+		}
+
+		public synchronized Long put(Key key, Long value)
+		{
+			return super.put(key, value);
+		}
+
+		protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest)
+		{
+			if (size() > limit)
+			{
+				evictions.increment();
+				return true;
+			}
+			return false;
+		}
+	}
+}